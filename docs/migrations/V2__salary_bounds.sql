@@ -0,0 +1,10 @@
+-- Numeric salary bounds parsed from salary_range, for salary range filters.
+-- Existing rows are filled in by the application on startup (JobService.backfillSalaryBounds).
+-- A salary range applies to one currency, so the indexes scan the amounts within it.
+-- One change per statement, so a partly applied migration can be re-run.
+
+ALTER TABLE jobs ADD COLUMN salary_min INT AFTER salary_range;
+ALTER TABLE jobs ADD COLUMN salary_max INT AFTER salary_min;
+ALTER TABLE jobs ADD COLUMN salary_currency CHAR(3) AFTER salary_max;
+ALTER TABLE jobs ADD INDEX idx_active_salary_min (is_active, salary_currency, salary_min);
+ALTER TABLE jobs ADD INDEX idx_active_salary_max (is_active, salary_currency, salary_max);
@@ -0,0 +1,27 @@
+-- Composite indexes matching the DAO query shapes, so searches and the
+-- per-company, per-student and per-job lists are read in index order
+-- instead of being filtered and sorted with a filesort.
+-- One change per statement, so a partly applied migration can be re-run.
+
+-- Searches: is_active = TRUE [AND job_type = ?] ORDER BY created_at DESC, job_id DESC,
+-- read backwards in index order; job_id last so the keyset tie-break needs no sort.
+ALTER TABLE jobs ADD INDEX idx_active_created (is_active, created_at, job_id);
+ALTER TABLE jobs ADD INDEX idx_active_type_created (is_active, job_type, created_at, job_id);
+
+-- Facet counts: GROUP BY job_type, location over active jobs, answered from the index alone
+ALTER TABLE jobs ADD INDEX idx_active_type_location (is_active, job_type, location);
+
+-- Company job lists: company_id = ? ORDER BY created_at DESC; replaces idx_company_id
+ALTER TABLE jobs ADD INDEX idx_company_created (company_id, created_at);
+ALTER TABLE jobs DROP INDEX idx_company_id;
+
+-- Redundant with the composite indexes above
+ALTER TABLE jobs DROP INDEX idx_is_active;
+
+-- Change polling; older databases may not have it yet
+ALTER TABLE jobs ADD INDEX idx_updated_at (updated_at);
+
+-- Application lists: student_id = ? / job_id = ? ORDER BY applied_at DESC; replaces idx_student_id
+ALTER TABLE applications ADD INDEX idx_student_applied (student_id, applied_at);
+ALTER TABLE applications ADD INDEX idx_job_applied (job_id, applied_at);
+ALTER TABLE applications DROP INDEX idx_student_id;
@@ -27,15 +27,23 @@ CREATE TABLE IF NOT EXISTS jobs (
     location VARCHAR(150) NOT NULL,
     job_type ENUM('FULL_TIME', 'PART_TIME', 'INTERNSHIP', 'CONTRACT') NOT NULL,
     salary_range VARCHAR(100),
+    salary_min INT,
+    salary_max INT,
+    salary_currency CHAR(3),
     deadline DATE NOT NULL,
     is_active BOOLEAN DEFAULT TRUE,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     FOREIGN KEY (company_id) REFERENCES users(user_id) ON DELETE CASCADE,
-    INDEX idx_company_id (company_id),
+    INDEX idx_company_created (company_id, created_at),
     INDEX idx_job_type (job_type),
     INDEX idx_location (location),
-    INDEX idx_is_active (is_active)
+    INDEX idx_updated_at (updated_at),
+    INDEX idx_active_created (is_active, created_at, job_id),
+    INDEX idx_active_type_created (is_active, job_type, created_at, job_id),
+    INDEX idx_active_type_location (is_active, job_type, location),
+    INDEX idx_active_salary_min (is_active, salary_currency, salary_min),
+    INDEX idx_active_salary_max (is_active, salary_currency, salary_max)
 );
 
 -- Applications table for job applications
@@ -52,7 +60,8 @@ CREATE TABLE IF NOT EXISTS applications (
     FOREIGN KEY (job_id) REFERENCES jobs(job_id) ON DELETE CASCADE,
     FOREIGN KEY (student_id) REFERENCES users(user_id) ON DELETE CASCADE,
     UNIQUE KEY unique_application (job_id, student_id),
-    INDEX idx_student_id (student_id),
+    INDEX idx_student_applied (student_id, applied_at),
+    INDEX idx_job_applied (job_id, applied_at),
     INDEX idx_status (status)
 );
 
@@ -61,6 +70,17 @@ CREATE INDEX idx_email ON users(email);
 CREATE INDEX idx_username ON users(username);
 CREATE INDEX idx_user_role ON users(role);
 
+-- Schema migrations already contained in this script (see docs/migrations)
+CREATE TABLE IF NOT EXISTS schema_version (
+    version INT PRIMARY KEY,
+    description VARCHAR(200) NOT NULL,
+    applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+INSERT INTO schema_version (version, description) VALUES
+    (1, 'baseline'),
+    (2, 'salary bounds'),
+    (3, 'composite indexes');
+
 -- Test Data
 -- Password hashes are SHA-256 hashes for "password123"
 
@@ -0,0 +1,66 @@
+package com.example.dao;
+
+import com.example.db.BenchmarkDatabase;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Cost of {@link ApplicationDAO#mapResultSetToApplication} per result set.
+ * The query runs once in setup; each invocation rewinds the scrollable
+ * result and maps every row, so the driver getters, the enum lookup and
+ * the allocations are measured without the query itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApplicationMappingBenchmark {
+
+    @Param({"100", "1000"})
+    private int rows;
+
+    private Connection conn;
+    private PreparedStatement pstmt;
+    private ResultSet rs;
+    private final ApplicationDAO applicationDAO = new ApplicationDAO();
+
+    @Setup
+    public void setUp() throws Exception {
+        conn = BenchmarkDatabase.create("applicationMapping" + rows, rows / 10 + 1, rows);
+        pstmt = conn.prepareStatement("SELECT * FROM applications", ResultSet.TYPE_SCROLL_INSENSITIVE,
+            ResultSet.CONCUR_READ_ONLY);
+        rs = pstmt.executeQuery();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        rs.close();
+        pstmt.close();
+        conn.close();
+    }
+
+    @Benchmark
+    public void mapResultSetToApplication(Blackhole blackhole) throws Exception {
+        rs.beforeFirst();
+        while (rs.next()) {
+            blackhole.consume(applicationDAO.mapResultSetToApplication(rs));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.dao;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of building the searchJobs query for different filter combinations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchSqlBenchmark {
+
+    @Param({"none", "location", "locationAndType", "all"})
+    private String filters;
+
+    private String location;
+    private String jobType;
+    private Integer minSalary;
+    private Integer maxSalary;
+
+    @Setup
+    public void setUp() {
+        boolean all = filters.equals("all");
+        location = filters.equals("none") ? null : "New York";
+        jobType = filters.equals("locationAndType") || all ? "FULL_TIME" : null;
+        minSalary = all ? 50000 : null;
+        maxSalary = all ? 90000 : null;
+    }
+
+    @Benchmark
+    public String buildSearchSql() {
+        return JobDAO.buildSearchSql("*", location, jobType, minSalary, maxSalary, true, false);
+    }
+}
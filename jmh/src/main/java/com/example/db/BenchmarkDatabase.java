@@ -0,0 +1,104 @@
+package com.example.db;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Random;
+
+/**
+ * Embedded database ({@link EmbeddedBackend}) with generated jobs and
+ * applications, for the benchmarks.
+ */
+public class BenchmarkDatabase {
+
+    private static final String[] LOCATIONS = {"New York", "San Francisco", "Remote", "Chicago", "Austin"};
+    private static final String[] JOB_TYPES = {"FULL_TIME", "PART_TIME", "INTERNSHIP", "CONTRACT"};
+    private static final String[] STATUSES = {"PENDING", "REVIEWED", "INTERVIEW", "REJECTED", "ACCEPTED"};
+    private static final int STUDENTS = 100;
+
+    private BenchmarkDatabase() {
+    }
+
+    /**
+     * Create a fresh database with the given number of jobs and applications.
+     *
+     * @param name database name, unique per benchmark so runs do not share data
+     * @return an unpooled connection to the database
+     */
+    public static Connection create(String name, int jobs, int applications) throws SQLException, IOException {
+        EmbeddedBackend backend = new EmbeddedBackend(name, false);
+        Connection conn = backend.connect();
+        backend.initialize(conn);
+        populate(conn, jobs, applications);
+        return conn;
+    }
+
+    private static void populate(Connection conn, int jobs, int applications) throws SQLException {
+        Random random = new Random(42);
+        conn.setAutoCommit(false);
+
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "INSERT INTO users (username, password_hash, email, role, first_name, last_name, company_name) "
+                + "VALUES (?, 'hash', ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i <= STUDENTS; i++) {
+                boolean company = i == 0;
+                pstmt.setString(1, "user" + i);
+                pstmt.setString(2, "user" + i + "@example.com");
+                pstmt.setString(3, company ? "COMPANY" : "STUDENT");
+                pstmt.setString(4, company ? null : "First" + i);
+                pstmt.setString(5, company ? null : "Last" + i);
+                pstmt.setString(6, company ? "Example Corp" : null);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "INSERT INTO jobs (company_id, title, description, requirements, location, job_type, "
+                + "salary_range, salary_min, salary_max, salary_currency, deadline) "
+                + "VALUES (1, ?, ?, ?, ?, ?, ?, ?, ?, 'USD', ?)")) {
+            for (int i = 0; i < jobs; i++) {
+                int salaryMin = 40000 + random.nextInt(80) * 1000;
+                pstmt.setString(1, "Software Engineer " + i);
+                pstmt.setString(2, repeat("Build and maintain services for job " + i + ". ", 20));
+                pstmt.setString(3, repeat("Java, SQL, Swing. ", 5));
+                pstmt.setString(4, LOCATIONS[random.nextInt(LOCATIONS.length)]);
+                pstmt.setString(5, JOB_TYPES[random.nextInt(JOB_TYPES.length)]);
+                pstmt.setString(6, "$" + salaryMin / 1000 + "k - $" + (salaryMin / 1000 + 20) + "k");
+                pstmt.setInt(7, salaryMin);
+                pstmt.setInt(8, salaryMin + 20000);
+                pstmt.setDate(9, new Date(System.currentTimeMillis() + 30L * 24 * 60 * 60 * 1000));
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "INSERT INTO applications (job_id, student_id, resume_path, cover_letter, status) "
+                + "VALUES (?, ?, ?, ?, ?)")) {
+            // Each (job, student) pair at most once
+            for (int i = 0; i < applications && i < jobs * STUDENTS; i++) {
+                pstmt.setInt(1, i / STUDENTS + 1);
+                pstmt.setInt(2, i % STUDENTS + 2);
+                pstmt.setString(3, "/resumes/student" + i + ".pdf");
+                pstmt.setString(4, repeat("I am very interested in this position. ", 10));
+                pstmt.setString(5, STATUSES[random.nextInt(STATUSES.length)]);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+
+        conn.commit();
+        conn.setAutoCommit(true);
+    }
+
+    private static String repeat(String text, int times) {
+        StringBuilder sb = new StringBuilder(text.length() * times);
+        for (int i = 0; i < times; i++) {
+            sb.append(text);
+        }
+        return sb.toString();
+    }
+}
@@ -1,6 +1,12 @@
 package com.example;
 
+import com.example.dao.ApplicationDAO;
+import com.example.dao.JobDAO;
+import com.example.dao.UserDAO;
+import com.example.db.QueryPlanChecker;
+import com.example.gui.EdtWatchdog;
 import com.example.gui.MainFrame;
+import com.example.service.JobService;
 import javax.swing.SwingUtilities;
 
 /**
@@ -9,6 +15,23 @@ import javax.swing.SwingUtilities;
 public class App {
     
     public static void main(String[] args) {
+        // Follow job changes made by other clients of the database
+        JobService.startChangePolling();
+        
+        // Parse salaries of jobs posted before salary bounds were stored
+        Thread backfill = new Thread(() -> new JobService().backfillSalaryBounds(), "salary-backfill");
+        backfill.setDaemon(true);
+        backfill.start();
+        
+        // Warn about DAO queries whose plans fall back to full scans
+        Thread planCheck = new Thread(() -> QueryPlanChecker.checkAll(UserDAO.class, JobDAO.class, ApplicationDAO.class),
+            "query-plan-check");
+        planCheck.setDaemon(true);
+        planCheck.start();
+        
+        // Report events that block the Event Dispatch Thread
+        EdtWatchdog.install();
+        
         // Launch the GUI on the Event Dispatch Thread
         SwingUtilities.invokeLater(new Runnable() {
             @Override
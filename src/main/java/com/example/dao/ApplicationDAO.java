@@ -1,7 +1,12 @@
 package com.example.dao;
 
 import com.example.db.DBConnection;
+import com.example.db.StatementRegistry;
 import com.example.model.Application;
+import com.example.model.BatchResult;
+import com.example.model.StudentApplicationView;
+import com.example.model.SubmitResult;
+import java.io.IOException;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
@@ -11,15 +16,55 @@ import java.util.List;
  */
 public class ApplicationDAO {
     
+    // Statements are registered so the startup query plan check can EXPLAIN them
+    private static final String INSERT_APPLICATION_SQL = StatementRegistry.register("ApplicationDAO.createApplication",
+        "INSERT INTO applications (job_id, student_id, resume_path, cover_letter, status) " +
+        "VALUES (?, ?, ?, ?, ?)");
+    private static final String INSERT_IF_OPEN_SQL = StatementRegistry.register("ApplicationDAO.createApplicationIfOpen",
+        "INSERT INTO applications (job_id, student_id, resume_path, cover_letter, status) " +
+        "SELECT job_id, ?, ?, ?, ? FROM jobs WHERE job_id = ? AND is_active = TRUE",
+        1, null, null, "PENDING", 1);
+    private static final String SELECT_BY_ID_SQL = StatementRegistry.register("ApplicationDAO.getApplicationById",
+        "SELECT * FROM applications WHERE application_id = ?",
+        1);
+    private static final String SELECT_BY_STUDENT_SQL = StatementRegistry.register("ApplicationDAO.getApplicationsByStudentId",
+        "SELECT * FROM applications WHERE student_id = ? ORDER BY applied_at DESC",
+        1);
+    private static final String SELECT_VIEWS_BY_STUDENT_SQL = StatementRegistry.register("ApplicationDAO.getApplicationViewsByStudentId",
+        "SELECT a.application_id, a.job_id, a.status, a.applied_at, " +
+        "j.title, j.location, u.company_name " +
+        "FROM applications a " +
+        "JOIN jobs j ON j.job_id = a.job_id " +
+        "JOIN users u ON u.user_id = j.company_id " +
+        "WHERE a.student_id = ? ORDER BY a.applied_at DESC",
+        1);
+    private static final String SELECT_BY_JOB_SQL = StatementRegistry.register("ApplicationDAO.getApplicationsByJobId",
+        "SELECT * FROM applications WHERE job_id = ? ORDER BY applied_at DESC",
+        1);
+    private static final String STREAM_BY_JOB_SQL = StatementRegistry.register("ApplicationDAO.streamApplicationsByJobId",
+        "SELECT * FROM applications WHERE job_id = ? ORDER BY applied_at",
+        1);
+    private static final String COUNT_BY_JOB_AND_STUDENT_SQL = StatementRegistry.register("ApplicationDAO.hasApplied",
+        "SELECT COUNT(*) FROM applications WHERE job_id = ? AND student_id = ?",
+        1, 1);
+    private static final String UPDATE_STATUS_SQL = StatementRegistry.register("ApplicationDAO.updateApplicationStatus",
+        "UPDATE applications SET status = ?, reviewed_at = NOW() WHERE application_id = ?",
+        "REVIEWED", 1);
+    private static final String UPDATE_APPLICATION_SQL = StatementRegistry.register("ApplicationDAO.updateApplication",
+        "UPDATE applications SET resume_path = ?, cover_letter = ?, status = ? WHERE application_id = ?",
+        null, null, "PENDING", 1);
+    
+    /** MySQL error code for a duplicate key. */
+    private static final int ER_DUP_ENTRY = 1062;
+    /** Standard SQLState for a unique constraint violation. */
+    private static final String SQLSTATE_UNIQUE_VIOLATION = "23505";
+    
     /**
      * Create a new job application.
      */
     public boolean createApplication(Application application) {
-        String sql = "INSERT INTO applications (job_id, student_id, resume_path, cover_letter, status) " +
-                     "VALUES (?, ?, ?, ?, ?)";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_APPLICATION_SQL)) {
             
             pstmt.setInt(1, application.getJobId());
             pstmt.setInt(2, application.getStudentId());
@@ -35,14 +80,70 @@ public class ApplicationDAO {
         }
     }
     
+    /**
+     * Create an application in a single statement, but only if the job is
+     * still active. Relies on the unique (job_id, student_id) key instead of
+     * a separate hasApplied check, so concurrent submissions cannot both succeed.
+     */
+    public SubmitResult createApplicationIfOpen(Application application) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_IF_OPEN_SQL)) {
+            
+            bindInsertIfOpen(pstmt, application);
+            
+            int rows = pstmt.executeUpdate();
+            return rows > 0 ? SubmitResult.CREATED : SubmitResult.JOB_CLOSED;
+        } catch (SQLException e) {
+            if (isDuplicateKey(e)) {
+                return SubmitResult.DUPLICATE;
+            }
+            e.printStackTrace();
+            return SubmitResult.FAILED;
+        }
+    }
+    
+    /**
+     * Create many applications with batched inserts in one transaction. Like
+     * {@link #createApplicationIfOpen}, an application is only stored if its
+     * job is still active and the student has not applied yet; the others
+     * are reported as failures.
+     *
+     * @param batchSize the number of rows per executeBatch
+     * @return the outcome, with failures identified by their index in the list
+     */
+    public BatchResult createApplicationsIfOpen(List<Application> applications, int batchSize) {
+        return new BatchInsert<Application>(INSERT_IF_OPEN_SQL, false) {
+            @Override
+            void bind(PreparedStatement pstmt, Application application) throws SQLException {
+                bindInsertIfOpen(pstmt, application);
+            }
+            
+            @Override
+            String checkUpdateCount(int updateCount) {
+                return updateCount == 0 ? "Job does not exist or is closed" : null;
+            }
+            
+            @Override
+            String describe(SQLException e) {
+                return isDuplicateKey(e) ? "Already applied to this job" : e.getMessage();
+            }
+        }.execute(applications, batchSize);
+    }
+    
+    private static void bindInsertIfOpen(PreparedStatement pstmt, Application application) throws SQLException {
+        pstmt.setInt(1, application.getStudentId());
+        pstmt.setString(2, application.getResumePath());
+        pstmt.setString(3, application.getCoverLetter());
+        pstmt.setString(4, application.getStatus().name());
+        pstmt.setInt(5, application.getJobId());
+    }
+    
     /**
      * Get application by ID.
      */
     public Application getApplicationById(int applicationId) {
-        String sql = "SELECT * FROM applications WHERE application_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_BY_ID_SQL)) {
             
             pstmt.setInt(1, applicationId);
             ResultSet rs = pstmt.executeQuery();
@@ -61,10 +162,9 @@ public class ApplicationDAO {
      */
     public List<Application> getApplicationsByStudentId(int studentId) {
         List<Application> applications = new ArrayList<>();
-        String sql = "SELECT * FROM applications WHERE student_id = ? ORDER BY applied_at DESC";
         
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_BY_STUDENT_SQL)) {
             
             pstmt.setInt(1, studentId);
             ResultSet rs = pstmt.executeQuery();
@@ -78,15 +178,44 @@ public class ApplicationDAO {
         return applications;
     }
     
+    /**
+     * Get a student's applications joined with job title, company name and
+     * location, so the tracker needs a single query instead of one per row.
+     */
+    public List<StudentApplicationView> getApplicationViewsByStudentId(int studentId) {
+        List<StudentApplicationView> views = new ArrayList<>();
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_VIEWS_BY_STUDENT_SQL)) {
+            
+            pstmt.setInt(1, studentId);
+            ResultSet rs = pstmt.executeQuery();
+            
+            while (rs.next()) {
+                StudentApplicationView view = new StudentApplicationView();
+                view.setApplicationId(rs.getInt("application_id"));
+                view.setJobId(rs.getInt("job_id"));
+                view.setStatus(Application.ApplicationStatus.valueOf(rs.getString("status")));
+                view.setAppliedAt(rs.getTimestamp("applied_at"));
+                view.setJobTitle(rs.getString("title"));
+                view.setLocation(rs.getString("location"));
+                view.setCompanyName(rs.getString("company_name"));
+                views.add(view);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return views;
+    }
+    
     /**
      * Get all applications for a specific job.
      */
     public List<Application> getApplicationsByJobId(int jobId) {
         List<Application> applications = new ArrayList<>();
-        String sql = "SELECT * FROM applications WHERE job_id = ? ORDER BY applied_at DESC";
         
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_BY_JOB_SQL)) {
             
             pstmt.setInt(1, jobId);
             ResultSet rs = pstmt.executeQuery();
@@ -100,14 +229,45 @@ public class ApplicationDAO {
         return applications;
     }
     
+    /**
+     * Stream all applications for a job to a handler, oldest first, without
+     * collecting them in a list. The result set is forward-only and read
+     * with the backend's streaming fetch size, so memory use does not depend
+     * on the number of applications.
+     *
+     * @param jobId the job ID
+     * @param handler receives each application
+     * @return the number of applications streamed
+     * @throws SQLException if the query fails
+     * @throws IOException if the handler fails; no further rows are read
+     */
+    public int streamApplicationsByJobId(int jobId, RowHandler<Application> handler)
+            throws SQLException, IOException {
+        // The three-argument prepareStatement bypasses the pool's statement cache,
+        // so the fetch size does not stick to a statement other queries reuse
+        try (Connection conn = DBConnection.getStreamingConnection();
+             PreparedStatement pstmt = conn.prepareStatement(STREAM_BY_JOB_SQL,
+                 ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            
+            pstmt.setFetchSize(DBConnection.getBackend().getStreamingFetchSize());
+            pstmt.setInt(1, jobId);
+            int count = 0;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    handler.handle(mapResultSetToApplication(rs));
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+    
     /**
      * Check if student has already applied for a job.
      */
     public boolean hasApplied(int jobId, int studentId) {
-        String sql = "SELECT COUNT(*) FROM applications WHERE job_id = ? AND student_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(COUNT_BY_JOB_AND_STUDENT_SQL)) {
             
             pstmt.setInt(1, jobId);
             pstmt.setInt(2, studentId);
@@ -126,10 +286,8 @@ public class ApplicationDAO {
      * Update application status.
      */
     public boolean updateApplicationStatus(int applicationId, Application.ApplicationStatus status) {
-        String sql = "UPDATE applications SET status = ?, reviewed_at = NOW() WHERE application_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(UPDATE_STATUS_SQL)) {
             
             pstmt.setString(1, status.name());
             pstmt.setInt(2, applicationId);
@@ -146,10 +304,8 @@ public class ApplicationDAO {
      * Update full application details.
      */
     public boolean updateApplication(Application application) {
-        String sql = "UPDATE applications SET resume_path = ?, cover_letter = ?, status = ? WHERE application_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(UPDATE_APPLICATION_SQL)) {
             
             pstmt.setString(1, application.getResumePath());
             pstmt.setString(2, application.getCoverLetter());
@@ -164,10 +320,19 @@ public class ApplicationDAO {
         }
     }
     
+    /**
+     * Helper method to recognise a unique key violation from MySQL or a
+     * standard-conforming driver.
+     */
+    static boolean isDuplicateKey(SQLException e) {
+        return e.getErrorCode() == ER_DUP_ENTRY || SQLSTATE_UNIQUE_VIOLATION.equals(e.getSQLState());
+    }
+    
     /**
      * Helper method to map ResultSet to Application object.
+     * Package-private for the benchmarks in jmh/.
      */
-    private Application mapResultSetToApplication(ResultSet rs) throws SQLException {
+    Application mapResultSetToApplication(ResultSet rs) throws SQLException {
         Application application = new Application();
         application.setApplicationId(rs.getInt("application_id"));
         application.setJobId(rs.getInt("job_id"));
@@ -0,0 +1,189 @@
+package com.example.dao;
+
+import com.example.db.DBConnection;
+import com.example.model.BatchResult;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserts a list of rows with addBatch/executeBatch in a single transaction,
+ * reporting each row that could not be stored.
+ *
+ * Rows are sent in chunks of the given batch size; with the MySQL driver's
+ * rewriteBatchedStatements each chunk becomes one multi-row statement. If a
+ * chunk fails, it is rolled back to a savepoint taken before it and retried
+ * row by row, so the rows that caused the failure are reported and the rest
+ * are still inserted. Everything is committed at the end; if the
+ * transaction itself fails, nothing is stored and every row is reported.
+ */
+abstract class BatchInsert<T> {
+
+    private final String sql;
+    private final boolean generatedKeys;
+
+    /**
+     * @param sql the insert statement
+     * @param generatedKeys whether to read back generated keys, see {@link #inserted}
+     */
+    BatchInsert(String sql, boolean generatedKeys) {
+        this.sql = sql;
+        this.generatedKeys = generatedKeys;
+    }
+
+    /**
+     * Set the statement parameters for one row.
+     */
+    abstract void bind(PreparedStatement pstmt, T row) throws SQLException;
+
+    /**
+     * Called for every stored row after the transaction was committed.
+     *
+     * @param key the generated key, or 0 if keys are not read back
+     */
+    void inserted(T row, int key) {
+    }
+
+    /**
+     * Get why a row that executed without an error was not stored.
+     *
+     * @param updateCount the row's update count
+     * @return the reason, or null if the row was stored
+     */
+    String checkUpdateCount(int updateCount) {
+        return updateCount == 0 ? "No row inserted" : null;
+    }
+
+    /**
+     * Describe why a row failed.
+     */
+    String describe(SQLException e) {
+        return e.getMessage();
+    }
+
+    /**
+     * Insert the rows.
+     *
+     * @param rows the rows to insert
+     * @param batchSize the number of rows per executeBatch, at least 1
+     * @return the outcome, with rows identified by their index in the list
+     */
+    BatchResult execute(List<T> rows, int batchSize) {
+        List<Integer> insertedIndexes = new ArrayList<>();
+        List<Integer> keys = new ArrayList<>();
+        BatchResult result = new BatchResult();
+
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = generatedKeys
+                    ? conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
+                    : conn.prepareStatement(sql)) {
+                for (int start = 0; start < rows.size(); start += batchSize) {
+                    int end = Math.min(start + batchSize, rows.size());
+                    Savepoint savepoint = conn.setSavepoint();
+                    try {
+                        executeChunk(pstmt, rows, start, end, insertedIndexes, keys, result);
+                    } catch (BatchUpdateException e) {
+                        pstmt.clearBatch();
+                        conn.rollback(savepoint);
+                        removeFrom(insertedIndexes, keys, start);
+                        executeRowByRow(conn, pstmt, rows, start, end, insertedIndexes, keys, result);
+                    }
+                    conn.releaseSavepoint(savepoint);
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            BatchResult failed = new BatchResult();
+            failed.setRolledBack(true);
+            for (int i = 0; i < rows.size(); i++) {
+                failed.addFailure(i, "Not stored, the transaction failed: " + e.getMessage());
+            }
+            return failed;
+        }
+
+        for (int i = 0; i < insertedIndexes.size(); i++) {
+            inserted(rows.get(insertedIndexes.get(i)), keys.get(i));
+        }
+        result.addInserted(insertedIndexes.size());
+        return result;
+    }
+
+    private void executeChunk(PreparedStatement pstmt, List<T> rows, int start, int end,
+                              List<Integer> insertedIndexes, List<Integer> keys, BatchResult result)
+            throws SQLException {
+        for (int i = start; i < end; i++) {
+            bind(pstmt, rows.get(i));
+            pstmt.addBatch();
+        }
+        int[] counts = pstmt.executeBatch();
+        List<Integer> chunkKeys = readKeys(pstmt);
+        int keyIndex = 0;
+        for (int i = start; i < end; i++) {
+            int count = i - start < counts.length ? counts[i - start] : Statement.SUCCESS_NO_INFO;
+            // Rewritten multi-row inserts report SUCCESS_NO_INFO for every row
+            String reason = count == Statement.SUCCESS_NO_INFO ? null : checkUpdateCount(count);
+            if (reason != null) {
+                result.addFailure(i, reason);
+            } else {
+                insertedIndexes.add(i);
+                keys.add(keyIndex < chunkKeys.size() ? chunkKeys.get(keyIndex++) : 0);
+            }
+        }
+    }
+
+    private void executeRowByRow(Connection conn, PreparedStatement pstmt, List<T> rows, int start, int end,
+                                 List<Integer> insertedIndexes, List<Integer> keys, BatchResult result)
+            throws SQLException {
+        for (int i = start; i < end; i++) {
+            Savepoint savepoint = conn.setSavepoint();
+            try {
+                bind(pstmt, rows.get(i));
+                String reason = checkUpdateCount(pstmt.executeUpdate());
+                if (reason != null) {
+                    result.addFailure(i, reason);
+                } else {
+                    List<Integer> rowKeys = readKeys(pstmt);
+                    insertedIndexes.add(i);
+                    keys.add(rowKeys.isEmpty() ? 0 : rowKeys.get(0));
+                }
+            } catch (SQLException e) {
+                conn.rollback(savepoint);
+                result.addFailure(i, describe(e));
+            }
+            conn.releaseSavepoint(savepoint);
+        }
+    }
+
+    private List<Integer> readKeys(PreparedStatement pstmt) throws SQLException {
+        List<Integer> chunkKeys = new ArrayList<>();
+        if (generatedKeys) {
+            try (ResultSet rs = pstmt.getGeneratedKeys()) {
+                while (rs.next()) {
+                    chunkKeys.add(rs.getInt(1));
+                }
+            }
+        }
+        return chunkKeys;
+    }
+
+    /**
+     * Forget rows from index start on, which were rolled back.
+     */
+    private static void removeFrom(List<Integer> insertedIndexes, List<Integer> keys, int start) {
+        while (!insertedIndexes.isEmpty() && insertedIndexes.get(insertedIndexes.size() - 1) >= start) {
+            insertedIndexes.remove(insertedIndexes.size() - 1);
+            keys.remove(keys.size() - 1);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.dao;
+
+import com.example.model.Job;
+import java.util.List;
+
+/**
+ * Receives the jobs changed in the database, as found by a {@link JobChangePoller}.
+ */
+public interface JobChangeListener {
+
+    /**
+     * Called on the poller thread with the jobs inserted or updated since
+     * the previous poll. Deactivated jobs are included with isActive false.
+     *
+     * @param changedJobs the changed jobs, oldest change first; never empty
+     */
+    void jobsChanged(List<Job> changedJobs);
+}
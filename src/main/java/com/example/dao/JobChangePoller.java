@@ -0,0 +1,161 @@
+package com.example.dao;
+
+import com.example.model.Job;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finds jobs changed by any client of the database by polling
+ * jobs.updated_at, and passes them on to listeners as deltas.
+ *
+ * Each poll fetches only the rows with updated_at at or after the
+ * watermark minus a short overlap. The overlap catches rows whose
+ * timestamp was taken before, but committed after, the previous poll;
+ * rows already delivered with the same updated_at are skipped, so every
+ * change is delivered once. Hard deletes are not seen.
+ */
+public class JobChangePoller {
+
+    /** How far before the watermark each poll looks again. */
+    private static final long OVERLAP_MILLIS = 2000;
+
+    private final JobDAO jobDAO;
+    private final long intervalMillis;
+    private final List<JobChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    private ScheduledExecutorService executor;
+    private Timestamp watermark;
+    /** updated_at of the rows delivered within the overlap window, by job ID. */
+    private final Map<Integer, Long> recentlyDelivered = new HashMap<>();
+    private boolean failing;
+
+    /**
+     * @param intervalMillis the time between polls
+     */
+    public JobChangePoller(long intervalMillis) {
+        this(new JobDAO(), intervalMillis);
+    }
+
+    JobChangePoller(JobDAO jobDAO, long intervalMillis) {
+        if (intervalMillis < 1) {
+            throw new IllegalArgumentException("Poll interval must be positive");
+        }
+        this.jobDAO = jobDAO;
+        this.intervalMillis = intervalMillis;
+    }
+
+    public void addListener(JobChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(JobChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Start polling on a daemon thread. The first poll only sets the watermark
+     * to the newest updated_at in the table; jobs changed within the overlap
+     * before it may be reported once, everything older is not.
+     */
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "job-change-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::poll, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop polling.
+     */
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * Poll once and notify the listeners of any changes. Listeners are
+     * called without holding the poller's lock.
+     *
+     * @return the jobs changed since the previous poll
+     */
+    public List<Job> poll() {
+        List<Job> changed = fetchChanges();
+        if (!changed.isEmpty()) {
+            for (JobChangeListener listener : listeners) {
+                try {
+                    listener.jobsChanged(changed);
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+        return changed;
+    }
+
+    private synchronized List<Job> fetchChanges() {
+        List<Job> changed = new ArrayList<>();
+        if (watermark == null) {
+            // First poll: start from the newest row, or from the epoch for an empty table
+            Timestamp latest = jobDAO.getLatestUpdatedAt();
+            watermark = latest != null ? latest : new Timestamp(0);
+            return changed;
+        }
+
+        List<Job> rows = jobDAO.getJobsUpdatedSince(new Timestamp(watermark.getTime() - OVERLAP_MILLIS));
+        if (rows == null) {
+            if (!failing) {
+                System.err.println("[job-poller] Polling for job changes failed; retrying every " + intervalMillis + " ms");
+                failing = true;
+            }
+            return changed;
+        }
+        failing = false;
+
+        for (Job job : rows) {
+            long updatedAt = job.getUpdatedAt().getTime();
+            Long delivered = recentlyDelivered.get(job.getJobId());
+            if (delivered != null && delivered == updatedAt) {
+                continue;
+            }
+            recentlyDelivered.put(job.getJobId(), updatedAt);
+            changed.add(job);
+            if (updatedAt > watermark.getTime()) {
+                watermark = new Timestamp(updatedAt);
+            }
+        }
+        pruneRecentlyDelivered();
+        return changed;
+    }
+
+    private void pruneRecentlyDelivered() {
+        long oldest = watermark.getTime() - OVERLAP_MILLIS;
+        Iterator<Long> it = recentlyDelivered.values().iterator();
+        while (it.hasNext()) {
+            if (it.next() < oldest) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * @return the newest updated_at seen so far, or null before the first poll
+     */
+    public synchronized Timestamp getWatermark() {
+        return watermark;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.dao;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+
+/**
+ * Position in the job list ordered by (created_at DESC, job_id DESC).
+ * Encoded as an opaque URL-safe string so callers never depend on its contents.
+ */
+public class JobCursor {
+
+    private static final String VERSION = "1";
+
+    private final Timestamp createdAt;
+    private final int jobId;
+
+    public JobCursor(Timestamp createdAt, int jobId) {
+        this.createdAt = createdAt;
+        this.jobId = jobId;
+    }
+
+    public Timestamp getCreatedAt() {
+        return createdAt;
+    }
+
+    public int getJobId() {
+        return jobId;
+    }
+
+    /**
+     * Encode this position as an opaque cursor string.
+     *
+     * @return the cursor
+     */
+    public String encode() {
+        String raw = VERSION + ":" + createdAt.getTime() + ":" + jobId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor produced by {@link #encode()}.
+     *
+     * @param cursor the cursor string
+     * @return the decoded position
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static JobCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length == 3 && VERSION.equals(parts[0])) {
+                return new JobCursor(new Timestamp(Long.parseLong(parts[1])), Integer.parseInt(parts[2]));
+            }
+        } catch (IllegalArgumentException e) {
+            // Bad Base64 or a non-numeric field
+            throw new IllegalArgumentException("Invalid job cursor: " + cursor, e);
+        }
+        throw new IllegalArgumentException("Invalid job cursor: " + cursor);
+    }
+}
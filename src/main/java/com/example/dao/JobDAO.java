@@ -1,36 +1,104 @@
 package com.example.dao;
 
 import com.example.db.DBConnection;
+import com.example.db.StatementRegistry;
+import com.example.model.BatchResult;
 import com.example.model.Job;
+import com.example.model.JobFacets;
+import com.example.model.JobSummary;
+import com.example.model.Page;
+import com.example.model.SalaryRange;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Data Access Object for Job operations.
  */
 public class JobDAO {
     
+    /** Columns needed by job lists; skips the LONGTEXT description and requirements. */
+    private static final String SUMMARY_COLUMNS =
+        "job_id, company_id, title, location, job_type, deadline, is_active, created_at";
+    
+    // Statements are registered so the startup query plan check can EXPLAIN them
+    private static final String INSERT_JOB_SQL = StatementRegistry.register("JobDAO.createJob",
+        "INSERT INTO jobs (company_id, title, description, requirements, location, job_type, salary_range, " +
+        "salary_min, salary_max, salary_currency, deadline) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+    private static final String SELECT_BY_ID_SQL = StatementRegistry.register("JobDAO.getJobById",
+        "SELECT * FROM jobs WHERE job_id = ?",
+        1);
+    private static final String SELECT_BY_COMPANY_SQL = StatementRegistry.register("JobDAO.getJobsByCompanyId",
+        "SELECT * FROM jobs WHERE company_id = ? ORDER BY created_at DESC",
+        1);
+    private static final String SELECT_SUMMARIES_BY_COMPANY_SQL = StatementRegistry.register("JobDAO.getJobSummariesByCompanyId",
+        "SELECT " + SUMMARY_COLUMNS + " FROM jobs WHERE company_id = ? ORDER BY created_at DESC",
+        1);
+    private static final String SELECT_LATEST_UPDATE_SQL = StatementRegistry.register("JobDAO.getLatestUpdatedAt",
+        "SELECT MAX(updated_at) FROM jobs");
+    private static final String SELECT_UPDATED_SINCE_SQL = StatementRegistry.register("JobDAO.getJobsUpdatedSince",
+        "SELECT * FROM jobs WHERE updated_at >= ? ORDER BY updated_at, job_id",
+        new Timestamp(System.currentTimeMillis()));
+    private static final String COUNT_BY_TYPE_AND_LOCATION_SQL = StatementRegistry.register("JobDAO.countActiveJobsByTypeAndLocation",
+        "SELECT job_type, location, COUNT(*) FROM jobs WHERE is_active = TRUE GROUP BY job_type, location");
+    private static final String UPDATE_JOB_SQL = StatementRegistry.register("JobDAO.updateJob",
+        "UPDATE jobs SET title = ?, description = ?, requirements = ?, location = ?, " +
+        "job_type = ?, salary_range = ?, salary_min = ?, salary_max = ?, salary_currency = ?, " +
+        "deadline = ? WHERE job_id = ?",
+        "Title", "", "", "Dhaka", "FULL_TIME", null, null, null, null, new java.sql.Date(System.currentTimeMillis()), 1);
+    private static final String SELECT_UNPARSED_SALARIES_SQL = StatementRegistry.registerTableScan("JobDAO.getUnparsedSalaryRanges",
+        "SELECT job_id, salary_range FROM jobs " +
+        "WHERE salary_min IS NULL AND salary_range IS NOT NULL AND salary_range <> ''");
+    private static final String UPDATE_SALARY_BOUNDS_SQL = StatementRegistry.register("JobDAO.updateSalaryBounds",
+        "UPDATE jobs SET salary_min = ?, salary_max = ?, salary_currency = ? WHERE job_id = ?",
+        null, null, null, 1);
+    private static final String DEACTIVATE_SQL = StatementRegistry.register("JobDAO.deactivateJob",
+        "UPDATE jobs SET is_active = FALSE WHERE job_id = ?",
+        1);
+    
+    static {
+        // Search queries are built per filter combination; register the shapes the UI issues
+        Timestamp cursorTime = new Timestamp(System.currentTimeMillis());
+        StatementRegistry.register("JobDAO.searchJobs",
+            buildSearchSql("*", null, null, null, null, true, false));
+        StatementRegistry.register("JobDAO.searchJobs.location",
+            buildSearchSql("*", "Dhaka", null, null, null, true, false), "%Dhaka%");
+        StatementRegistry.register("JobDAO.searchJobs.jobType",
+            buildSearchSql("*", null, "FULL_TIME", null, null, true, false), "FULL_TIME");
+        StatementRegistry.register("JobDAO.searchJobs.salary",
+            buildSearchSql("*", null, null, 0, 0, true, false), "USD", 30000, 60000);
+        StatementRegistry.register("JobDAO.searchJobIds",
+            buildSearchSql("job_id", null, null, null, null, true, false));
+        StatementRegistry.register("JobDAO.searchJobIds.jobType",
+            buildSearchSql("job_id", null, "FULL_TIME", null, null, true, false), "FULL_TIME");
+        StatementRegistry.register("JobDAO.searchJobSummaryPage",
+            buildSearchSql(SUMMARY_COLUMNS, null, null, null, null, true, true) + " LIMIT ?",
+            cursorTime, cursorTime, 1, 21);
+        StatementRegistry.register("JobDAO.searchJobSummaryPage.jobType",
+            buildSearchSql(SUMMARY_COLUMNS, null, "FULL_TIME", null, null, true, true) + " LIMIT ?",
+            "FULL_TIME", cursorTime, cursorTime, 1, 21);
+        StatementRegistry.register("JobDAO.getJobSummaryPageByCompanyId",
+            buildCompanyPageSql(true), 1, cursorTime, cursorTime, 1, 21);
+        StatementRegistry.register("JobDAO.getJobSummariesByIds", buildIdListSql(1), 1);
+    }
+    
     /**
-     * Create a new job posting.
+     * Create a new job posting. On success the generated ID is set on the job.
      */
     public boolean createJob(Job job) {
-        String sql = "INSERT INTO jobs (company_id, title, description, requirements, location, job_type, salary_range, deadline) " +
-                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_JOB_SQL, Statement.RETURN_GENERATED_KEYS)) {
             
-            pstmt.setInt(1, job.getCompanyId());
-            pstmt.setString(2, job.getTitle());
-            pstmt.setString(3, job.getDescription());
-            pstmt.setString(4, job.getRequirements());
-            pstmt.setString(5, job.getLocation());
-            pstmt.setString(6, job.getJobType().name());
-            pstmt.setString(7, job.getSalaryRange());
-            pstmt.setDate(8, new java.sql.Date(job.getDeadline().getTime()));
+            bindInsert(pstmt, job);
             
             pstmt.executeUpdate();
+            ResultSet keys = pstmt.getGeneratedKeys();
+            if (keys.next()) {
+                job.setJobId(keys.getInt(1));
+            }
             return true;
         } catch (SQLException e) {
             e.printStackTrace();
@@ -38,14 +106,45 @@ public class JobDAO {
         }
     }
     
+    /**
+     * Create many job postings with batched inserts in one transaction.
+     * The generated ID is set on every stored job.
+     *
+     * @param batchSize the number of rows per executeBatch
+     * @return the outcome, with failures identified by their index in the list
+     */
+    public BatchResult createJobs(List<Job> jobs, int batchSize) {
+        return new BatchInsert<Job>(INSERT_JOB_SQL, true) {
+            @Override
+            void bind(PreparedStatement pstmt, Job job) throws SQLException {
+                bindInsert(pstmt, job);
+            }
+            
+            @Override
+            void inserted(Job job, int key) {
+                job.setJobId(key);
+            }
+        }.execute(jobs, batchSize);
+    }
+    
+    private void bindInsert(PreparedStatement pstmt, Job job) throws SQLException {
+        pstmt.setInt(1, job.getCompanyId());
+        pstmt.setString(2, job.getTitle());
+        pstmt.setString(3, job.getDescription());
+        pstmt.setString(4, job.getRequirements());
+        pstmt.setString(5, job.getLocation());
+        pstmt.setString(6, job.getJobType().name());
+        pstmt.setString(7, job.getSalaryRange());
+        setSalaryBounds(pstmt, 8, job.getSalaryMin(), job.getSalaryMax(), job.getSalaryCurrency());
+        pstmt.setDate(11, new java.sql.Date(job.getDeadline().getTime()));
+    }
+    
     /**
      * Get job by ID.
      */
     public Job getJobById(int jobId) {
-        String sql = "SELECT * FROM jobs WHERE job_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_BY_ID_SQL)) {
             
             pstmt.setInt(1, jobId);
             ResultSet rs = pstmt.executeQuery();
@@ -64,10 +163,9 @@ public class JobDAO {
      */
     public List<Job> getJobsByCompanyId(int companyId) {
         List<Job> jobs = new ArrayList<>();
-        String sql = "SELECT * FROM jobs WHERE company_id = ? ORDER BY created_at DESC";
         
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_BY_COMPANY_SQL)) {
             
             pstmt.setInt(1, companyId);
             ResultSet rs = pstmt.executeQuery();
@@ -81,41 +179,196 @@ public class JobDAO {
         return jobs;
     }
     
+    /**
+     * Get all job summaries by company ID.
+     */
+    public List<JobSummary> getJobSummariesByCompanyId(int companyId) {
+        List<JobSummary> jobs = new ArrayList<>();
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_SUMMARIES_BY_COMPANY_SQL)) {
+            
+            pstmt.setInt(1, companyId);
+            ResultSet rs = pstmt.executeQuery();
+            
+            while (rs.next()) {
+                jobs.add(mapResultSetToJobSummary(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return jobs;
+    }
+    
     /**
      * Get all active jobs with optional filters.
      */
     public List<Job> searchJobs(String location, String jobType, boolean activeOnly) {
+        return searchJobs(location, jobType, null, null, null, activeOnly);
+    }
+    
+    /**
+     * Search jobs with optional filters, including an annual salary range.
+     * A job matches the salary range if it is paid in the range's currency
+     * and its parsed salary bounds overlap the range; jobs without parsed
+     * bounds or currency never match a salary filter.
+     * 
+     * @param minSalary the lowest acceptable annual salary (optional)
+     * @param maxSalary the highest acceptable annual salary (optional)
+     * @param currency the ISO currency of the salary range; required with a salary bound
+     */
+    public List<Job> searchJobs(String location, String jobType, Integer minSalary, Integer maxSalary,
+                                String currency, boolean activeOnly) {
         List<Job> jobs = new ArrayList<>();
-        StringBuilder sql = new StringBuilder("SELECT * FROM jobs WHERE 1=1");
+        String sql = buildSearchSql("*", location, jobType, minSalary, maxSalary, activeOnly, false);
         
-        if (activeOnly) {
-            sql.append(" AND is_active = TRUE");
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            bindSearchParameters(pstmt, location, jobType, minSalary, maxSalary, currency);
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                jobs.add(mapResultSetToJob(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
         }
+        return jobs;
+    }
+    
+    /**
+     * Get job summaries with optional filters.
+     */
+    public List<JobSummary> searchJobSummaries(String location, String jobType, boolean activeOnly) {
+        List<JobSummary> jobs = new ArrayList<>();
+        String sql = buildSearchSql(SUMMARY_COLUMNS, location, jobType, null, null, activeOnly, false);
         
-        if (location != null && !location.isEmpty()) {
-            sql.append(" AND location LIKE ?");
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            bindSearchParameters(pstmt, location, jobType, null, null, null);
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                jobs.add(mapResultSetToJobSummary(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
         }
-        
-        if (jobType != null && !jobType.isEmpty()) {
-            sql.append(" AND job_type = ?");
+        return jobs;
+    }
+    
+    /**
+     * Get the most recent updated_at of all jobs.
+     * 
+     * @return the latest update time, or null if there are no jobs or the query failed
+     */
+    public Timestamp getLatestUpdatedAt() {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_LATEST_UPDATE_SQL)) {
+            
+            ResultSet rs = pstmt.executeQuery();
+            if (rs.next()) {
+                return rs.getTimestamp(1);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
         }
+        return null;
+    }
+    
+    /**
+     * Get all jobs, active or not, updated at or after the given time,
+     * oldest change first.
+     * 
+     * @return the changed jobs, or null if the query failed
+     */
+    public List<Job> getJobsUpdatedSince(Timestamp since) {
+        List<Job> jobs = new ArrayList<>();
         
-        sql.append(" ORDER BY created_at DESC");
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_UPDATED_SINCE_SQL)) {
+            
+            pstmt.setTimestamp(1, since);
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                jobs.add(mapResultSetToJob(rs));
+            }
+            return jobs;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+    
+    /**
+     * Count the active jobs per job type and location in one grouped query.
+     * 
+     * @return the counts, or null if the query failed
+     */
+    public List<JobFacets.Bucket> countActiveJobsByTypeAndLocation() {
+        List<JobFacets.Bucket> buckets = new ArrayList<>();
         
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+             PreparedStatement pstmt = conn.prepareStatement(COUNT_BY_TYPE_AND_LOCATION_SQL)) {
             
-            int paramIndex = 1;
-            if (location != null && !location.isEmpty()) {
-                pstmt.setString(paramIndex++, "%" + location + "%");
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                buckets.add(new JobFacets.Bucket(Job.JobType.valueOf(rs.getString(1)), rs.getString(2), rs.getInt(3)));
             }
-            if (jobType != null && !jobType.isEmpty()) {
-                pstmt.setString(paramIndex++, jobType);
+            return buckets;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+    
+    /**
+     * Get the IDs of all jobs matching the filters, newest first.
+     * 
+     * @return the job IDs, or null if the query failed
+     */
+    public int[] searchJobIds(String location, String jobType, boolean activeOnly) {
+        String sql = buildSearchSql("job_id", location, jobType, null, null, activeOnly, false);
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            bindSearchParameters(pstmt, location, jobType, null, null, null);
+            ResultSet rs = pstmt.executeQuery();
+            int[] ids = new int[64];
+            int count = 0;
+            while (rs.next()) {
+                if (count == ids.length) {
+                    ids = Arrays.copyOf(ids, count * 2);
+                }
+                ids[count++] = rs.getInt(1);
             }
+            return Arrays.copyOf(ids, count);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+    
+    /**
+     * Get the summaries of the given jobs, in no particular order.
+     * IDs without a matching row are skipped.
+     */
+    public List<JobSummary> getJobSummariesByIds(List<Integer> jobIds) {
+        List<JobSummary> jobs = new ArrayList<>();
+        if (jobIds.isEmpty()) {
+            return jobs;
+        }
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(buildIdListSql(jobIds.size()))) {
             
+            for (int i = 0; i < jobIds.size(); i++) {
+                pstmt.setInt(i + 1, jobIds.get(i));
+            }
             ResultSet rs = pstmt.executeQuery();
             while (rs.next()) {
-                jobs.add(mapResultSetToJob(rs));
+                jobs.add(mapResultSetToJobSummary(rs));
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -123,6 +376,76 @@ public class JobDAO {
         return jobs;
     }
     
+    /**
+     * Get one page of job summaries with optional filters, newest first.
+     * Uses keyset pagination on (created_at, job_id), so every page costs
+     * the same no matter how far the caller has scrolled.
+     * 
+     * @param cursor the cursor from the previous page, or null for the first page
+     * @param pageSize the maximum number of jobs to return
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public Page<JobSummary> searchJobSummaryPage(String location, String jobType, boolean activeOnly,
+                                                 String cursor, int pageSize) {
+        JobCursor after = cursor != null ? JobCursor.decode(cursor) : null;
+        List<JobSummary> jobs = new ArrayList<>();
+        String sql = buildSearchSql(SUMMARY_COLUMNS, location, jobType, null, null, activeOnly, after != null) + " LIMIT ?";
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            int paramIndex = bindSearchParameters(pstmt, location, jobType, null, null, null);
+            if (after != null) {
+                pstmt.setTimestamp(paramIndex++, after.getCreatedAt());
+                pstmt.setTimestamp(paramIndex++, after.getCreatedAt());
+                pstmt.setInt(paramIndex++, after.getJobId());
+            }
+            // Fetch one extra row to find out whether another page follows
+            pstmt.setInt(paramIndex, pageSize + 1);
+            
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                jobs.add(mapResultSetToJobSummary(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return toPage(jobs, pageSize);
+    }
+    
+    /**
+     * Get one page of a company's job summaries, newest first.
+     * 
+     * @param cursor the cursor from the previous page, or null for the first page
+     * @param pageSize the maximum number of jobs to return
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public Page<JobSummary> getJobSummaryPageByCompanyId(int companyId, String cursor, int pageSize) {
+        JobCursor after = cursor != null ? JobCursor.decode(cursor) : null;
+        List<JobSummary> jobs = new ArrayList<>();
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(buildCompanyPageSql(after != null))) {
+            
+            int paramIndex = 1;
+            pstmt.setInt(paramIndex++, companyId);
+            if (after != null) {
+                pstmt.setTimestamp(paramIndex++, after.getCreatedAt());
+                pstmt.setTimestamp(paramIndex++, after.getCreatedAt());
+                pstmt.setInt(paramIndex++, after.getJobId());
+            }
+            pstmt.setInt(paramIndex, pageSize + 1);
+            
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                jobs.add(mapResultSetToJobSummary(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return toPage(jobs, pageSize);
+    }
+    
     /**
      * Get all active jobs.
      */
@@ -130,15 +453,19 @@ public class JobDAO {
         return searchJobs(null, null, true);
     }
     
+    /**
+     * Get summaries of all active jobs.
+     */
+    public List<JobSummary> getAllActiveJobSummaries() {
+        return searchJobSummaries(null, null, true);
+    }
+    
     /**
      * Update job information.
      */
     public boolean updateJob(Job job) {
-        String sql = "UPDATE jobs SET title = ?, description = ?, requirements = ?, location = ?, " +
-                     "job_type = ?, salary_range = ?, deadline = ? WHERE job_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(UPDATE_JOB_SQL)) {
             
             pstmt.setString(1, job.getTitle());
             pstmt.setString(2, job.getDescription());
@@ -146,8 +473,9 @@ public class JobDAO {
             pstmt.setString(4, job.getLocation());
             pstmt.setString(5, job.getJobType().name());
             pstmt.setString(6, job.getSalaryRange());
-            pstmt.setDate(7, new java.sql.Date(job.getDeadline().getTime()));
-            pstmt.setInt(8, job.getJobId());
+            setSalaryBounds(pstmt, 7, job.getSalaryMin(), job.getSalaryMax(), job.getSalaryCurrency());
+            pstmt.setDate(10, new java.sql.Date(job.getDeadline().getTime()));
+            pstmt.setInt(11, job.getJobId());
             
             pstmt.executeUpdate();
             return true;
@@ -157,14 +485,57 @@ public class JobDAO {
         }
     }
     
+    /**
+     * Get the salary text of jobs whose salary bounds have not been parsed yet.
+     * 
+     * @return the salary text by job ID
+     */
+    public Map<Integer, String> getUnparsedSalaryRanges() {
+        Map<Integer, String> salaries = new LinkedHashMap<>();
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_UNPARSED_SALARIES_SQL)) {
+            
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                salaries.put(rs.getInt(1), rs.getString(2));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return salaries;
+    }
+    
+    /**
+     * Store parsed salary bounds for several jobs in one batch.
+     * 
+     * @param salaries the parsed salary range by job ID
+     * @return true if the update is successful
+     */
+    public boolean updateSalaryBounds(Map<Integer, SalaryRange> salaries) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(UPDATE_SALARY_BOUNDS_SQL)) {
+            
+            for (Map.Entry<Integer, SalaryRange> entry : salaries.entrySet()) {
+                SalaryRange salary = entry.getValue();
+                setSalaryBounds(pstmt, 1, salary.getMin(), salary.getMax(), salary.getCurrency());
+                pstmt.setInt(4, entry.getKey());
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+    
     /**
      * Deactivate a job (set is_active to false).
      */
     public boolean deactivateJob(int jobId) {
-        String sql = "UPDATE jobs SET is_active = FALSE WHERE job_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(DEACTIVATE_SQL)) {
             
             pstmt.setInt(1, jobId);
             pstmt.executeUpdate();
@@ -175,10 +546,130 @@ public class JobDAO {
         }
     }
     
+    /**
+     * Helper method to build the search query for the given columns and filters.
+     * Package-private for the benchmarks in jmh/.
+     */
+    static String buildSearchSql(String columns, String location, String jobType, Integer minSalary,
+                                         Integer maxSalary, boolean activeOnly, boolean afterCursor) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(columns).append(" FROM jobs WHERE 1=1");
+        
+        if (activeOnly) {
+            sql.append(" AND is_active = TRUE");
+        }
+        
+        // Amounts in different currencies are not comparable, so a salary range
+        // applies to one currency. Plain column comparisons after the currency
+        // so the (is_active, salary_currency, salary_min/max) indexes serve them as range scans.
+        if (minSalary != null || maxSalary != null) {
+            sql.append(" AND salary_currency = ?");
+        }
+        
+        if (minSalary != null) {
+            sql.append(" AND salary_max >= ?");
+        }
+        
+        if (maxSalary != null) {
+            sql.append(" AND salary_min <= ?");
+        }
+        
+        if (location != null && !location.isEmpty()) {
+            sql.append(" AND location LIKE ?");
+        }
+        
+        if (jobType != null && !jobType.isEmpty()) {
+            sql.append(" AND job_type = ?");
+        }
+        
+        if (afterCursor) {
+            sql.append(" AND (created_at < ? OR (created_at = ? AND job_id < ?))");
+        }
+        
+        sql.append(" ORDER BY created_at DESC, job_id DESC");
+        return sql.toString();
+    }
+    
+    /**
+     * Helper method to build the query for one page of a company's job summaries.
+     */
+    private static String buildCompanyPageSql(boolean afterCursor) {
+        return "SELECT " + SUMMARY_COLUMNS + " FROM jobs WHERE company_id = ?" +
+               (afterCursor ? " AND (created_at < ? OR (created_at = ? AND job_id < ?))" : "") +
+               " ORDER BY created_at DESC, job_id DESC LIMIT ?";
+    }
+    
+    /**
+     * Helper method to build the query for the summaries of the given number of job IDs.
+     */
+    private static String buildIdListSql(int idCount) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(SUMMARY_COLUMNS).append(" FROM jobs WHERE job_id IN (");
+        for (int i = 0; i < idCount; i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        return sql.append(")").toString();
+    }
+    
+    /**
+     * Helper method to bind the search filters in the order buildSearchSql adds them.
+     */
+    private int bindSearchParameters(PreparedStatement pstmt, String location, String jobType,
+                                     Integer minSalary, Integer maxSalary, String currency) throws SQLException {
+        int paramIndex = 1;
+        if (minSalary != null || maxSalary != null) {
+            pstmt.setString(paramIndex++, currency);
+        }
+        if (minSalary != null) {
+            pstmt.setInt(paramIndex++, minSalary);
+        }
+        if (maxSalary != null) {
+            pstmt.setInt(paramIndex++, maxSalary);
+        }
+        if (location != null && !location.isEmpty()) {
+            pstmt.setString(paramIndex++, "%" + location + "%");
+        }
+        if (jobType != null && !jobType.isEmpty()) {
+            pstmt.setString(paramIndex++, jobType);
+        }
+        return paramIndex;
+    }
+    
+    /**
+     * Helper method to bind salary_min, salary_max and salary_currency, any of which may be null.
+     */
+    private void setSalaryBounds(PreparedStatement pstmt, int firstIndex, Integer min, Integer max,
+                                 String currency) throws SQLException {
+        if (min != null) {
+            pstmt.setInt(firstIndex, min);
+        } else {
+            pstmt.setNull(firstIndex, Types.INTEGER);
+        }
+        if (max != null) {
+            pstmt.setInt(firstIndex + 1, max);
+        } else {
+            pstmt.setNull(firstIndex + 1, Types.INTEGER);
+        }
+        pstmt.setString(firstIndex + 2, currency);
+    }
+    
+    /**
+     * Helper method to turn up to pageSize + 1 fetched rows into a page.
+     * The extra row only signals that another page follows.
+     */
+    private Page<JobSummary> toPage(List<JobSummary> jobs, int pageSize) {
+        String nextCursor = null;
+        if (jobs.size() > pageSize) {
+            jobs.remove(pageSize);
+            JobSummary last = jobs.get(pageSize - 1);
+            nextCursor = new JobCursor(new Timestamp(last.getCreatedAt().getTime()), last.getJobId()).encode();
+        }
+        return new Page<>(jobs, nextCursor);
+    }
+    
     /**
      * Helper method to map ResultSet to Job object.
+     * Package-private for the benchmarks in jmh/.
      */
-    private Job mapResultSetToJob(ResultSet rs) throws SQLException {
+    Job mapResultSetToJob(ResultSet rs) throws SQLException {
         Job job = new Job();
         job.setJobId(rs.getInt("job_id"));
         job.setCompanyId(rs.getInt("company_id"));
@@ -188,10 +679,31 @@ public class JobDAO {
         job.setLocation(rs.getString("location"));
         job.setJobType(Job.JobType.valueOf(rs.getString("job_type")));
         job.setSalaryRange(rs.getString("salary_range"));
+        int salaryMin = rs.getInt("salary_min");
+        job.setSalaryMin(rs.wasNull() ? null : salaryMin);
+        int salaryMax = rs.getInt("salary_max");
+        job.setSalaryMax(rs.wasNull() ? null : salaryMax);
+        job.setSalaryCurrency(rs.getString("salary_currency"));
         job.setDeadline(rs.getDate("deadline"));
         job.setActive(rs.getBoolean("is_active"));
         job.setCreatedAt(rs.getTimestamp("created_at"));
         job.setUpdatedAt(rs.getTimestamp("updated_at"));
         return job;
     }
+    
+    /**
+     * Helper method to map ResultSet to JobSummary object.
+     */
+    private JobSummary mapResultSetToJobSummary(ResultSet rs) throws SQLException {
+        JobSummary job = new JobSummary();
+        job.setJobId(rs.getInt("job_id"));
+        job.setCompanyId(rs.getInt("company_id"));
+        job.setTitle(rs.getString("title"));
+        job.setLocation(rs.getString("location"));
+        job.setJobType(Job.JobType.valueOf(rs.getString("job_type")));
+        job.setDeadline(rs.getDate("deadline"));
+        job.setActive(rs.getBoolean("is_active"));
+        job.setCreatedAt(rs.getTimestamp("created_at"));
+        return job;
+    }
 }
@@ -0,0 +1,21 @@
+package com.example.dao;
+
+import java.io.IOException;
+
+/**
+ * Receives the rows of a streaming DAO query one at a time, so they need
+ * not be collected in a list.
+ *
+ * @param <T> the mapped row type
+ */
+public interface RowHandler<T> {
+
+    /**
+     * Called for each row, in query order, while the result set is open
+     * and its pooled connection is held.
+     *
+     * @param row the row; handlers may keep it, it is not reused
+     * @throws IOException to stop the query, e.g. if writing the row failed
+     */
+    void handle(T row) throws IOException;
+}
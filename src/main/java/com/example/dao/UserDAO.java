@@ -1,6 +1,7 @@
 package com.example.dao;
 
 import com.example.db.DBConnection;
+import com.example.db.StatementRegistry;
 import com.example.model.User;
 import java.sql.*;
 
@@ -9,15 +10,36 @@ import java.sql.*;
  */
 public class UserDAO {
     
+    // Statements are registered so the startup query plan check can EXPLAIN them
+    private static final String INSERT_USER_SQL = StatementRegistry.register("UserDAO.createUser",
+        "INSERT INTO users (username, password_hash, email, role, first_name, last_name, company_name, phone_number) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+    private static final String SELECT_BY_USERNAME_SQL = StatementRegistry.register("UserDAO.getUserByUsername",
+        "SELECT * FROM users WHERE username = ?",
+        "student1");
+    private static final String SELECT_BY_EMAIL_SQL = StatementRegistry.register("UserDAO.getUserByEmail",
+        "SELECT * FROM users WHERE email = ?",
+        "student1@example.com");
+    private static final String SELECT_BY_ID_SQL = StatementRegistry.register("UserDAO.getUserById",
+        "SELECT * FROM users WHERE user_id = ?",
+        1);
+    private static final String UPDATE_USER_SQL = StatementRegistry.register("UserDAO.updateUser",
+        "UPDATE users SET email = ?, first_name = ?, last_name = ?, company_name = ?, phone_number = ? " +
+        "WHERE user_id = ?",
+        "student1@example.com", "First", "Last", null, null, 1);
+    private static final String COUNT_BY_USERNAME_SQL = StatementRegistry.register("UserDAO.usernameExists",
+        "SELECT COUNT(*) FROM users WHERE username = ?",
+        "student1");
+    private static final String COUNT_BY_EMAIL_SQL = StatementRegistry.register("UserDAO.emailExists",
+        "SELECT COUNT(*) FROM users WHERE email = ?",
+        "student1@example.com");
+    
     /**
      * Create a new user in the database.
      */
     public boolean createUser(User user) {
-        String sql = "INSERT INTO users (username, password_hash, email, role, first_name, last_name, company_name, phone_number) " +
-                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_USER_SQL)) {
             
             pstmt.setString(1, user.getUsername());
             pstmt.setString(2, user.getPasswordHash());
@@ -40,10 +62,8 @@ public class UserDAO {
      * Get user by username.
      */
     public User getUserByUsername(String username) {
-        String sql = "SELECT * FROM users WHERE username = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_BY_USERNAME_SQL)) {
             
             pstmt.setString(1, username);
             ResultSet rs = pstmt.executeQuery();
@@ -61,10 +81,8 @@ public class UserDAO {
      * Get user by email.
      */
     public User getUserByEmail(String email) {
-        String sql = "SELECT * FROM users WHERE email = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_BY_EMAIL_SQL)) {
             
             pstmt.setString(1, email);
             ResultSet rs = pstmt.executeQuery();
@@ -82,10 +100,8 @@ public class UserDAO {
      * Get user by ID.
      */
     public User getUserById(int userId) {
-        String sql = "SELECT * FROM users WHERE user_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_BY_ID_SQL)) {
             
             pstmt.setInt(1, userId);
             ResultSet rs = pstmt.executeQuery();
@@ -103,11 +119,8 @@ public class UserDAO {
      * Update user information.
      */
     public boolean updateUser(User user) {
-        String sql = "UPDATE users SET email = ?, first_name = ?, last_name = ?, company_name = ?, phone_number = ? " +
-                     "WHERE user_id = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(UPDATE_USER_SQL)) {
             
             pstmt.setString(1, user.getEmail());
             pstmt.setString(2, user.getFirstName());
@@ -128,10 +141,8 @@ public class UserDAO {
      * Check if username already exists.
      */
     public boolean usernameExists(String username) {
-        String sql = "SELECT COUNT(*) FROM users WHERE username = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(COUNT_BY_USERNAME_SQL)) {
             
             pstmt.setString(1, username);
             ResultSet rs = pstmt.executeQuery();
@@ -149,10 +160,8 @@ public class UserDAO {
      * Check if email already exists.
      */
     public boolean emailExists(String email) {
-        String sql = "SELECT COUNT(*) FROM users WHERE email = ?";
-        
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(COUNT_BY_EMAIL_SQL)) {
             
             pstmt.setString(1, email);
             ResultSet rs = pstmt.executeQuery();
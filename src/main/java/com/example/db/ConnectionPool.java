@@ -0,0 +1,405 @@
+package com.example.db;
+
+import com.example.util.LatencyHistogram;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool of JDBC connections.
+ *
+ * At most {@code maxSize} connections are handed out at once; further callers
+ * wait up to {@code maxWaitMillis} before getting an SQLException. Idle
+ * connections are validated before being reused and closed after
+ * {@code idleTimeoutMillis}. Connections held longer than
+ * {@code leakThresholdMillis} are reported together with the stack trace
+ * of the code that borrowed them, except connections borrowed with
+ * {@link #borrowForStreaming()}, which are meant to be held for as long as
+ * a large result takes to read. Each connection caches up to
+ * {@code statementCacheSize} prepared statements.
+ *
+ * Pool occupancy, borrow-wait latency and leak counts are exposed through
+ * {@link ConnectionPoolMXBean} and can be logged periodically.
+ */
+public class ConnectionPool implements ConnectionPoolMXBean {
+
+    /** Connections used more recently than this are not re-validated on borrow. */
+    private static final long VALIDATION_BYPASS_MILLIS = 500;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final long HOUSEKEEPING_INTERVAL_MILLIS = 30 * 1000;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int maxSize;
+    private final long maxWaitMillis;
+    private final long idleTimeoutMillis;
+    private final long leakThresholdMillis;
+    private final int statementCacheSize;
+
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger openCount = new AtomicInteger();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean shutdown;
+
+    // Statistics
+    private final LatencyHistogram borrowWait = new LatencyHistogram();
+    private final AtomicLong borrowTimeouts = new AtomicLong();
+    private final AtomicLong leaked = new AtomicLong();
+    private final StatementCacheStats statementCacheStats = new StatementCacheStats();
+    private final QueryStats queryStats = new QueryStats(0);
+
+    /**
+     * Create a new pool. No connections are opened until the first borrow.
+     *
+     * @param url the JDBC URL
+     * @param user the database user
+     * @param password the database password
+     * @param maxSize maximum number of open connections
+     * @param maxWaitMillis how long a borrower waits for a free connection
+     * @param idleTimeoutMillis how long an unused connection stays open
+     * @param leakThresholdMillis how long a connection may be held before it
+     *        is reported as a possible leak, or 0 to disable leak detection
+     * @param statementCacheSize prepared statements cached per connection
+     */
+    public ConnectionPool(String url, String user, String password, int maxSize,
+                          long maxWaitMillis, long idleTimeoutMillis, long leakThresholdMillis,
+                          int statementCacheSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.maxWaitMillis = maxWaitMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.leakThresholdMillis = leakThresholdMillis;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "db-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep,
+            HOUSEKEEPING_INTERVAL_MILLIS, HOUSEKEEPING_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrow a connection from the pool. Closing the returned connection
+     * gives it back to the pool.
+     *
+     * @return a connection handle
+     * @throws SQLException if the pool is shut down, no connection became
+     *         free within the max wait time, or a new connection could not be opened
+     */
+    public Connection borrow() throws SQLException {
+        return borrow(false);
+    }
+
+    /**
+     * Borrow a connection for streaming a large result set, which may keep
+     * it busy for longer than the leak threshold. It is not reported as a
+     * leak, and its statements are timed up to the end of each execute call
+     * instead of until they are closed, so reading the rows does not show
+     * up as a slow query.
+     *
+     * @return a connection handle
+     * @throws SQLException as for {@link #borrow()}
+     */
+    public Connection borrowForStreaming() throws SQLException {
+        return borrow(true);
+    }
+
+    private Connection borrow(boolean streaming) throws SQLException {
+        if (shutdown) {
+            throw new SQLException("Connection pool has been shut down");
+        }
+
+        long waitStart = System.nanoTime();
+        try {
+            boolean acquired = permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+            borrowWait.recordNanos(System.nanoTime() - waitStart);
+            if (!acquired) {
+                borrowTimeouts.incrementAndGet();
+                throw new SQLException("Timed out after " + maxWaitMillis
+                    + " ms waiting for a database connection (pool size " + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            PooledConnection pooled = takeIdle();
+            if (pooled == null) {
+                pooled = open();
+            }
+            pooled.markBorrowed(leakThresholdMillis > 0 && !streaming, streaming);
+            borrowed.add(pooled);
+            return pooled.newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Return a connection to the pool. Called by the connection handle on close().
+     */
+    void release(PooledConnection pooled) {
+        borrowed.remove(pooled);
+        try {
+            boolean reusable = !shutdown;
+            if (reusable) {
+                try {
+                    pooled.reset();
+                } catch (SQLException e) {
+                    reusable = false;
+                }
+            }
+
+            if (reusable) {
+                pooled.markReturned();
+                idle.offerFirst(pooled);
+            } else {
+                discard(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Close all idle connections and refuse further borrows. Borrowed
+     * connections are closed as they are returned.
+     */
+    public void shutdown() {
+        shutdown = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            discard(pooled);
+        }
+    }
+
+    /**
+     * Print a one-line pool summary to stdout at a fixed interval.
+     *
+     * @param intervalMillis the logging interval, or 0 to disable logging
+     */
+    public void startStatsLogging(long intervalMillis) {
+        if (intervalMillis > 0) {
+            housekeeper.scheduleAtFixedRate(() -> System.out.println(getSummary()),
+                intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Get a one-line summary of the pool state.
+     *
+     * @return the summary
+     */
+    public String getSummary() {
+        return "[db-pool] open=" + getOpenCount() +
+                " active=" + getActiveCount() +
+                " idle=" + getIdleCount() +
+                " waiting=" + getWaitingCount() +
+                " borrows=" + getBorrowCount() +
+                " wait(p50=" + getBorrowWaitP50Micros() + "us" +
+                " p99=" + getBorrowWaitP99Micros() + "us" +
+                " max=" + getBorrowWaitMaxMicros() + "us)" +
+                " timeouts=" + getBorrowTimeoutCount() +
+                " leaked=" + getLeakedCount() +
+                " stmtCache(hits=" + getStatementCacheHits() +
+                " misses=" + getStatementCacheMisses() + ")";
+    }
+
+    @Override
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public int getOpenCount() {
+        return openCount.get();
+    }
+
+    @Override
+    public int getActiveCount() {
+        return borrowed.size();
+    }
+
+    @Override
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    @Override
+    public int getWaitingCount() {
+        return permits.getQueueLength();
+    }
+
+    @Override
+    public long getBorrowCount() {
+        return borrowWait.getCount();
+    }
+
+    @Override
+    public long getBorrowTimeoutCount() {
+        return borrowTimeouts.get();
+    }
+
+    @Override
+    public long getLeakedCount() {
+        return leaked.get();
+    }
+
+    @Override
+    public long getBorrowWaitMeanMicros() {
+        return borrowWait.getMean();
+    }
+
+    @Override
+    public long getBorrowWaitP50Micros() {
+        return borrowWait.getPercentile(50);
+    }
+
+    @Override
+    public long getBorrowWaitP99Micros() {
+        return borrowWait.getPercentile(99);
+    }
+
+    @Override
+    public long getBorrowWaitMaxMicros() {
+        return borrowWait.getMax();
+    }
+
+    @Override
+    public String getBorrowWaitDistribution() {
+        return borrowWait.toDistributionString();
+    }
+
+    @Override
+    public long getStatementCacheHits() {
+        return statementCacheStats.getHits();
+    }
+
+    @Override
+    public long getStatementCacheMisses() {
+        return statementCacheStats.getMisses();
+    }
+
+    @Override
+    public long getStatementCacheEvictions() {
+        return statementCacheStats.getEvictions();
+    }
+
+    @Override
+    public double getStatementCacheHitRatio() {
+        return statementCacheStats.getHitRatio();
+    }
+
+    @Override
+    public String getStatementCacheReport() {
+        StringBuilder sb = new StringBuilder();
+        for (StatementCacheStats.Entry entry : statementCacheStats.getTopStatements(50)) {
+            sb.append("hits=").append(entry.getHits())
+              .append(" misses=").append(entry.getMisses())
+              .append(" sql=").append(entry.getSql()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    public StatementCacheStats getStatementCacheStats() {
+        return statementCacheStats;
+    }
+
+    /**
+     * Get the per-statement latency statistics of all pooled connections.
+     * Slow-query logging is off until a threshold is set on it.
+     */
+    public QueryStats getQueryStats() {
+        return queryStats;
+    }
+
+    @Override
+    public void resetStatistics() {
+        borrowWait.reset();
+        borrowTimeouts.set(0);
+        leaked.set(0);
+        statementCacheStats.reset();
+    }
+
+    /**
+     * Take the most recently returned idle connection that is still valid,
+     * closing any dead ones found along the way.
+     */
+    private PooledConnection takeIdle() {
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            long idleFor = System.currentTimeMillis() - pooled.getLastReturnedAt();
+            if (idleFor < VALIDATION_BYPASS_MILLIS || pooled.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                return pooled;
+            }
+            discard(pooled);
+        }
+        return null;
+    }
+
+    private PooledConnection open() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, user, password);
+        openCount.incrementAndGet();
+        return new PooledConnection(this, physical, statementCacheSize);
+    }
+
+    private void discard(PooledConnection pooled) {
+        openCount.decrementAndGet();
+        pooled.closePhysical();
+    }
+
+    /**
+     * Periodic maintenance: evict connections idle for too long and report
+     * connections that have been borrowed for longer than the leak threshold.
+     */
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+
+        Iterator<PooledConnection> it = idle.descendingIterator();
+        while (it.hasNext()) {
+            PooledConnection pooled = it.next();
+            if (now - pooled.getLastReturnedAt() > idleTimeoutMillis && idle.remove(pooled)) {
+                discard(pooled);
+            }
+        }
+
+        if (leakThresholdMillis > 0) {
+            for (PooledConnection pooled : borrowed) {
+                long heldFor = now - pooled.getBorrowedAt();
+                if (heldFor > leakThresholdMillis && !pooled.isStreaming() && !pooled.isLeakReported()) {
+                    pooled.setLeakReported(true);
+                    leaked.incrementAndGet();
+                    System.err.println("Possible connection leak: connection held for " + heldFor + " ms");
+                    Throwable stack = pooled.getBorrowStack();
+                    if (stack != null) {
+                        stack.printStackTrace();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.db;
+
+/**
+ * JMX view of the connection pool, registered as
+ * {@code com.example.db:type=ConnectionPool}.
+ */
+public interface ConnectionPoolMXBean {
+
+    int getMaxSize();
+
+    int getOpenCount();
+
+    int getActiveCount();
+
+    int getIdleCount();
+
+    int getWaitingCount();
+
+    long getBorrowCount();
+
+    long getBorrowTimeoutCount();
+
+    long getLeakedCount();
+
+    long getBorrowWaitMeanMicros();
+
+    long getBorrowWaitP50Micros();
+
+    long getBorrowWaitP99Micros();
+
+    long getBorrowWaitMaxMicros();
+
+    String getBorrowWaitDistribution();
+
+    long getStatementCacheHits();
+
+    long getStatementCacheMisses();
+
+    long getStatementCacheEvictions();
+
+    double getStatementCacheHitRatio();
+
+    String getStatementCacheReport();
+
+    void resetStatistics();
+}
@@ -1,39 +1,143 @@
 package com.example.db;
 
+import com.example.util.JmxUtils;
+import java.io.IOException;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 /**
- * Database connection class for establishing connections to MySQL database.
- * Provides a singleton-like pattern for database connectivity.
+ * Database connection class for establishing connections to the database
+ * chosen by {@link DatabaseBackend#fromConfiguration()}, MySQL by default.
+ * Connections are served from a shared {@link ConnectionPool}, so closing
+ * a connection returns it to the pool instead of ending the session.
+ * The pool is registered with JMX as {@value #POOL_MBEAN_NAME} and its
+ * per-statement statistics as {@value #QUERY_STATS_MBEAN_NAME}. Statements
+ * slower than {@code -Djobportal.slowQuery.thresholdMillis} (250 ms by
+ * default, 0 to disable) are logged. When the pool is created the backend
+ * initializes the database and pending schema migrations are applied.
  */
 public class DBConnection {
-    
-    // Database configuration
-    private static final String DB_URL = "jdbc:mysql://localhost:3306/job_portal";
-    private static final String DB_USER = "root";
-    private static final String DB_PASSWORD = "";
-    private static final String DB_DRIVER = "com.mysql.cj.jdbc.Driver";
-    
+
+    // Pool configuration
+    private static final int POOL_MAX_SIZE = 10;
+    private static final long POOL_MAX_WAIT_MILLIS = 5 * 1000;
+    private static final long POOL_IDLE_TIMEOUT_MILLIS = 10 * 60 * 1000;
+    private static final long POOL_LEAK_THRESHOLD_MILLIS = 60 * 1000;
+    private static final long POOL_STATS_LOG_INTERVAL_MILLIS = 5 * 60 * 1000;
+    private static final int STATEMENT_CACHE_SIZE = 64;
+    public static final String POOL_MBEAN_NAME = "com.example.db:type=ConnectionPool";
+
+    // Query statistics configuration
+    public static final String SLOW_QUERY_THRESHOLD_PROPERTY = "jobportal.slowQuery.thresholdMillis";
+    private static final long DEFAULT_SLOW_QUERY_THRESHOLD_MILLIS = 250;
+    public static final String QUERY_STATS_MBEAN_NAME = "com.example.db:type=QueryStats";
+
+    // Bulk insert configuration
+    public static final String BATCH_SIZE_PROPERTY = "jobportal.db.batchSize";
+    private static final int DEFAULT_BATCH_SIZE = 500;
+
+    private static DatabaseBackend backend;
+    private static ConnectionPool pool;
+
     /**
      * Gets a connection to the database.
-     * 
-     * @return Connection object to the MySQL database
+     *
+     * @return Connection object to the database
      * @throws SQLException if connection fails
      */
     public static Connection getConnection() throws SQLException {
-        try {
-            Class.forName(DB_DRIVER);
-            return DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-        } catch (ClassNotFoundException e) {
-            throw new SQLException("MySQL JDBC Driver not found.", e);
+        return getPool().borrow();
+    }
+
+    /**
+     * Gets a connection for streaming a large result set, which may be held
+     * for as long as reading the rows takes without being reported as a leak.
+     *
+     * @return Connection object to the database
+     * @throws SQLException if connection fails
+     * @see ConnectionPool#borrowForStreaming()
+     */
+    public static Connection getStreamingConnection() throws SQLException {
+        return getPool().borrowForStreaming();
+    }
+
+    /**
+     * Gets the shared connection pool, creating it on first use.
+     *
+     * @return the connection pool
+     * @throws SQLException if the JDBC driver cannot be loaded
+     */
+    public static synchronized ConnectionPool getPool() throws SQLException {
+        if (pool == null) {
+            DatabaseBackend database = getBackend();
+            database.loadDriver();
+            pool = new ConnectionPool(database.getUrl(), database.getUser(), database.getPassword(),
+                POOL_MAX_SIZE, POOL_MAX_WAIT_MILLIS, POOL_IDLE_TIMEOUT_MILLIS, POOL_LEAK_THRESHOLD_MILLIS,
+                STATEMENT_CACHE_SIZE);
+            pool.startStatsLogging(POOL_STATS_LOG_INTERVAL_MILLIS);
+            JmxUtils.register(pool, POOL_MBEAN_NAME);
+            pool.getQueryStats().setSlowQueryThresholdMillis(
+                Long.getLong(SLOW_QUERY_THRESHOLD_PROPERTY, DEFAULT_SLOW_QUERY_THRESHOLD_MILLIS));
+            JmxUtils.register(pool.getQueryStats(), QUERY_STATS_MBEAN_NAME);
+            System.out.println("[db] Using the " + database + " backend");
+            migrateSchema();
+        }
+        return pool;
+    }
+
+    /**
+     * Gets the configured database backend.
+     *
+     * @return the backend chosen by {@value DatabaseBackend#BACKEND_PROPERTY}
+     */
+    public static synchronized DatabaseBackend getBackend() {
+        if (backend == null) {
+            backend = DatabaseBackend.fromConfiguration();
         }
+        return backend;
     }
-    
+
+    /**
+     * Gets the number of rows bulk inserts send per executeBatch.
+     *
+     * @return {@value #BATCH_SIZE_PROPERTY}, 500 by default
+     */
+    public static int getBatchSize() {
+        return Math.max(1, Integer.getInteger(BATCH_SIZE_PROPERTY, DEFAULT_BATCH_SIZE));
+    }
+
+    /**
+     * Lets the backend initialize the database, then applies pending schema
+     * migrations. A failure is reported but does not stop the application;
+     * queries that need the missing schema changes will fail on their own.
+     */
+    private static void migrateSchema() {
+        try (Connection conn = pool.borrow()) {
+            backend.initialize(conn);
+            SchemaMigrator.migrate(conn);
+        } catch (SQLException | IOException e) {
+            System.err.println("[schema] Migration failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Closes all pooled connections. The next call to getConnection()
+     * starts a fresh pool with the backend configured at that time.
+     */
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            JmxUtils.unregister(POOL_MBEAN_NAME);
+            JmxUtils.unregister(QUERY_STATS_MBEAN_NAME);
+            pool.shutdown();
+            pool = null;
+            backend = null;
+        }
+    }
+
     /**
      * Closes a database connection.
-     * 
+     *
      * @param connection the Connection to close
      */
     public static void closeConnection(Connection connection) {
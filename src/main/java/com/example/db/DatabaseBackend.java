@@ -0,0 +1,103 @@
+package com.example.db;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * The database the application connects to: its JDBC driver, URL and
+ * credentials, and any preparation a new database needs.
+ *
+ * The backend is chosen with {@code -Djobportal.db.backend}:
+ * <ul>
+ *   <li>{@code mysql} (default): a MySQL server, see {@link MySqlBackend}</li>
+ *   <li>{@code h2}: an embedded in-memory database created from
+ *       docs/schema.sql, see {@link EmbeddedBackend}</li>
+ *   <li>the name of a {@code DatabaseBackend} subclass with a public
+ *       no-argument constructor</li>
+ * </ul>
+ */
+public abstract class DatabaseBackend {
+
+    public static final String BACKEND_PROPERTY = "jobportal.db.backend";
+
+    /**
+     * Create the backend selected by {@value #BACKEND_PROPERTY}.
+     *
+     * @throws IllegalArgumentException if the backend is unknown
+     */
+    public static DatabaseBackend fromConfiguration() {
+        String name = System.getProperty(BACKEND_PROPERTY, "mysql").trim();
+        if (name.equalsIgnoreCase("mysql")) {
+            return new MySqlBackend();
+        }
+        if (name.equalsIgnoreCase("h2") || name.equalsIgnoreCase("embedded")) {
+            return new EmbeddedBackend();
+        }
+        try {
+            return Class.forName(name).asSubclass(DatabaseBackend.class).getConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalArgumentException("Unknown database backend: " + name, e);
+        }
+    }
+
+    /**
+     * @return a short name for log messages, e.g. "mysql"
+     */
+    public abstract String getName();
+
+    public abstract String getDriverClass();
+
+    public abstract String getUrl();
+
+    public abstract String getUser();
+
+    public abstract String getPassword();
+
+    /**
+     * Prepare the database before the application uses it, e.g. create the
+     * schema. Called once per process with a connection from the pool,
+     * before pending migrations are applied. Does nothing by default.
+     */
+    public void initialize(Connection conn) throws SQLException, IOException {
+    }
+
+    /**
+     * Get the fetch size for forward-only queries whose rows are processed
+     * one at a time, so the driver does not read the whole result into
+     * memory. 1000 rows by default.
+     */
+    public int getStreamingFetchSize() {
+        return 1000;
+    }
+
+    /**
+     * Open a connection outside the pool.
+     *
+     * @throws SQLException if the driver is missing or the connection fails
+     */
+    public Connection connect() throws SQLException {
+        loadDriver();
+        return DriverManager.getConnection(getUrl(), getUser(), getPassword());
+    }
+
+    /**
+     * Load the JDBC driver class.
+     *
+     * @throws SQLException if the driver is not on the classpath
+     */
+    public void loadDriver() throws SQLException {
+        try {
+            Class.forName(getDriverClass());
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("JDBC driver not found for the " + getName() + " backend: "
+                + getDriverClass(), e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getName() + " (" + getUrl() + ")";
+    }
+}
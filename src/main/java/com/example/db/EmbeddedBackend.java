@@ -0,0 +1,104 @@
+package com.example.db;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * An in-memory H2 database in MySQL compatibility mode, for tests,
+ * benchmarks and running without a MySQL server.
+ *
+ * The database is created from docs/schema.sql the first time it is
+ * initialized, or from docs/schema-with-testdata.sql with
+ * {@code -Djobportal.db.testData=true}. It lives until the process exits.
+ * {@code -Djobportal.db.name} names it (default job_portal), so separate
+ * databases can be used in one process.
+ */
+public class EmbeddedBackend extends DatabaseBackend {
+
+    public static final String NAME_PROPERTY = "jobportal.db.name";
+    public static final String TEST_DATA_PROPERTY = "jobportal.db.testData";
+
+    private static final String SCHEMA_RESOURCE = "/db/schema.sql";
+    private static final String SCHEMA_WITH_TEST_DATA_RESOURCE = "/db/schema-with-testdata.sql";
+
+    private final String databaseName;
+    private final boolean testData;
+
+    /**
+     * Create the backend configured by system properties.
+     */
+    public EmbeddedBackend() {
+        this(System.getProperty(NAME_PROPERTY, "job_portal"), Boolean.getBoolean(TEST_DATA_PROPERTY));
+    }
+
+    /**
+     * @param databaseName the in-memory database to use
+     * @param testData whether a new database gets the sample users, jobs and applications
+     */
+    public EmbeddedBackend(String databaseName, boolean testData) {
+        this.databaseName = databaseName;
+        this.testData = testData;
+    }
+
+    @Override
+    public String getName() {
+        return "h2";
+    }
+
+    @Override
+    public String getDriverClass() {
+        return "org.h2.Driver";
+    }
+
+    @Override
+    public String getUrl() {
+        // Unquoted names in lower case as in MySQL; keep the database while no connection is open
+        return "jdbc:h2:mem:" + databaseName + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    }
+
+    @Override
+    public String getUser() {
+        return "sa";
+    }
+
+    @Override
+    public String getPassword() {
+        return "";
+    }
+
+    /**
+     * Create the schema unless the database already has it. Only the
+     * current schema is searched, since INFORMATION_SCHEMA has a USERS table too.
+     */
+    @Override
+    public void initialize(Connection conn) throws SQLException, IOException {
+        DatabaseMetaData metaData = conn.getMetaData();
+        try (ResultSet rs = metaData.getTables(conn.getCatalog(), conn.getSchema(), "users",
+                new String[] {"TABLE"})) {
+            if (rs.next()) {
+                return;
+            }
+        }
+
+        long start = System.currentTimeMillis();
+        String resource = testData ? SCHEMA_WITH_TEST_DATA_RESOURCE : SCHEMA_RESOURCE;
+        int count = 0;
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : SchemaMigrator.splitStatements(SchemaMigrator.readResource(resource))) {
+                // The database to use is the in-memory one
+                String upper = sql.toUpperCase();
+                if (upper.startsWith("CREATE DATABASE") || upper.startsWith("USE ")) {
+                    continue;
+                }
+                stmt.execute(sql);
+                count++;
+            }
+        }
+        System.out.println("[schema] Created embedded database " + databaseName + " from " + resource
+            + " (" + count + " statements) in " + (System.currentTimeMillis() - start) + " ms");
+    }
+}
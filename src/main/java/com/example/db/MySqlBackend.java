@@ -0,0 +1,53 @@
+package com.example.db;
+
+/**
+ * A MySQL server, by default the job_portal database on localhost as root
+ * without a password. Override with {@code -Djobportal.db.url},
+ * {@code -Djobportal.db.user} and {@code -Djobportal.db.password}.
+ */
+public class MySqlBackend extends DatabaseBackend {
+
+    public static final String URL_PROPERTY = "jobportal.db.url";
+    public static final String USER_PROPERTY = "jobportal.db.user";
+    public static final String PASSWORD_PROPERTY = "jobportal.db.password";
+
+    // rewriteBatchedStatements sends a batch of inserts as one multi-row INSERT
+    private static final String DEFAULT_URL =
+        "jdbc:mysql://localhost:3306/job_portal?useServerPrepStmts=true&rewriteBatchedStatements=true";
+    private static final String DEFAULT_USER = "root";
+    private static final String DEFAULT_PASSWORD = "";
+
+    @Override
+    public String getName() {
+        return "mysql";
+    }
+
+    @Override
+    public String getDriverClass() {
+        return "com.mysql.cj.jdbc.Driver";
+    }
+
+    @Override
+    public String getUrl() {
+        return System.getProperty(URL_PROPERTY, DEFAULT_URL);
+    }
+
+    @Override
+    public String getUser() {
+        return System.getProperty(USER_PROPERTY, DEFAULT_USER);
+    }
+
+    @Override
+    public String getPassword() {
+        return System.getProperty(PASSWORD_PROPERTY, DEFAULT_PASSWORD);
+    }
+
+    /**
+     * Connector/J only streams rows of a forward-only, read-only result set
+     * with this fetch size; any other value reads the whole result first.
+     */
+    @Override
+    public int getStreamingFetchSize() {
+        return Integer.MIN_VALUE;
+    }
+}
@@ -0,0 +1,380 @@
+package com.example.db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A physical database connection owned by a {@link ConnectionPool}.
+ * Callers never see this class directly; they get a proxy handle whose
+ * close() returns the connection to the pool instead of closing it.
+ *
+ * Each physical connection keeps an LRU cache of prepared statements keyed
+ * by SQL text, so the DAOs' constant SQL strings are only parsed once per
+ * connection. Closing a cached statement returns it to the cache.
+ * Statements are handed out wrapped in a {@link TimedStatement}, which
+ * records their executions in the pool's {@link QueryStats}.
+ */
+class PooledConnection {
+
+    private final ConnectionPool pool;
+    private final Connection physical;
+    private final Map<String, CachedStatement> statementCache;
+    private final long createdAt;
+    private volatile long lastReturnedAt;
+    private volatile long borrowedAt;
+    private volatile Throwable borrowStack;
+    private volatile boolean leakReported;
+    private volatile boolean streaming;
+
+    PooledConnection(ConnectionPool pool, Connection physical, final int statementCacheSize) {
+        this.pool = pool;
+        this.physical = physical;
+        this.createdAt = System.currentTimeMillis();
+        this.lastReturnedAt = createdAt;
+        this.statementCache = new LinkedHashMap<String, CachedStatement>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                if (size() <= statementCacheSize) {
+                    return false;
+                }
+                eldest.getValue().evict();
+                pool.getStatementCacheStats().recordEviction();
+                return true;
+            }
+        };
+    }
+
+    Connection getPhysical() {
+        return physical;
+    }
+
+    long getCreatedAt() {
+        return createdAt;
+    }
+
+    long getLastReturnedAt() {
+        return lastReturnedAt;
+    }
+
+    long getBorrowedAt() {
+        return borrowedAt;
+    }
+
+    Throwable getBorrowStack() {
+        return borrowStack;
+    }
+
+    boolean isLeakReported() {
+        return leakReported;
+    }
+
+    void setLeakReported(boolean leakReported) {
+        this.leakReported = leakReported;
+    }
+
+    /**
+     * @return true if the current borrower streams a large result, see {@link ConnectionPool#borrowForStreaming()}
+     */
+    boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Mark this connection as handed out. The borrow stack is only captured
+     * when leak detection is enabled, since filling in a stack trace is not free.
+     */
+    void markBorrowed(boolean captureStack, boolean streaming) {
+        borrowedAt = System.currentTimeMillis();
+        borrowStack = captureStack ? new Throwable("Connection borrowed here") : null;
+        leakReported = false;
+        this.streaming = streaming;
+    }
+
+    void markReturned() {
+        lastReturnedAt = System.currentTimeMillis();
+        borrowStack = null;
+    }
+
+    /**
+     * Check that the physical connection is still usable.
+     */
+    boolean isValid(int timeoutSeconds) {
+        try {
+            return !physical.isClosed() && physical.isValid(timeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Restore connection state changed by the last borrower so the next
+     * borrower starts from the driver defaults.
+     */
+    void reset() throws SQLException {
+        if (!physical.getAutoCommit()) {
+            physical.rollback();
+            physical.setAutoCommit(true);
+        }
+        physical.clearWarnings();
+    }
+
+    void closePhysical() {
+        statementCache.clear();
+        try {
+            physical.close();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Create a new caller-facing handle for this connection.
+     */
+    Connection newHandle() {
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] { Connection.class },
+            new Handle());
+    }
+
+    /**
+     * Get a prepared statement for the given SQL from the cache, preparing
+     * it on a miss. If the cached statement is already checked out (the
+     * caller prepared the same SQL twice without closing it) a plain
+     * uncached statement is returned instead.
+     */
+    private PreparedStatement prepareCached(String sql, Connection handle) throws SQLException {
+        StatementCacheStats stats = pool.getStatementCacheStats();
+        CachedStatement cached = statementCache.get(sql);
+        if (cached != null && !cached.inUse) {
+            stats.recordHit(sql);
+            return cached.checkOut(handle);
+        }
+
+        stats.recordMiss(sql);
+        PreparedStatement statement = physical.prepareStatement(sql);
+        if (cached != null) {
+            return statement;
+        }
+        cached = new CachedStatement(sql, statement);
+        statementCache.put(sql, cached);
+        return cached.checkOut(handle);
+    }
+
+    /**
+     * Invocation handler behind a borrowed connection. Everything is delegated
+     * to the physical connection except close(), which hands it back to the pool.
+     * Statements the caller forgot to close are closed on release, as they
+     * would be if the physical connection were closed.
+     */
+    private class Handle implements InvocationHandler {
+
+        private boolean closed;
+        private final List<Statement> statements = new ArrayList<>();
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    close();
+                    return null;
+                case "isClosed":
+                    return closed || physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + physical + (closed ? ", closed]" : "]");
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("Connection is closed");
+            }
+
+            if ("prepareStatement".equals(name) && args.length == 1) {
+                PreparedStatement statement = TimedStatement.wrap(
+                    prepareCached((String) args[0], (Connection) proxy), (String) args[0], pool.getQueryStats(),
+                    streaming);
+                statements.add(statement);
+                return statement;
+            }
+
+            Object result;
+            try {
+                result = method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+
+            if ("prepareStatement".equals(name)) {
+                result = TimedStatement.wrap((PreparedStatement) result, (String) args[0], pool.getQueryStats(),
+                    streaming);
+            } else if ("createStatement".equals(name)) {
+                result = TimedStatement.wrap((Statement) result, pool.getQueryStats(), streaming);
+            }
+            if (result instanceof Statement) {
+                statements.add((Statement) result);
+            }
+            return result;
+        }
+
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (Statement statement : statements) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    // The connection is going back to the pool either way
+                }
+            }
+            statements.clear();
+            pool.release(PooledConnection.this);
+        }
+    }
+
+    /**
+     * A physical prepared statement living in the statement cache. Callers
+     * get a proxy for it; closing the proxy clears the parameters, restores
+     * the fetch size, max rows and query timeout if the borrower changed them,
+     * and closes the last result set but keeps the physical statement open
+     * for reuse.
+     */
+    private class CachedStatement implements InvocationHandler {
+
+        private final String sql;
+        private final PreparedStatement physicalStatement;
+        private final PreparedStatement proxy;
+        private Connection handle;
+        private ResultSet lastResult;
+        /** Fetch size, max rows and query timeout before the borrower changed one; null if unchanged. */
+        private int[] originalSettings;
+        private boolean inUse;
+        private boolean evicted;
+
+        CachedStatement(String sql, PreparedStatement physicalStatement) {
+            this.sql = sql;
+            this.physicalStatement = physicalStatement;
+            this.proxy = (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class },
+                this);
+        }
+
+        PreparedStatement checkOut(Connection handle) {
+            this.handle = handle;
+            this.inUse = true;
+            return proxy;
+        }
+
+        /**
+         * Called when the cache drops this entry. A statement that is still
+         * checked out is closed once its borrower is done with it.
+         */
+        void evict() {
+            evicted = true;
+            if (!inUse) {
+                closeQuietly(physicalStatement);
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    checkIn();
+                    return null;
+                case "isClosed":
+                    return !inUse;
+                case "getConnection":
+                    return handle;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + physicalStatement + "]";
+                default:
+                    break;
+            }
+
+            if (!inUse) {
+                throw new SQLException("Statement is closed");
+            }
+            if (originalSettings == null && (name.equals("setFetchSize") || name.equals("setMaxRows")
+                    || name.equals("setLargeMaxRows") || name.equals("setQueryTimeout"))) {
+                originalSettings = new int[] {physicalStatement.getFetchSize(), physicalStatement.getMaxRows(),
+                    physicalStatement.getQueryTimeout()};
+            }
+
+            Object result;
+            try {
+                result = method.invoke(physicalStatement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof ResultSet) {
+                lastResult = (ResultSet) result;
+            }
+            return result;
+        }
+
+        private void checkIn() {
+            if (!inUse) {
+                return;
+            }
+            inUse = false;
+            handle = null;
+            if (lastResult != null) {
+                closeQuietly(lastResult);
+                lastResult = null;
+            }
+            if (evicted) {
+                closeQuietly(physicalStatement);
+                return;
+            }
+            try {
+                physicalStatement.clearParameters();
+                physicalStatement.clearBatch();
+                if (originalSettings != null) {
+                    // Max rows first: some drivers reject a fetch size above the current max rows
+                    physicalStatement.setMaxRows(originalSettings[1]);
+                    physicalStatement.setFetchSize(originalSettings[0]);
+                    physicalStatement.setQueryTimeout(originalSettings[2]);
+                    originalSettings = null;
+                }
+            } catch (SQLException e) {
+                closeQuietly(physicalStatement);
+                statementCache.remove(sql);
+            }
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable resource) {
+        try {
+            resource.close();
+        } catch (Exception e) {
+            // Nothing useful to do; the resource is being discarded
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Startup check that runs EXPLAIN on every statement in the
+ * {@link StatementRegistry} and warns about plans that read a whole table
+ * or sort rows in memory, which usually means an index is missing.
+ *
+ * Understands MySQL's tabular EXPLAIN output and H2's textual plan.
+ * Warnings are printed to System.err; the check never fails startup.
+ */
+public class QueryPlanChecker {
+
+    /** Estimated row count below which the optimizer's choice to skip an index is not reported. */
+    private static final long SMALL_TABLE_ROWS = 1000;
+
+    /**
+     * Load the given DAO classes so their statements are registered, then
+     * check every registered statement.
+     *
+     * @param daoClasses the classes whose static initializers register statements
+     * @return the number of statements with warnings
+     */
+    public static int checkAll(Class<?>... daoClasses) {
+        for (Class<?> daoClass : daoClasses) {
+            try {
+                Class.forName(daoClass.getName(), true, daoClass.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                e.printStackTrace();
+            }
+        }
+
+        List<StatementRegistry.RegisteredStatement> statements = StatementRegistry.getStatements();
+        int checked = 0;
+        int flagged = 0;
+        try (Connection conn = DBConnection.getConnection()) {
+            for (StatementRegistry.RegisteredStatement statement : statements) {
+                if (!isExplainable(statement.getSql())) {
+                    continue;
+                }
+                checked++;
+                try {
+                    List<String> warnings = explain(conn, statement);
+                    if (!warnings.isEmpty()) {
+                        flagged++;
+                        for (String warning : warnings) {
+                            System.err.println("[query-plan] " + statement.getId() + ": " + warning);
+                        }
+                    }
+                } catch (SQLException e) {
+                    flagged++;
+                    System.err.println("[query-plan] " + statement.getId() + ": EXPLAIN failed: " + e.getMessage());
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("[query-plan] Skipped, no database connection: " + e.getMessage());
+            return 0;
+        }
+        System.out.println("[query-plan] Checked " + checked + " statements, " + flagged + " with warnings");
+        return flagged;
+    }
+
+    /**
+     * Run EXPLAIN for one statement.
+     *
+     * @return the problems found in the plan, empty if none
+     */
+    private static List<String> explain(Connection conn, StatementRegistry.RegisteredStatement statement)
+            throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("EXPLAIN " + statement.getSql())) {
+            List<Object> parameters = statement.getSampleParameters();
+            for (int i = 0; i < parameters.size(); i++) {
+                if (parameters.get(i) == null) {
+                    pstmt.setNull(i + 1, Types.VARCHAR);
+                } else {
+                    pstmt.setObject(i + 1, parameters.get(i));
+                }
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (hasColumn(rs.getMetaData(), "type")) {
+                    return checkMySqlPlan(rs, statement.isTableScanExpected());
+                }
+                StringBuilder plan = new StringBuilder();
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+                return checkTextPlan(plan.toString(), statement.isTableScanExpected());
+            }
+        }
+    }
+
+    /**
+     * Check MySQL's EXPLAIN rows: one per table access, with the access
+     * type ("ALL" is a full table scan, "index" a full index scan) and
+     * notes such as "Using filesort" in the Extra column.
+     */
+    private static List<String> checkMySqlPlan(ResultSet rs, boolean tableScanExpected) throws SQLException {
+        List<String> warnings = new ArrayList<>();
+        while (rs.next()) {
+            String table = rs.getString("table");
+            String type = rs.getString("type");
+            String possibleKeys = rs.getString("possible_keys");
+            String extra = rs.getString("Extra");
+
+            // On small tables the optimizer may skip a usable index; that fixes itself as data grows
+            if (possibleKeys != null && rs.getLong("rows") < SMALL_TABLE_ROWS) {
+                continue;
+            }
+            if (!tableScanExpected && "ALL".equals(type)) {
+                warnings.add("full scan of " + table
+                    + (possibleKeys == null ? ", no usable index" : " although " + possibleKeys + " could be used"));
+            } else if (!tableScanExpected && "index".equals(type)) {
+                warnings.add("full index scan of " + table + " using " + rs.getString("key"));
+            }
+            if (extra != null && extra.contains("Using filesort")) {
+                warnings.add("rows of " + table + " are sorted in memory (Using filesort)");
+            }
+        }
+        return warnings;
+    }
+
+    /**
+     * Check H2's plan text, which names the index used for each table and
+     * marks full scans as "tableScan".
+     */
+    private static List<String> checkTextPlan(String plan, boolean tableScanExpected) {
+        List<String> warnings = new ArrayList<>();
+        if (!tableScanExpected && plan.contains(".tableScan")) {
+            warnings.add("full table scan: " + plan.trim().replaceAll("\\s+", " "));
+        }
+        return warnings;
+    }
+
+    /**
+     * INSERT ... VALUES touches no existing rows, so there is no plan to check.
+     */
+    private static boolean isExplainable(String sql) {
+        String normalized = sql.trim().toUpperCase(Locale.ROOT);
+        return !normalized.startsWith("INSERT") || normalized.contains(" SELECT ");
+    }
+
+    private static boolean hasColumn(ResultSetMetaData metaData, String name) throws SQLException {
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            if (name.equalsIgnoreCase(metaData.getColumnLabel(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,307 @@
+package com.example.db;
+
+import com.example.util.LatencyHistogram;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and row count statistics per SQL statement, recorded by the
+ * pooled connections for every statement they execute.
+ *
+ * Statements are keyed by their {@link StatementRegistry} ID, or by their
+ * SQL text if they are not registered. The time recorded for an execution
+ * runs from the execute call until the statement is closed, so it includes
+ * reading and mapping the result set. Executions slower than the
+ * configured threshold are logged to stderr with their bound parameters
+ * redacted.
+ */
+public class QueryStats implements QueryStatsMXBean {
+
+    /** Statements beyond this many distinct keys are counted under {@link #OTHER_KEY}. */
+    private static final int MAX_STATEMENTS = 500;
+    private static final String OTHER_KEY = "(other statements)";
+    private static final int MAX_SQL_LENGTH_IN_LOG = 200;
+
+    private final Map<String, Entry> byKey = new ConcurrentHashMap<>();
+    private final LongAdder slowQueries = new LongAdder();
+    private volatile long slowQueryThresholdMillis;
+
+    /**
+     * @param slowQueryThresholdMillis executions taking at least this long are logged, 0 to disable
+     */
+    public QueryStats(long slowQueryThresholdMillis) {
+        this.slowQueryThresholdMillis = slowQueryThresholdMillis;
+    }
+
+    /**
+     * Record one execution.
+     *
+     * @param sql the SQL text
+     * @param nanos the time from execute until the statement was closed
+     * @param rows rows read from the result, or the update count
+     * @param failed whether the execution threw an SQLException
+     * @param parameters the bound parameters by index, only read if the execution was slow
+     * @return the statistics entry the execution was counted in
+     */
+    Entry record(String sql, long nanos, long rows, boolean failed, Map<Integer, Object> parameters) {
+        Entry entry = entryFor(sql);
+        entry.latency.recordNanos(nanos);
+        entry.rows.add(rows);
+        if (failed) {
+            entry.errors.increment();
+        }
+        long currentMax;
+        while (rows > (currentMax = entry.maxRows.get())) {
+            if (entry.maxRows.compareAndSet(currentMax, rows)) {
+                break;
+            }
+        }
+
+        long threshold = slowQueryThresholdMillis;
+        long millis = nanos / 1000000;
+        if (threshold > 0 && millis >= threshold) {
+            slowQueries.increment();
+            System.err.println("[slow-query] " + describe(entry, sql) + " took " + millis + " ms, "
+                + rows + " rows" + (failed ? ", failed" : "") + ", parameters " + redactParameters(parameters));
+        }
+        return entry;
+    }
+
+    /**
+     * Describe bound parameters without revealing their values: only the
+     * type of each value, or NULL, is shown. Numbers, dates and lengths can
+     * identify a person as well as text can, so none of them are logged.
+     *
+     * @param parameters the parameters by index
+     * @return e.g. "[1=<string>, 2=<int>, 3=NULL]"
+     */
+    public static String redactParameters(Map<Integer, Object> parameters) {
+        StringBuilder sb = new StringBuilder("[");
+        for (Map.Entry<Integer, Object> parameter : parameters.entrySet()) {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(parameter.getKey()).append('=');
+            Object value = parameter.getValue();
+            if (value == null) {
+                sb.append("NULL");
+            } else {
+                sb.append('<').append(typeName(value)).append('>');
+            }
+        }
+        return sb.append(']').toString();
+    }
+
+    private static String typeName(Object value) {
+        if (value instanceof CharSequence) {
+            return "string";
+        } else if (value instanceof byte[]) {
+            return "binary";
+        } else if (value instanceof Integer) {
+            return "int";
+        } else if (value instanceof java.sql.Timestamp) {
+            return "timestamp";
+        } else if (value instanceof Date) {
+            return "date";
+        }
+        return value.getClass().getSimpleName().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Get the statements, highest total time first.
+     */
+    public List<Entry> getStatements() {
+        List<Entry> entries = new ArrayList<>(byKey.values());
+        Collections.sort(entries, new Comparator<Entry>() {
+            @Override
+            public int compare(Entry a, Entry b) {
+                return Long.compare(b.getTotalMicros(), a.getTotalMicros());
+            }
+        });
+        return entries;
+    }
+
+    @Override
+    public int getStatementCount() {
+        return byKey.size();
+    }
+
+    @Override
+    public long getExecutionCount() {
+        long total = 0;
+        for (Entry entry : byKey.values()) {
+            total += entry.getExecutionCount();
+        }
+        return total;
+    }
+
+    @Override
+    public long getErrorCount() {
+        long total = 0;
+        for (Entry entry : byKey.values()) {
+            total += entry.getErrorCount();
+        }
+        return total;
+    }
+
+    @Override
+    public long getSlowQueryCount() {
+        return slowQueries.sum();
+    }
+
+    @Override
+    public long getSlowQueryThresholdMillis() {
+        return slowQueryThresholdMillis;
+    }
+
+    @Override
+    public void setSlowQueryThresholdMillis(long thresholdMillis) {
+        this.slowQueryThresholdMillis = thresholdMillis;
+    }
+
+    @Override
+    public String getReport() {
+        StringBuilder sb = new StringBuilder();
+        for (Entry entry : getStatements()) {
+            sb.append(entry.getId())
+              .append(" count=").append(entry.getExecutionCount())
+              .append(" errors=").append(entry.getErrorCount())
+              .append(" rows(avg=").append(entry.getAverageRows())
+              .append(" max=").append(entry.getMaxRows()).append(')')
+              .append(" p50=").append(entry.getLatency().getPercentile(50)).append("us")
+              .append(" p99=").append(entry.getLatency().getPercentile(99)).append("us")
+              .append(" p999=").append(entry.getLatency().getPercentile(99.9)).append("us")
+              .append(" max=").append(entry.getLatency().getMax()).append("us\n");
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String dumpToFile(String path) throws IOException {
+        File file = path == null || path.trim().isEmpty()
+            ? new File("query-stats-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".txt")
+            : new File(path.trim());
+
+        try (PrintWriter out = new PrintWriter(file, StandardCharsets.UTF_8.name())) {
+            out.println("# Query statistics, " + new Date());
+            out.println("# executions=" + getExecutionCount() + " errors=" + getErrorCount()
+                + " slow=" + getSlowQueryCount() + " slowThreshold=" + slowQueryThresholdMillis + "ms");
+            for (Entry entry : getStatements()) {
+                out.println();
+                out.println(entry.getId());
+                if (!entry.getId().equals(entry.getSql())) {
+                    out.println("  sql: " + entry.getSql());
+                }
+                out.println("  count=" + entry.getExecutionCount() + " errors=" + entry.getErrorCount()
+                    + " rows(total=" + entry.getTotalRows() + " avg=" + entry.getAverageRows()
+                    + " max=" + entry.getMaxRows() + ")");
+                LatencyHistogram latency = entry.getLatency();
+                out.println("  latency: " + latency + " p999=" + latency.getPercentile(99.9) + "us");
+                for (String line : latency.toDistributionString().split("\n")) {
+                    if (!line.isEmpty()) {
+                        out.println("    " + line);
+                    }
+                }
+            }
+        }
+        return file.getAbsolutePath();
+    }
+
+    @Override
+    public void resetStatistics() {
+        byKey.clear();
+        slowQueries.reset();
+    }
+
+    private Entry entryFor(String sql) {
+        String id = StatementRegistry.getId(sql);
+        String key = id != null ? id : sql;
+        Entry entry = byKey.get(key);
+        if (entry == null) {
+            if (byKey.size() >= MAX_STATEMENTS) {
+                key = OTHER_KEY;
+                sql = OTHER_KEY;
+            }
+            final String entrySql = sql;
+            entry = byKey.computeIfAbsent(key, k -> new Entry(k, entrySql));
+        }
+        return entry;
+    }
+
+    private static String describe(Entry entry, String sql) {
+        if (!entry.getId().equals(sql)) {
+            return entry.getId();
+        }
+        return sql.length() > MAX_SQL_LENGTH_IN_LOG ? sql.substring(0, MAX_SQL_LENGTH_IN_LOG) + "..." : sql;
+    }
+
+    /**
+     * Statistics for a single statement.
+     */
+    public static class Entry {
+        private final String id;
+        private final String sql;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder rows = new LongAdder();
+        private final AtomicLong maxRows = new AtomicLong();
+        private final LongAdder errors = new LongAdder();
+
+        Entry(String id, String sql) {
+            this.id = id;
+            this.sql = sql;
+        }
+
+        /**
+         * @return the registered statement ID, or the SQL text for unregistered statements
+         */
+        public String getId() {
+            return id;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        public long getExecutionCount() {
+            return latency.getCount();
+        }
+
+        public long getErrorCount() {
+            return errors.sum();
+        }
+
+        public long getTotalRows() {
+            return rows.sum();
+        }
+
+        public long getAverageRows() {
+            long count = latency.getCount();
+            return count == 0 ? 0 : rows.sum() / count;
+        }
+
+        public long getMaxRows() {
+            return maxRows.get();
+        }
+
+        long getTotalMicros() {
+            return latency.getMean() * latency.getCount();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.db;
+
+import java.io.IOException;
+
+/**
+ * JMX view of the per-statement query statistics, registered as
+ * {@code com.example.db:type=QueryStats}.
+ */
+public interface QueryStatsMXBean {
+
+    int getStatementCount();
+
+    long getExecutionCount();
+
+    long getErrorCount();
+
+    long getSlowQueryCount();
+
+    long getSlowQueryThresholdMillis();
+
+    void setSlowQueryThresholdMillis(long thresholdMillis);
+
+    String getReport();
+
+    /**
+     * Write the full statistics, including latency distributions, to a file.
+     *
+     * @param path the file to write, or empty for a timestamped file in the working directory
+     * @return the absolute path of the written file
+     */
+    String dumpToFile(String path) throws IOException;
+
+    void resetStatistics();
+}
@@ -0,0 +1,180 @@
+package com.example.db;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Brings an existing database up to the current schema version.
+ *
+ * Migrations are the docs/migrations/V&lt;n&gt;__&lt;description&gt;.sql scripts,
+ * packaged on the classpath under /db/migrations. The versions applied so
+ * far are recorded in the schema_version table; databases created from
+ * docs/schema.sql start at the latest version. A database without that
+ * table is assumed to be at version 1, or 2 if it already has the salary
+ * bound columns.
+ *
+ * Statements that fail only because their change is already in place
+ * (duplicate column or index, index already dropped) are skipped, so
+ * databases that had a script applied by hand migrate cleanly.
+ */
+public class SchemaMigrator {
+
+    /** All migrations, oldest first. */
+    static final String[] MIGRATIONS = {
+        "V2__salary_bounds.sql",
+        "V3__composite_indexes.sql"
+    };
+
+    private static final String RESOURCE_DIR = "/db/migrations/";
+
+    // MySQL errors meaning the change is already in place
+    private static final int ER_DUP_FIELDNAME = 1060;
+    private static final int ER_DUP_KEYNAME = 1061;
+    private static final int ER_CANT_DROP_FIELD_OR_KEY = 1091;
+
+    // The same errors from H2, used by the embedded backend
+    private static final int H2_DUPLICATE_COLUMN_NAME = 42121;
+    private static final int H2_INDEX_ALREADY_EXISTS = 42111;
+    private static final int H2_INDEX_NOT_FOUND = 42112;
+
+    /**
+     * Apply all migrations newer than the database's schema version.
+     *
+     * @param conn the connection to migrate through
+     * @return the number of migrations applied
+     * @throws SQLException if a migration fails; later migrations are not attempted
+     * @throws IOException if a migration script cannot be read
+     */
+    public static int migrate(Connection conn) throws SQLException, IOException {
+        int current = getCurrentVersion(conn);
+        int applied = 0;
+        for (String migration : MIGRATIONS) {
+            int version = parseVersion(migration);
+            if (version <= current) {
+                continue;
+            }
+            long start = System.currentTimeMillis();
+            int skipped = 0;
+            List<String> statements = splitStatements(readResource(RESOURCE_DIR + migration));
+            try (Statement stmt = conn.createStatement()) {
+                for (String sql : statements) {
+                    try {
+                        stmt.execute(sql);
+                    } catch (SQLException e) {
+                        if (!isAlreadyApplied(e)) {
+                            throw new SQLException("Migration " + migration + " failed at: " + sql, e);
+                        }
+                        skipped++;
+                    }
+                }
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "INSERT INTO schema_version (version, description) VALUES (?, ?)")) {
+                pstmt.setInt(1, version);
+                pstmt.setString(2, parseDescription(migration));
+                pstmt.executeUpdate();
+            }
+            applied++;
+            System.out.println("[schema] Applied " + migration + " (" + statements.size() + " statements, "
+                + skipped + " already in place) in " + (System.currentTimeMillis() - start) + " ms");
+        }
+        return applied;
+    }
+
+    /**
+     * Get the database's schema version, creating the schema_version
+     * table with a baseline entry if it does not exist yet.
+     */
+    private static int getCurrentVersion(Connection conn) throws SQLException {
+        if (!tableExists(conn, "schema_version")) {
+            int baseline = columnExists(conn, "jobs", "salary_min") ? 2 : 1;
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TABLE schema_version (version INT PRIMARY KEY, "
+                    + "description VARCHAR(200) NOT NULL, applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+                stmt.execute("INSERT INTO schema_version (version, description) VALUES ("
+                    + baseline + ", 'baseline')");
+            }
+            return baseline;
+        }
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MAX(version) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 1;
+        }
+    }
+
+    /**
+     * Split a script into statements on ';', dropping "--" comment lines.
+     */
+    static List<String> splitStatements(String script) {
+        StringBuilder withoutComments = new StringBuilder();
+        for (String line : script.split("\r?\n")) {
+            if (!line.trim().startsWith("--")) {
+                withoutComments.append(line).append('\n');
+            }
+        }
+        List<String> statements = new ArrayList<>();
+        for (String statement : withoutComments.toString().split(";")) {
+            if (!statement.trim().isEmpty()) {
+                statements.add(statement.trim());
+            }
+        }
+        return statements;
+    }
+
+    static int parseVersion(String migration) {
+        return Integer.parseInt(migration.substring(1, migration.indexOf("__")));
+    }
+
+    private static String parseDescription(String migration) {
+        return migration.substring(migration.indexOf("__") + 2, migration.lastIndexOf('.')).replace('_', ' ');
+    }
+
+    private static boolean isAlreadyApplied(SQLException e) {
+        int code = e.getErrorCode();
+        return code == ER_DUP_FIELDNAME || code == ER_DUP_KEYNAME || code == ER_CANT_DROP_FIELD_OR_KEY
+            || code == H2_DUPLICATE_COLUMN_NAME || code == H2_INDEX_ALREADY_EXISTS || code == H2_INDEX_NOT_FOUND;
+    }
+
+    /**
+     * Read an SQL script from the classpath.
+     */
+    static String readResource(String path) throws IOException {
+        InputStream in = SchemaMigrator.class.getResourceAsStream(path);
+        if (in == null) {
+            throw new IOException("Script not on the classpath: " + path);
+        }
+        StringBuilder script = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                script.append(line).append('\n');
+            }
+        }
+        return script.toString();
+    }
+
+    private static boolean tableExists(Connection conn, String table) throws SQLException {
+        DatabaseMetaData metaData = conn.getMetaData();
+        try (ResultSet rs = metaData.getTables(conn.getCatalog(), null, table, new String[] {"TABLE"})) {
+            return rs.next();
+        }
+    }
+
+    private static boolean columnExists(Connection conn, String table, String column) throws SQLException {
+        DatabaseMetaData metaData = conn.getMetaData();
+        try (ResultSet rs = metaData.getColumns(conn.getCatalog(), null, table, column)) {
+            return rs.next();
+        }
+    }
+}
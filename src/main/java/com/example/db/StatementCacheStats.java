@@ -0,0 +1,115 @@
+package com.example.db;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hit and miss counters for the per-connection PreparedStatement caches,
+ * both in total and per SQL string.
+ */
+public class StatementCacheStats {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final Map<String, Entry> bySql = new ConcurrentHashMap<>();
+
+    void recordHit(String sql) {
+        hits.increment();
+        entryFor(sql).hits.increment();
+    }
+
+    void recordMiss(String sql) {
+        misses.increment();
+        entryFor(sql).misses.increment();
+    }
+
+    void recordEviction() {
+        evictions.increment();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Get the share of prepareStatement calls served from a cache.
+     *
+     * @return the hit ratio between 0 and 1
+     */
+    public double getHitRatio() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    /**
+     * Get per-statement counters, most frequently prepared first.
+     *
+     * @param limit the maximum number of statements to return
+     * @return the statement entries
+     */
+    public List<Entry> getTopStatements(int limit) {
+        List<Entry> entries = new ArrayList<>(bySql.values());
+        Collections.sort(entries, new Comparator<Entry>() {
+            @Override
+            public int compare(Entry a, Entry b) {
+                return Long.compare(b.getHits() + b.getMisses(), a.getHits() + a.getMisses());
+            }
+        });
+        return entries.size() > limit ? entries.subList(0, limit) : entries;
+    }
+
+    public void reset() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+        bySql.clear();
+    }
+
+    private Entry entryFor(String sql) {
+        Entry entry = bySql.get(sql);
+        if (entry == null) {
+            entry = bySql.computeIfAbsent(sql, Entry::new);
+        }
+        return entry;
+    }
+
+    /**
+     * Counters for a single SQL string.
+     */
+    public static class Entry {
+        private final String sql;
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        Entry(String sql) {
+            this.sql = sql;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public long getHits() {
+            return hits.sum();
+        }
+
+        public long getMisses() {
+            return misses.sum();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.db;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the SQL statements the DAOs issue, each under a stable ID
+ * such as "JobDAO.getJobById".
+ *
+ * DAOs register their statements in static initializers together with
+ * sample parameters, so tools like {@link QueryPlanChecker} can run every
+ * statement shape against the live schema without going through the DAO.
+ */
+public class StatementRegistry {
+
+    /**
+     * A registered statement.
+     */
+    public static class RegisteredStatement {
+        private final String id;
+        private final String sql;
+        private final Object[] sampleParameters;
+        private final boolean tableScanExpected;
+
+        RegisteredStatement(String id, String sql, Object[] sampleParameters, boolean tableScanExpected) {
+            this.id = id;
+            this.sql = sql;
+            this.sampleParameters = sampleParameters;
+            this.tableScanExpected = tableScanExpected;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        /**
+         * @return parameters to bind when running the statement for diagnostics, in order
+         */
+        public List<Object> getSampleParameters() {
+            return Collections.unmodifiableList(Arrays.asList(sampleParameters));
+        }
+
+        /**
+         * @return true if the statement reads the whole table by design
+         */
+        public boolean isTableScanExpected() {
+            return tableScanExpected;
+        }
+    }
+
+    private static final Map<String, RegisteredStatement> statementsById = new LinkedHashMap<>();
+    // Looked up for every statement executed, so reads take no lock
+    private static final Map<String, RegisteredStatement> statementsBySql = new ConcurrentHashMap<>();
+
+    /**
+     * Register a statement.
+     *
+     * @param id the statement ID, "DaoClass.method" or "DaoClass.method.variant"
+     * @param sql the SQL text
+     * @param sampleParameters plausible values for the statement's parameters
+     * @return the SQL text, so it can initialize a constant
+     */
+    public static String register(String id, String sql, Object... sampleParameters) {
+        return add(new RegisteredStatement(id, sql, sampleParameters, false));
+    }
+
+    /**
+     * Register a statement that reads the whole table by design, such as a
+     * one-off maintenance query, so the plan check does not warn about it.
+     *
+     * @see #register(String, String, Object...)
+     */
+    public static String registerTableScan(String id, String sql, Object... sampleParameters) {
+        return add(new RegisteredStatement(id, sql, sampleParameters, true));
+    }
+
+    private static synchronized String add(RegisteredStatement statement) {
+        statementsById.put(statement.getId(), statement);
+        statementsBySql.put(statement.getSql(), statement);
+        return statement.getSql();
+    }
+
+    /**
+     * Get the ID a SQL text was registered under.
+     *
+     * @param sql the SQL text
+     * @return the statement ID, or null if the text is not registered
+     */
+    public static String getId(String sql) {
+        RegisteredStatement statement = statementsBySql.get(sql);
+        return statement != null ? statement.getId() : null;
+    }
+
+    /**
+     * @return all registered statements, in registration order
+     */
+    public static synchronized List<RegisteredStatement> getStatements() {
+        return new ArrayList<>(statementsById.values());
+    }
+}
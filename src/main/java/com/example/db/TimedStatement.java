@@ -0,0 +1,202 @@
+package com.example.db;
+
+import com.example.jfr.DaoStatementEvent;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Wrapper around a statement handed out by a pooled connection that
+ * reports every execution to {@link QueryStats}.
+ *
+ * An execution is timed from the execute call until the statement is
+ * closed or executed again, so the time spent reading and mapping the
+ * result set is included. On a connection borrowed for streaming only
+ * the execute call is timed, since reading the rows takes as long as the
+ * caller spends on each of them. Rows are counted as the caller reads them.
+ * Bound parameters are remembered for the slow-query log. Each execution
+ * is also emitted as a {@link DaoStatementEvent} for Flight Recorder.
+ */
+class TimedStatement implements InvocationHandler {
+
+    private final Statement target;
+    private final String preparedSql;
+    private final QueryStats stats;
+    private final boolean executeOnly;
+    private final Map<Integer, Object> parameters = new TreeMap<>();
+
+    private String executingSql;
+    private long startNanos;
+    private long executeNanos;
+    private long rows;
+    private boolean failed;
+    private DaoStatementEvent event;
+
+    private TimedStatement(Statement target, String preparedSql, QueryStats stats, boolean executeOnly) {
+        this.target = target;
+        this.preparedSql = preparedSql;
+        this.stats = stats;
+        this.executeOnly = executeOnly;
+    }
+
+    /**
+     * Wrap a prepared statement.
+     *
+     * @param executeOnly true to time only the execute calls, for streaming
+     */
+    static PreparedStatement wrap(PreparedStatement target, String sql, QueryStats stats, boolean executeOnly) {
+        return (PreparedStatement) Proxy.newProxyInstance(
+            PreparedStatement.class.getClassLoader(),
+            new Class<?>[] { PreparedStatement.class },
+            new TimedStatement(target, sql, stats, executeOnly));
+    }
+
+    /**
+     * Wrap a plain statement; its SQL is taken from each execute call.
+     *
+     * @param executeOnly true to time only the execute calls, for streaming
+     */
+    static Statement wrap(Statement target, QueryStats stats, boolean executeOnly) {
+        return (Statement) Proxy.newProxyInstance(
+            Statement.class.getClassLoader(),
+            new Class<?>[] { Statement.class },
+            new TimedStatement(target, null, stats, executeOnly));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        switch (name) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "close":
+                finishExecution();
+                break;
+            case "clearParameters":
+                parameters.clear();
+                break;
+            default:
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                    parameters.put((Integer) args[0], name.equals("setNull") ? null : args[1]);
+                } else if (name.startsWith("execute")) {
+                    return execute(method, args);
+                }
+                break;
+        }
+        return invokeTarget(method, args);
+    }
+
+    private Object execute(Method method, Object[] args) throws Throwable {
+        finishExecution();
+        executingSql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+        startNanos = System.nanoTime();
+        executeNanos = -1;
+        rows = 0;
+        failed = false;
+        event = new DaoStatementEvent();
+        event.begin();
+
+        Object result;
+        try {
+            result = invokeTarget(method, args);
+        } catch (SQLException e) {
+            failed = true;
+            finishExecution();
+            throw e;
+        }
+        if (executeOnly) {
+            executeNanos = System.nanoTime() - startNanos;
+            event.end();
+        }
+
+        if (result instanceof ResultSet) {
+            return countRows((ResultSet) result);
+        }
+        if (result instanceof Integer || result instanceof Long) {
+            rows = ((Number) result).longValue();
+        } else if (result instanceof int[]) {
+            for (int count : (int[]) result) {
+                rows += Math.max(count, 0);
+            }
+        } else if (Boolean.TRUE.equals(result)) {
+            // execute() produced a result set; count it if the caller asks for it
+            return result;
+        } else if (Boolean.FALSE.equals(result)) {
+            rows = Math.max(target.getUpdateCount(), 0);
+        }
+        return result;
+    }
+
+    private void finishExecution() {
+        if (executingSql == null) {
+            return;
+        }
+        long nanos = executeNanos >= 0 ? executeNanos : System.nanoTime() - startNanos;
+        QueryStats.Entry entry = stats.record(executingSql, nanos, rows, failed, parameters);
+        if (executeNanos < 0) {
+            event.end();
+        }
+        if (event.shouldCommit()) {
+            event.statementId = entry.getId();
+            event.rows = rows;
+            event.failed = failed;
+            event.commit();
+        }
+        executingSql = null;
+        event = null;
+    }
+
+    /**
+     * Wrap a result set so that every row the caller reads is counted.
+     */
+    private ResultSet countRows(final ResultSet resultSet) {
+        return (ResultSet) Proxy.newProxyInstance(
+            ResultSet.class.getClassLoader(),
+            new Class<?>[] { ResultSet.class },
+            new InvocationHandler() {
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+                    Object result;
+                    try {
+                        result = method.invoke(resultSet, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (Boolean.TRUE.equals(result) && "next".equals(method.getName())) {
+                        rows++;
+                    }
+                    return result;
+                }
+            });
+    }
+
+    private Object invokeTarget(Method method, Object[] args) throws Throwable {
+        Object result;
+        try {
+            result = method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+        if ("getResultSet".equals(method.getName()) && result != null) {
+            return countRows((ResultSet) result);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.feed;
+
+import com.example.model.Application;
+import com.example.service.ApplicationService;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Date;
+
+/**
+ * Exports the applications for a job as CSV or NDJSON.
+ *
+ * Applications are streamed from the database and written one at a time
+ * through {@link ApplicationService#streamApplicationsByJobId}, so only
+ * the current application is held in memory, cover letter included, no
+ * matter how many a job received.
+ */
+public class ApplicationExporter {
+
+    private static final String[] COLUMNS = {
+        "application_id", "job_id", "student_id", "status", "applied_at", "reviewed_at", "updated_at",
+        "resume_path", "cover_letter"
+    };
+
+    private final ApplicationService applicationService;
+
+    public ApplicationExporter(ApplicationService applicationService) {
+        this.applicationService = applicationService;
+    }
+
+    /**
+     * Export to a file, in the format given by its extension. An
+     * incomplete file is deleted if the export fails.
+     *
+     * @param jobId the job ID
+     * @param file the file to write, see {@link FeedFormat#forFile}
+     * @return the number of applications exported
+     * @throws SQLException if the query fails
+     * @throws IOException if writing fails
+     */
+    public int exportApplications(int jobId, Path file) throws SQLException, IOException {
+        boolean done = false;
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            int count = exportApplications(jobId, out, FeedFormat.forFile(file));
+            done = true;
+            return count;
+        } finally {
+            if (!done) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+     * Export to a writer. The writer is flushed but not closed.
+     *
+     * @param jobId the job ID
+     * @param out the writer
+     * @param format the format to write
+     * @return the number of applications exported
+     * @throws SQLException if the query fails
+     * @throws IOException if writing fails
+     */
+    public int exportApplications(int jobId, Writer out, FeedFormat format) throws SQLException, IOException {
+        long start = System.currentTimeMillis();
+        if (format == FeedFormat.CSV) {
+            Csv.writeRecord(out, COLUMNS);
+        }
+        int count = applicationService.streamApplicationsByJobId(jobId, application -> {
+            String[] values = values(application);
+            if (format == FeedFormat.CSV) {
+                Csv.writeRecord(out, values);
+            } else {
+                writeJson(out, values);
+            }
+        });
+        out.flush();
+        System.out.println("[export] Exported " + count + " applications for job " + jobId + " in "
+            + (System.currentTimeMillis() - start) + " ms");
+        return count;
+    }
+
+    private static String[] values(Application application) {
+        return new String[] {
+            String.valueOf(application.getApplicationId()),
+            String.valueOf(application.getJobId()),
+            String.valueOf(application.getStudentId()),
+            application.getStatus().name(),
+            format(application.getAppliedAt()),
+            format(application.getReviewedAt()),
+            format(application.getUpdatedAt()),
+            application.getResumePath(),
+            application.getCoverLetter()
+        };
+    }
+
+    /**
+     * Write the values as one JSON object line; the IDs are written as numbers.
+     */
+    private static void writeJson(Writer out, String[] values) throws IOException {
+        out.write('{');
+        for (int i = 0; i < COLUMNS.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write('"');
+            out.write(COLUMNS[i]);
+            out.write("\":");
+            if (i < 3) {
+                out.write(values[i]);
+            } else {
+                Json.writeString(out, values[i]);
+            }
+        }
+        out.write("}\n");
+    }
+
+    /**
+     * Format a timestamp as ISO 8601 local date and time.
+     */
+    private static String format(Date date) {
+        if (date == null) {
+            return null;
+        }
+        return new Timestamp(date.getTime()).toLocalDateTime().toString();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.feed;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utility class for RFC 4180 CSV records: fields separated by commas,
+ * optionally enclosed in double quotes, with "" for a quote inside a
+ * quoted field.
+ */
+public class Csv {
+
+    private Csv() {
+    }
+
+    /**
+     * Split one record into its fields.
+     *
+     * @param record the record, which may contain quoted line breaks
+     * @return the unquoted fields
+     * @throws IllegalArgumentException if a quoted field is not closed
+     */
+    public static List<String> parseRecord(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int i = 0;
+        while (true) {
+            if (i < record.length() && record.charAt(i) == '"') {
+                i++;
+                while (true) {
+                    if (i >= record.length()) {
+                        throw new IllegalArgumentException("Unclosed quote in field " + (fields.size() + 1));
+                    }
+                    char c = record.charAt(i++);
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < record.length() && record.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+            }
+            // Unquoted field, or anything after the closing quote up to the separator
+            while (i < record.length() && record.charAt(i) != ',') {
+                field.append(record.charAt(i++));
+            }
+            fields.add(field.toString());
+            field.setLength(0);
+            if (i >= record.length()) {
+                return fields;
+            }
+            i++;
+        }
+    }
+
+    /**
+     * Write one record followed by a line break. Fields containing a comma,
+     * quote or line break are quoted; null is written as an empty field.
+     *
+     * @param out the writer
+     * @param fields the fields
+     * @throws IOException if writing fails
+     */
+    public static void writeRecord(Writer out, String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            String field = fields[i];
+            if (field == null) {
+                continue;
+            }
+            if (field.indexOf(',') < 0 && field.indexOf('"') < 0
+                    && field.indexOf('\n') < 0 && field.indexOf('\r') < 0) {
+                out.write(field);
+                continue;
+            }
+            out.write('"');
+            out.write(field.replace("\"", "\"\""));
+            out.write('"');
+        }
+        out.write("\r\n");
+    }
+}
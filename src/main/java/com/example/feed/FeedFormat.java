@@ -0,0 +1,29 @@
+package com.example.feed;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * File formats for job and application feeds.
+ */
+public enum FeedFormat {
+    /** Comma-separated values with a header record naming the columns. */
+    CSV,
+    /** Newline-delimited JSON, one flat object per line. */
+    NDJSON;
+
+    /**
+     * Get the format of a file from its extension: .ndjson, .jsonl and
+     * .json are NDJSON, anything else is CSV.
+     *
+     * @param file the file
+     * @return the format
+     */
+    public static FeedFormat forFile(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".json")) {
+            return NDJSON;
+        }
+        return CSV;
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.feed;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a feed import. Rows are identified by the byte offset where
+ * they start in the file, which stays the same when an import is resumed.
+ */
+public class ImportResult {
+
+    /** Number of failures kept for the report; further failures are only counted. */
+    public static final int MAX_REPORTED_FAILURES = 1000;
+
+    private final long startOffset;
+    private long nextOffset;
+    private long rowsRead;
+    private long insertedCount;
+    private long failedCount;
+    private final List<Failure> failures = new ArrayList<>();
+    private String error;
+
+    public ImportResult(long startOffset) {
+        this.startOffset = startOffset;
+        this.nextOffset = startOffset;
+    }
+
+    /**
+     * Get the offset the import started at.
+     */
+    public long getStartOffset() {
+        return startOffset;
+    }
+
+    /**
+     * Get the offset after the last row that was processed. Every row
+     * before it was stored or reported; pass it to the importer to resume
+     * an incomplete import.
+     */
+    public long getNextOffset() {
+        return nextOffset;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getInsertedCount() {
+        return insertedCount;
+    }
+
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    /**
+     * Get the first {@value #MAX_REPORTED_FAILURES} rows that were not stored, in file order.
+     */
+    public List<Failure> getFailures() {
+        return Collections.unmodifiableList(failures);
+    }
+
+    /**
+     * Get why the import stopped before the end of the file.
+     *
+     * @return the error, or null if the whole file was processed
+     */
+    public String getError() {
+        return error;
+    }
+
+    public boolean isComplete() {
+        return error == null;
+    }
+
+    void setNextOffset(long nextOffset) {
+        this.nextOffset = nextOffset;
+    }
+
+    void addRowsRead(long rows) {
+        rowsRead += rows;
+    }
+
+    void addInserted(long count) {
+        insertedCount += count;
+    }
+
+    void addFailure(long offset, String reason) {
+        failedCount++;
+        if (failures.size() < MAX_REPORTED_FAILURES) {
+            failures.add(new Failure(offset, reason));
+        }
+    }
+
+    void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportResult{" +
+                "rows=" + rowsRead +
+                ", inserted=" + insertedCount +
+                ", failed=" + failedCount +
+                ", nextOffset=" + nextOffset +
+                (error != null ? ", error=" + error : "") +
+                '}';
+    }
+
+    /**
+     * A row that was not stored.
+     */
+    public static class Failure {
+        private final long offset;
+        private final String reason;
+
+        public Failure(long offset, String reason) {
+            this.offset = offset;
+            this.reason = reason;
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        @Override
+        public String toString() {
+            return "offset " + offset + ": " + reason;
+        }
+    }
+}
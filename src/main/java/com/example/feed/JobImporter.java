@@ -0,0 +1,370 @@
+package com.example.feed;
+
+import com.example.db.DBConnection;
+import com.example.model.BatchResult;
+import com.example.model.Job;
+import com.example.service.JobService;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Imports job postings for one company from a CSV or NDJSON feed.
+ *
+ * A reader thread streams the file through {@link RecordReader} and turns
+ * rows into jobs, validated like {@link JobService#postJob}. The calling
+ * thread stores them with {@link JobService#postJobs}, one transaction per
+ * batch. The two are connected by a small bounded queue, so the reader
+ * waits while the database is behind and memory use does not depend on the
+ * size of the file.
+ *
+ * Columns (CSV header names or NDJSON keys, case and underscores ignored):
+ * title, description, requirements, location, job_type, salary_range and
+ * deadline (YYYY-MM-DD). Invalid rows are reported and skipped. If a batch
+ * cannot be stored or the file cannot be read, the import stops and
+ * {@link ImportResult#getNextOffset()} tells where to resume once the
+ * problem is fixed; every row before it was stored or reported.
+ */
+public class JobImporter {
+
+    /** Batches read ahead of the database. */
+    private static final int QUEUE_CAPACITY = 4;
+    private static final long PROGRESS_LOG_ROWS = 100000;
+
+    private static final String[] REQUIRED_COLUMNS = {"title", "description", "location", "jobtype", "deadline"};
+    private static final Map<String, String> COLUMN_ALIASES = new HashMap<>();
+
+    static {
+        COLUMN_ALIASES.put("type", "jobtype");
+        COLUMN_ALIASES.put("salary", "salaryrange");
+    }
+
+    private final JobService jobService;
+    private final int companyId;
+
+    /**
+     * @param jobService the service to post the jobs through; its batch size
+     *                   is the number of rows per transaction
+     * @param companyId the company the jobs are posted for
+     */
+    public JobImporter(JobService jobService, int companyId) {
+        this.jobService = jobService;
+        this.companyId = companyId;
+    }
+
+    /**
+     * Import a feed file, starting at the given offset.
+     *
+     * @param file the CSV or NDJSON file, see {@link FeedFormat#forFile}
+     * @param startOffset 0, or {@link ImportResult#getNextOffset()} of an incomplete import of the same file
+     * @return the outcome
+     * @throws IOException if the file cannot be opened or a CSV header lacks a required column
+     */
+    public ImportResult importJobs(Path file, long startOffset) throws IOException {
+        FeedFormat format = FeedFormat.forFile(file);
+        List<String> columns = null;
+        long offset = startOffset;
+        if (format == FeedFormat.CSV) {
+            try (RecordReader headerReader = new RecordReader(file, 0, true)) {
+                String header = headerReader.next();
+                if (header == null) {
+                    return new ImportResult(startOffset);
+                }
+                columns = readHeader(header);
+                offset = Math.max(offset, headerReader.getPosition());
+            }
+        }
+
+        // Open on this thread so a bad file or offset is reported to the caller
+        RecordReader records = new RecordReader(file, offset, format == FeedFormat.CSV);
+        BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        Thread readerThread = new Thread(new Reader(records, columns, jobService.getBatchSize(), queue),
+            "job-import-reader");
+        readerThread.setDaemon(true);
+        readerThread.start();
+
+        ImportResult result = new ImportResult(offset);
+        long start = System.currentTimeMillis();
+        long nextProgressLog = PROGRESS_LOG_ROWS;
+        try {
+            while (true) {
+                Batch batch = queue.take();
+                if (!write(batch, result)) {
+                    break;
+                }
+                if (batch.error != null) {
+                    result.setError(batch.error);
+                    break;
+                }
+                if (result.getRowsRead() >= nextProgressLog) {
+                    System.out.println("[import] ... " + result.getRowsRead() + " rows, "
+                        + result.getInsertedCount() + " inserted");
+                    nextProgressLog += PROGRESS_LOG_ROWS;
+                }
+                if (batch.last) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.setError("Interrupted");
+        } finally {
+            // Unblocks and stops the reader if the import ended early
+            readerThread.interrupt();
+        }
+
+        System.out.println("[import] Imported " + result.getInsertedCount() + " of " + result.getRowsRead()
+            + " rows from " + file.getFileName() + " in " + (System.currentTimeMillis() - start) + " ms, "
+            + result.getFailedCount() + " failed");
+        if (!result.isComplete()) {
+            System.err.println("[import] Stopped: " + result.getError() + "; resume from offset "
+                + result.getNextOffset());
+        }
+        return result;
+    }
+
+    /**
+     * Store the jobs of a batch and add its outcome to the result.
+     *
+     * @return false if the batch was rolled back and the import must stop
+     */
+    private boolean write(Batch batch, ImportResult result) {
+        BatchResult stored = batch.jobs.isEmpty() ? new BatchResult() : jobService.postJobs(batch.jobs);
+        if (stored.isRolledBack()) {
+            String reason = stored.getFailures().isEmpty() ? "unknown error" : stored.getFailures().get(0).getReason();
+            result.setError("Batch at offset " + batch.startOffset + " was rolled back: " + reason);
+            return false;
+        }
+
+        List<ImportResult.Failure> failures = new ArrayList<>(batch.invalid);
+        for (BatchResult.Failure failure : stored.getFailures()) {
+            failures.add(new ImportResult.Failure(batch.jobOffsets.get(failure.getIndex()), failure.getReason()));
+        }
+        Collections.sort(failures, (a, b) -> Long.compare(a.getOffset(), b.getOffset()));
+        for (ImportResult.Failure failure : failures) {
+            result.addFailure(failure.getOffset(), failure.getReason());
+        }
+        result.addRowsRead(batch.rows);
+        result.addInserted(stored.getInsertedCount());
+        result.setNextOffset(batch.endOffset);
+        return true;
+    }
+
+    private static List<String> readHeader(String header) throws IOException {
+        List<String> columns = new ArrayList<>();
+        try {
+            for (String name : Csv.parseRecord(header)) {
+                columns.add(normalizeColumn(name));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Malformed CSV header: " + e.getMessage());
+        }
+        List<String> missing = new ArrayList<>();
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.contains(required)) {
+                missing.add(required);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IOException("CSV header lacks the column(s) " + missing);
+        }
+        return columns;
+    }
+
+    /**
+     * Turn "Job Type", "job_type" and "jobType" into "jobtype".
+     */
+    private static String normalizeColumn(String name) {
+        String key = name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
+        String alias = COLUMN_ALIASES.get(key);
+        return alias != null ? alias : key;
+    }
+
+    /**
+     * Rows read from the file and turned into jobs, waiting to be stored.
+     */
+    private static class Batch {
+        final List<Job> jobs = new ArrayList<>();
+        final List<Long> jobOffsets = new ArrayList<>();
+        final List<ImportResult.Failure> invalid = new ArrayList<>();
+        long startOffset;
+        long endOffset;
+        int rows;
+        boolean last;
+        String error;
+    }
+
+    /**
+     * Reads the file into batches on its own thread.
+     */
+    private class Reader implements Runnable {
+        private final RecordReader records;
+        private final List<String> columns;
+        private final int batchSize;
+        private final BlockingQueue<Batch> queue;
+
+        Reader(RecordReader records, List<String> columns, int batchSize, BlockingQueue<Batch> queue) {
+            this.records = records;
+            this.columns = columns;
+            this.batchSize = batchSize;
+            this.queue = queue;
+        }
+
+        @Override
+        public void run() {
+            try (RecordReader in = records) {
+                Batch batch = newBatch();
+                try {
+                    String record;
+                    while ((record = in.next()) != null) {
+                        addRow(batch, record, in.getRecordOffset());
+                        batch.endOffset = in.getPosition();
+                        if (batch.rows >= batchSize) {
+                            queue.put(batch);
+                            batch = newBatch();
+                        }
+                    }
+                    batch.last = true;
+                } catch (IOException e) {
+                    batch.error = e.getMessage();
+                } catch (RuntimeException e) {
+                    // Still hand over a batch, or the importer would wait forever
+                    e.printStackTrace();
+                    batch.error = "Reading failed: " + e;
+                }
+                queue.put(batch);
+            } catch (InterruptedException e) {
+                // The import ended early; nobody is waiting for more batches
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+
+        private Batch newBatch() {
+            Batch batch = new Batch();
+            batch.startOffset = records.getPosition();
+            batch.endOffset = batch.startOffset;
+            return batch;
+        }
+
+        private void addRow(Batch batch, String record, long offset) {
+            batch.rows++;
+            try {
+                Job job = toJob(columns != null ? csvValues(record) : jsonValues(record));
+                String problem = JobService.validateJob(job);
+                if (problem != null) {
+                    batch.invalid.add(new ImportResult.Failure(offset, problem));
+                    return;
+                }
+                batch.jobs.add(job);
+                batch.jobOffsets.add(offset);
+            } catch (IllegalArgumentException e) {
+                batch.invalid.add(new ImportResult.Failure(offset, e.getMessage()));
+            }
+        }
+
+        private Map<String, String> csvValues(String record) {
+            List<String> fields = Csv.parseRecord(record);
+            if (fields.size() != columns.size()) {
+                throw new IllegalArgumentException("Expected " + columns.size() + " fields, found " + fields.size());
+            }
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                values.put(columns.get(i), fields.get(i));
+            }
+            return values;
+        }
+
+        private Map<String, String> jsonValues(String record) {
+            Map<String, String> values = new HashMap<>();
+            try {
+                for (Map.Entry<String, String> entry : Json.parseObject(record).entrySet()) {
+                    values.put(normalizeColumn(entry.getKey()), entry.getValue());
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Malformed JSON: " + e.getMessage());
+            }
+            return values;
+        }
+
+        private Job toJob(Map<String, String> values) {
+            Job job = new Job();
+            job.setCompanyId(companyId);
+            job.setTitle(trim(values.get("title")));
+            job.setDescription(trim(values.get("description")));
+            job.setRequirements(trim(values.get("requirements")));
+            job.setLocation(trim(values.get("location")));
+            job.setSalaryRange(trim(values.get("salaryrange")));
+
+            String jobType = trim(values.get("jobtype"));
+            if (jobType != null && !jobType.isEmpty()) {
+                try {
+                    String name = jobType.toUpperCase(Locale.ROOT).replace(' ', '_').replace('-', '_');
+                    job.setJobType(Job.JobType.valueOf(name));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Invalid job type: " + jobType);
+                }
+            }
+            String deadline = trim(values.get("deadline"));
+            if (deadline != null && !deadline.isEmpty()) {
+                try {
+                    job.setDeadline(java.sql.Date.valueOf(deadline));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Invalid deadline, use YYYY-MM-DD: " + deadline);
+                }
+            }
+            return job;
+        }
+
+        private String trim(String value) {
+            return value != null ? value.trim() : null;
+        }
+    }
+
+    /**
+     * Import a feed from the command line:
+     * {@code JobImporter <companyId> <file> [<offset>]}.
+     * Exits with status 1 if the import stopped before the end of the file,
+     * after printing the offset to resume from.
+     */
+    public static void main(String[] args) {
+        if (args.length < 2 || args.length > 3) {
+            System.out.println("Usage: JobImporter <companyId> <file.csv|file.ndjson> [<offset>]");
+            System.out.println("The database is chosen with -Djobportal.db.backend (see DatabaseBackend).");
+            System.exit(2);
+        }
+        long startOffset = args.length > 2 ? Long.parseLong(args[2]) : 0;
+        int status = 0;
+        try {
+            JobImporter importer = new JobImporter(new JobService(), Integer.parseInt(args[0]));
+            ImportResult result = importer.importJobs(Paths.get(args[1]), startOffset);
+            for (ImportResult.Failure failure : result.getFailures()) {
+                System.out.println(failure);
+            }
+            if (result.getFailedCount() > result.getFailures().size()) {
+                System.out.println("... and " + (result.getFailedCount() - result.getFailures().size()) + " more");
+            }
+            System.out.println(result);
+            if (!result.isComplete()) {
+                System.err.println("[import] Stopped: " + result.getError()
+                    + "; resume with offset " + result.getNextOffset());
+                status = 1;
+            }
+        } catch (IOException e) {
+            // Nothing was stored, so the import resumes where it started
+            System.err.println("[import] " + e.getMessage() + "; resume with offset " + startOffset);
+            status = 1;
+        } finally {
+            DBConnection.shutdown();
+        }
+        System.exit(status);
+    }
+}
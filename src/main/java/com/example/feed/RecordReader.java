@@ -0,0 +1,146 @@
+package com.example.feed;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads a UTF-8 feed file one record at a time through a FileChannel and a
+ * fixed buffer, so only the current record is held in memory.
+ *
+ * A record ends at a line break. For CSV, line breaks inside double quotes
+ * belong to the record. The byte offset of every record is tracked, so a
+ * reader can be opened at the offset where an earlier one stopped.
+ */
+public class RecordReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    /** Longest record accepted, to stop an unbalanced quote from reading the whole file into memory. */
+    public static final int MAX_RECORD_BYTES = 1024 * 1024;
+
+    private final FileChannel channel;
+    private final boolean quotedLineBreaks;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private byte[] record = new byte[1024];
+    private long position;
+    private long recordOffset;
+    private boolean eof;
+
+    /**
+     * Open a file at the given offset.
+     *
+     * @param file the file to read
+     * @param offset the byte offset of the first record to read; must be a record boundary
+     * @param quotedLineBreaks whether line breaks inside double quotes belong to the record (CSV)
+     * @throws IOException if the file cannot be opened or the offset is past its end
+     */
+    public RecordReader(Path file, long offset, boolean quotedLineBreaks) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.quotedLineBreaks = quotedLineBreaks;
+        long size = channel.size();
+        if (offset < 0 || offset > size) {
+            channel.close();
+            throw new IOException("Offset " + offset + " is outside " + file + " (" + size + " bytes)");
+        }
+        channel.position(offset);
+        this.position = offset;
+        buffer.flip();
+        if (offset == 0) {
+            skipByteOrderMark();
+        }
+    }
+
+    /**
+     * Read the next non-blank record.
+     *
+     * @return the record without its line break, or null at the end of the file
+     * @throws IOException if reading fails or a record is longer than {@link #MAX_RECORD_BYTES}
+     */
+    public String next() throws IOException {
+        while (true) {
+            recordOffset = position;
+            int length = 0;
+            boolean inQuotes = false;
+            boolean complete = false;
+            while (!complete) {
+                if (!buffer.hasRemaining() && !fill()) {
+                    break;
+                }
+                byte b = buffer.get();
+                position++;
+                // Quote and line feed bytes never occur inside a multi-byte UTF-8 sequence
+                if (b == '"' && quotedLineBreaks) {
+                    inQuotes = !inQuotes;
+                } else if (b == '\n' && !inQuotes) {
+                    complete = true;
+                    continue;
+                }
+                if (length == record.length) {
+                    if (length >= MAX_RECORD_BYTES) {
+                        throw new IOException("Record at offset " + recordOffset + " is longer than "
+                            + MAX_RECORD_BYTES + " bytes" + (inQuotes ? " (unbalanced quote?)" : ""));
+                    }
+                    record = Arrays.copyOf(record, Math.min(length * 2, MAX_RECORD_BYTES));
+                }
+                record[length++] = b;
+            }
+            if (!complete && length == 0) {
+                return null;
+            }
+            if (length > 0 && record[length - 1] == '\r') {
+                length--;
+            }
+            String text = new String(record, 0, length, StandardCharsets.UTF_8);
+            if (!text.trim().isEmpty()) {
+                return text;
+            }
+        }
+    }
+
+    /**
+     * Get the byte offset where the last record returned by {@link #next()} starts.
+     */
+    public long getRecordOffset() {
+        return recordOffset;
+    }
+
+    /**
+     * Get the byte offset after the last record read, where reading would continue.
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+        buffer.clear();
+        int read = channel.read(buffer);
+        buffer.flip();
+        if (read <= 0) {
+            eof = true;
+            return false;
+        }
+        return true;
+    }
+
+    private void skipByteOrderMark() throws IOException {
+        fill();
+        if (buffer.remaining() >= 3 && (buffer.get(0) & 0xFF) == 0xEF
+                && (buffer.get(1) & 0xFF) == 0xBB && (buffer.get(2) & 0xFF) == 0xBF) {
+            buffer.position(3);
+            position = 3;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -117,9 +117,8 @@ public class AdminDashboard extends JPanel {
         settingsButton.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                JOptionPane.showMessageDialog(AdminDashboard.this, 
-                    "System settings features will be implemented.", 
-                    "Feature Not Implemented", JOptionPane.INFORMATION_MESSAGE);
+                SystemMonitorDialog dialog = new SystemMonitorDialog(mainFrame);
+                dialog.setVisible(true);
             }
         });
         gbc.gridx = 1;
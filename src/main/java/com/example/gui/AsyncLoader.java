@@ -0,0 +1,248 @@
+package com.example.gui;
+
+import javax.swing.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs service calls off the Event Dispatch Thread and delivers their
+ * results back on it, so the UI stays responsive while the database works.
+ *
+ * Every load is submitted under a key. Submitting a new load for a key
+ * supersedes the previous one: it is cancelled if it has not started yet,
+ * and its result is dropped if it has. That suits reads, where only the
+ * latest result matters. Writes go through {@link #submit} instead, which
+ * never supersedes or cancels anything and always reports its outcome.
+ * A busy indicator is shown while any task of this loader is running.
+ *
+ * All methods must be called on the Event Dispatch Thread.
+ */
+public class AsyncLoader {
+
+    private static final int WORKER_THREADS = 4;
+    private static final int MAX_QUEUED_TASKS = 100;
+
+    /** Shared by all loaders so the number of concurrent queries stays bounded. */
+    private static final ExecutorService EXECUTOR = createExecutor();
+
+    private final JComponent busyIndicator;
+    private final Map<String, Object> currentTokens = new HashMap<>();
+    private final Map<String, Future<?>> currentFutures = new HashMap<>();
+    private int running;
+
+    /**
+     * Create a loader without a busy indicator.
+     */
+    public AsyncLoader() {
+        this(null);
+    }
+
+    /**
+     * Create a loader that shows the given component while loads are running.
+     *
+     * @param busyIndicator the component to show, or null
+     */
+    public AsyncLoader(JComponent busyIndicator) {
+        this.busyIndicator = busyIndicator;
+        if (busyIndicator != null) {
+            busyIndicator.setVisible(false);
+        }
+    }
+
+    /**
+     * Create the standard loading indicator used by the dashboards.
+     *
+     * @return an indeterminate progress bar labelled "Loading..."
+     */
+    public static JProgressBar createBusyIndicator() {
+        JProgressBar progressBar = new JProgressBar();
+        progressBar.setIndeterminate(true);
+        progressBar.setStringPainted(true);
+        progressBar.setString("Loading...");
+        return progressBar;
+    }
+
+    /**
+     * Run a task in the background, printing any failure.
+     *
+     * @param key the key identifying what is being loaded
+     * @param task the task to run off the EDT
+     * @param onSuccess called on the EDT with the result, unless superseded
+     */
+    public <T> void load(String key, Callable<T> task, Consumer<T> onSuccess) {
+        load(key, task, onSuccess, new Consumer<Exception>() {
+            @Override
+            public void accept(Exception e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    /**
+     * Run a task in the background.
+     *
+     * @param key the key identifying what is being loaded
+     * @param task the task to run off the EDT
+     * @param onSuccess called on the EDT with the result, unless superseded
+     * @param onError called on the EDT if the task fails, unless superseded
+     */
+    public <T> void load(final String key, final Callable<T> task,
+                         final Consumer<T> onSuccess, final Consumer<Exception> onError) {
+        cancel(key);
+
+        final Object token = new Object();
+        currentTokens.put(key, token);
+        setRunning(running + 1);
+
+        Runnable work = new Runnable() {
+            @Override
+            public void run() {
+                T result = null;
+                Exception failure = null;
+                try {
+                    result = task.call();
+                } catch (Exception e) {
+                    failure = e;
+                }
+                deliver(key, token, result, failure, onSuccess, onError);
+            }
+        };
+
+        try {
+            currentFutures.put(key, EXECUTOR.submit(work));
+        } catch (RejectedExecutionException e) {
+            currentTokens.remove(key);
+            setRunning(running - 1);
+            onError.accept(e);
+        }
+    }
+
+    /**
+     * Run a write in the background. Unlike a load it is never superseded
+     * or cancelled, not even by {@link #cancelAll()}, so its result or
+     * error is always delivered. Disable whatever triggered the write until
+     * then, so it is not submitted twice.
+     *
+     * @param task the task to run off the EDT
+     * @param onSuccess called on the EDT with the result
+     * @param onError called on the EDT if the task fails or cannot be queued
+     */
+    public <T> void submit(final Callable<T> task, final Consumer<T> onSuccess, final Consumer<Exception> onError) {
+        setRunning(running + 1);
+
+        Runnable work = new Runnable() {
+            @Override
+            public void run() {
+                T result = null;
+                Exception failure = null;
+                try {
+                    result = task.call();
+                } catch (Exception e) {
+                    failure = e;
+                }
+                final T finalResult = result;
+                final Exception finalFailure = failure;
+                SwingUtilities.invokeLater(new Runnable() {
+                    @Override
+                    public void run() {
+                        setRunning(running - 1);
+                        if (finalFailure != null) {
+                            onError.accept(finalFailure);
+                        } else {
+                            onSuccess.accept(finalResult);
+                        }
+                    }
+                });
+            }
+        };
+
+        try {
+            EXECUTOR.submit(work);
+        } catch (RejectedExecutionException e) {
+            setRunning(running - 1);
+            onError.accept(e);
+        }
+    }
+
+    /**
+     * Cancel the load running under the given key, if any.
+     *
+     * @param key the key
+     */
+    public void cancel(String key) {
+        if (currentTokens.remove(key) != null) {
+            setRunning(running - 1);
+        }
+        Future<?> future = currentFutures.remove(key);
+        if (future != null) {
+            // Never interrupt: an interrupted JDBC call can leave the pooled connection unusable
+            future.cancel(false);
+        }
+    }
+
+    /**
+     * Cancel all loads of this loader, e.g. when its window closes.
+     * Submitted writes are not affected.
+     */
+    public void cancelAll() {
+        for (String key : currentTokens.keySet().toArray(new String[0])) {
+            cancel(key);
+        }
+    }
+
+    private <T> void deliver(final String key, final Object token, final T result, final Exception failure,
+                             final Consumer<T> onSuccess, final Consumer<Exception> onError) {
+        SwingUtilities.invokeLater(new Runnable() {
+            @Override
+            public void run() {
+                if (currentTokens.get(key) != token) {
+                    // Superseded or cancelled while running
+                    return;
+                }
+                currentTokens.remove(key);
+                currentFutures.remove(key);
+                setRunning(running - 1);
+
+                if (failure != null) {
+                    onError.accept(failure);
+                } else {
+                    onSuccess.accept(result);
+                }
+            }
+        });
+    }
+
+    private void setRunning(int running) {
+        this.running = running;
+        if (busyIndicator != null) {
+            busyIndicator.setVisible(running > 0);
+        }
+    }
+
+    private static ExecutorService createExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(WORKER_THREADS, WORKER_THREADS,
+            30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(MAX_QUEUED_TASKS),
+            new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "ui-loader-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -1,7 +1,12 @@
 package com.example.gui;
 
+import com.example.feed.ApplicationExporter;
+import com.example.feed.ImportResult;
+import com.example.feed.JobImporter;
+import com.example.jfr.DashboardRefreshEvent;
 import com.example.model.Application;
 import com.example.model.Job;
+import com.example.model.JobSummary;
 import com.example.service.ApplicationService;
 import com.example.service.JobService;
 import com.example.util.SessionManager;
@@ -9,6 +14,9 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.nio.file.Path;
 import java.util.List;
 
 /**
@@ -23,13 +31,16 @@ public class CompanyDashboard extends JPanel {
     private ApplicationService applicationService;
     private JTabbedPane tabbedPane;
     private JComponent myJobsPanel;
-    private JPanel jobsListPanel;
-    private JScrollPane jobsScrollPane;
+    private PagedJobTable jobTable;
+    private JProgressBar busyIndicator;
+    private AsyncLoader loader;
     
     public CompanyDashboard(MainFrame mainFrame) {
         this.mainFrame = mainFrame;
         this.jobService = new JobService();
         this.applicationService = new ApplicationService();
+        this.busyIndicator = AsyncLoader.createBusyIndicator();
+        this.loader = new AsyncLoader(busyIndicator);
         initializeUI();
     }
     
@@ -46,6 +57,11 @@ public class CompanyDashboard extends JPanel {
         welcomeLabel.setFont(new Font("Arial", Font.BOLD, 14));
         topPanel.add(welcomeLabel, BorderLayout.WEST);
         
+        JPanel busyPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        busyPanel.setOpaque(false);
+        busyPanel.add(busyIndicator);
+        topPanel.add(busyPanel, BorderLayout.CENTER);
+        
         JButton logoutButton = new JButton("Logout");
         logoutButton.addActionListener(new ActionListener() {
             @Override
@@ -199,7 +215,7 @@ public class CompanyDashboard extends JPanel {
             @Override
             public void actionPerformed(ActionEvent e) {
                 handlePostJob(jobTitleField, locationField, jobTypeCombo, salaryField, 
-                             deadlineField, descArea, reqArea, messageLabel);
+                             deadlineField, descArea, reqArea, messageLabel, postButton);
             }
         });
         gbc.gridx = 0;
@@ -207,12 +223,70 @@ public class CompanyDashboard extends JPanel {
         gbc.gridwidth = 1;
         panel.add(postButton, gbc);
         
+        // Import button
+        JButton importButton = new JButton("Import Jobs...");
+        importButton.setToolTipText("Post all jobs from a CSV or NDJSON file");
+        importButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                handleImportJobs(panel, importButton);
+            }
+        });
+        gbc.gridx = 1;
+        gbc.fill = GridBagConstraints.NONE;
+        gbc.anchor = GridBagConstraints.WEST;
+        panel.add(importButton, gbc);
+        
         return new JScrollPane(panel);
     }
     
+    private void handleImportJobs(Component parent, JButton importButton) {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter(
+            "Job feeds (CSV, NDJSON)", "csv", "ndjson", "jsonl", "json"));
+        if (chooser.showOpenDialog(parent) == JFileChooser.APPROVE_OPTION) {
+            importJobs(parent, importButton, chooser.getSelectedFile().toPath(), 0);
+        }
+    }
+    
+    private void importJobs(Component parent, JButton importButton, Path file, long offset) {
+        JobImporter importer = new JobImporter(jobService, SessionManager.getInstance().getCurrentUserId());
+        importButton.setEnabled(false);
+        loader.submit(() -> importer.importJobs(file, offset), result -> {
+            importButton.setEnabled(true);
+            StringBuilder message = new StringBuilder();
+            message.append("Imported ").append(result.getInsertedCount()).append(" of ")
+                .append(result.getRowsRead()).append(" jobs.");
+            List<ImportResult.Failure> failures = result.getFailures();
+            for (int i = 0; i < failures.size() && i < 10; i++) {
+                message.append("\n").append(failures.get(i));
+            }
+            if (result.getFailedCount() > 10) {
+                message.append("\n... ").append(result.getFailedCount() - 10).append(" more failed rows");
+            }
+            refreshMyJobs();
+            if (result.isComplete()) {
+                JOptionPane.showMessageDialog(parent, message.toString(), "Import Finished",
+                    result.getFailedCount() == 0 ? JOptionPane.INFORMATION_MESSAGE : JOptionPane.WARNING_MESSAGE);
+                return;
+            }
+            message.append("\n\nThe import stopped: ").append(result.getError())
+                .append("\nResume from where it stopped?");
+            if (JOptionPane.showConfirmDialog(parent, message.toString(), "Import Stopped",
+                    JOptionPane.YES_NO_OPTION, JOptionPane.ERROR_MESSAGE) == JOptionPane.YES_OPTION) {
+                importJobs(parent, importButton, file, result.getNextOffset());
+            }
+        }, error -> {
+            importButton.setEnabled(true);
+            error.printStackTrace();
+            JOptionPane.showMessageDialog(parent, "Import failed: " + error.getMessage(), "Error",
+                JOptionPane.ERROR_MESSAGE);
+        });
+    }
+    
     private void handlePostJob(JTextField jobTitleField, JTextField locationField, JComboBox<String> jobTypeCombo,
                               JTextField salaryField, JTextField deadlineField, JTextArea descArea, 
-                              JTextArea reqArea, JLabel messageLabel) {
+                              JTextArea reqArea, JLabel messageLabel, JButton postButton) {
         String title = jobTitleField.getText().trim();
         String location = locationField.getText().trim();
         String jobType = (String) jobTypeCombo.getSelectedItem();
@@ -237,19 +311,28 @@ public class CompanyDashboard extends JPanel {
             job.setDescription(description);
             job.setRequirements(requirements);
             
-            if (jobService.postJob(job)) {
-                JOptionPane.showMessageDialog(null, "Job posted successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-                jobTitleField.setText("");
-                locationField.setText("");
-                salaryField.setText("");
-                deadlineField.setText("");
-                descArea.setText("");
-                reqArea.setText("");
-                messageLabel.setText("");
-                refreshMyJobs();
-            } else {
+            messageLabel.setText("");
+            postButton.setEnabled(false);
+            loader.submit(() -> jobService.postJob(job), posted -> {
+                postButton.setEnabled(true);
+                if (posted) {
+                    JOptionPane.showMessageDialog(null, "Job posted successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+                    jobTitleField.setText("");
+                    locationField.setText("");
+                    salaryField.setText("");
+                    deadlineField.setText("");
+                    descArea.setText("");
+                    reqArea.setText("");
+                    messageLabel.setText("");
+                    refreshMyJobs();
+                } else {
+                    messageLabel.setText("Failed to post job");
+                }
+            }, error -> {
+                postButton.setEnabled(true);
+                error.printStackTrace();
                 messageLabel.setText("Failed to post job");
-            }
+            });
         } catch (IllegalArgumentException ex) {
             messageLabel.setText("Invalid date format. Use YYYY-MM-DD");
         }
@@ -271,86 +354,96 @@ public class CompanyDashboard extends JPanel {
         buttonPanel.add(refreshButton);
         panel.add(buttonPanel, BorderLayout.NORTH);
         
-        // Jobs list
-        jobsScrollPane = new JScrollPane();
-        jobsListPanel = new JPanel();
-        jobsListPanel.setLayout(new BoxLayout(jobsListPanel, BoxLayout.Y_AXIS));
-        jobsListPanel.setBackground(Color.WHITE);
-        jobsScrollPane.setViewportView(jobsListPanel);
-        
-        panel.add(jobsScrollPane, BorderLayout.CENTER);
+        // Jobs table
+        jobTable = new PagedJobTable(loader, "myJobs", true,
+            "You haven't posted any jobs yet. Click the 'Post Job' tab to get started!");
+        jobTable.addRowAction("View Applications", this::openApplicationsDialog);
+        panel.add(jobTable, BorderLayout.CENTER);
         
         return panel;
     }
     
     private void refreshMyJobs() {
-        // Guard against null panel (in case called before initialization)
-        if (jobsListPanel == null) {
-            return;
-        }
-        
-        List<Job> jobs = jobService.getJobsByCompanyId(SessionManager.getInstance().getCurrentUserId());
-        
-        jobsListPanel.removeAll();
-        
-        if (jobs.isEmpty()) {
-            JLabel emptyLabel = new JLabel("You haven't posted any jobs yet. Click the 'Post Job' tab to get started!");
-            emptyLabel.setFont(new Font("Arial", Font.ITALIC, 12));
-            emptyLabel.setForeground(Color.GRAY);
-            jobsListPanel.add(emptyLabel);
-        } else {
-            for (Job job : jobs) {
-                JPanel jobPanel = createJobItemPanel(job);
-                jobsListPanel.add(jobPanel);
-            }
-        }
-        
-        jobsListPanel.revalidate();
-        jobsListPanel.repaint();
+        DashboardRefreshEvent event = DashboardRefreshEvent.begin("CompanyDashboard.refreshMyJobs");
+        final int companyId = SessionManager.getInstance().getCurrentUserId();
+        jobTable.reload(cursor -> jobService.getJobsPageByCompanyId(companyId, cursor), event::finish);
     }
     
-    private JPanel createJobItemPanel(Job job) {
-        JPanel panel = new JPanel(new BorderLayout());
-        panel.setBackground(Color.LIGHT_GRAY);
-        panel.setBorder(BorderFactory.createLineBorder(Color.BLACK, 1));
-        panel.setMaximumSize(new Dimension(Integer.MAX_VALUE, 80));
-        panel.setPreferredSize(new Dimension(0, 80));
-        
-        JLabel titleLabel = new JLabel(job.getTitle() + " (" + (job.isActive() ? "Active" : "Inactive") + ")");
-        titleLabel.setFont(new Font("Arial", Font.BOLD, 12));
+    private void openApplicationsDialog(JobSummary job) {
+        JDialog dialog = new JDialog(mainFrame, "Applications for " + job.getTitle(), true);
+        dialog.setSize(600, 400);
+        dialog.setLocationRelativeTo(mainFrame);
         
-        JLabel infoLabel = new JLabel("Location: " + job.getLocation() + " | Type: " + job.getJobType() + " | Deadline: " + job.getDeadline());
+        JProgressBar dialogBusyIndicator = AsyncLoader.createBusyIndicator();
+        AsyncLoader dialogLoader = new AsyncLoader(dialogBusyIndicator);
+        dialog.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                dialogLoader.cancelAll();
+            }
+        });
+        dialog.setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE);
         
-        JPanel infoPanel = new JPanel(new GridLayout(2, 1));
-        infoPanel.setBackground(Color.LIGHT_GRAY);
-        infoPanel.add(titleLabel);
-        infoPanel.add(infoLabel);
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.add(dialogBusyIndicator, BorderLayout.NORTH);
+        JScrollPane scrollPane = new JScrollPane();
+        JPanel appListPanel = new JPanel();
+        appListPanel.setLayout(new BoxLayout(appListPanel, BoxLayout.Y_AXIS));
         
-        panel.add(infoPanel, BorderLayout.WEST);
+        scrollPane.setViewportView(appListPanel);
+        panel.add(scrollPane, BorderLayout.CENTER);
         
-        JButton viewApplicationsButton = new JButton("View Applications");
-        viewApplicationsButton.addActionListener(new ActionListener() {
+        JButton exportButton = new JButton("Export...");
+        exportButton.setToolTipText("Save all applications for this job as CSV or NDJSON");
+        exportButton.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                openApplicationsDialog(job);
+                handleExportApplications(dialog, exportButton, job);
             }
         });
-        panel.add(viewApplicationsButton, BorderLayout.EAST);
+        JPanel exportPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        exportPanel.add(exportButton);
+        panel.add(exportPanel, BorderLayout.SOUTH);
         
-        return panel;
+        dialog.add(panel);
+        
+        // Start loading before the modal dialog blocks this call
+        dialogLoader.load("applications",
+            () -> applicationService.getApplicationsByJobId(job.getJobId()),
+            applications -> showApplications(dialog, dialogLoader, appListPanel, applications));
+        dialog.setVisible(true);
     }
     
-    private void openApplicationsDialog(Job job) {
-        List<Application> applications = applicationService.getApplicationsByJobId(job.getJobId());
-        
-        JDialog dialog = new JDialog(mainFrame, "Applications for " + job.getTitle(), true);
-        dialog.setSize(600, 400);
-        dialog.setLocationRelativeTo(mainFrame);
-        
-        JPanel panel = new JPanel(new BorderLayout());
-        JScrollPane scrollPane = new JScrollPane();
-        JPanel appListPanel = new JPanel();
-        appListPanel.setLayout(new BoxLayout(appListPanel, BoxLayout.Y_AXIS));
+    private void handleExportApplications(Component parent, JButton exportButton, JobSummary job) {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter(
+            "CSV or NDJSON", "csv", "ndjson", "jsonl", "json"));
+        chooser.setSelectedFile(new java.io.File("applications-" + job.getJobId() + ".csv"));
+        if (chooser.showSaveDialog(parent) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        Path file = chooser.getSelectedFile().toPath();
+        ApplicationExporter exporter = new ApplicationExporter(applicationService);
+        exportButton.setEnabled(false);
+        // Uses the dashboard's loader so the export is reported even if the dialog is closed
+        loader.submit(() -> exporter.exportApplications(job.getJobId(), file),
+            count -> {
+                exportButton.setEnabled(true);
+                JOptionPane.showMessageDialog(parent.isShowing() ? parent : this,
+                    "Exported " + count + " applications to " + file.getFileName(), "Export Finished",
+                    JOptionPane.INFORMATION_MESSAGE);
+            },
+            error -> {
+                exportButton.setEnabled(true);
+                error.printStackTrace();
+                JOptionPane.showMessageDialog(parent.isShowing() ? parent : this,
+                    "Export failed: " + error.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            });
+    }
+    
+    private void showApplications(JDialog dialog, AsyncLoader dialogLoader, JPanel appListPanel,
+                                  List<Application> applications) {
+        appListPanel.removeAll();
         
         if (applications.isEmpty()) {
             JLabel emptyLabel = new JLabel("No applications yet for this job.");
@@ -372,9 +465,24 @@ public class CompanyDashboard extends JPanel {
                 updateButton.addActionListener(new ActionListener() {
                     @Override
                     public void actionPerformed(ActionEvent e) {
-                        applicationService.updateApplicationStatus(app.getApplicationId(), 
-                            Application.ApplicationStatus.valueOf((String) statusCombo.getSelectedItem()));
-                        JOptionPane.showMessageDialog(dialog, "Status updated successfully!");
+                        Application.ApplicationStatus status =
+                            Application.ApplicationStatus.valueOf((String) statusCombo.getSelectedItem());
+                        updateButton.setEnabled(false);
+                        // Reported even if the dialog was closed meanwhile, since a write may have failed
+                        dialogLoader.submit(
+                            () -> applicationService.updateApplicationStatus(app.getApplicationId(), status),
+                            updated -> {
+                                updateButton.setEnabled(true);
+                                JOptionPane.showMessageDialog(dialog.isShowing() ? dialog : CompanyDashboard.this,
+                                    updated ? "Status updated successfully!" : "Failed to update status");
+                            },
+                            error -> {
+                                updateButton.setEnabled(true);
+                                error.printStackTrace();
+                                JOptionPane.showMessageDialog(dialog.isShowing() ? dialog : CompanyDashboard.this,
+                                    "Failed to update status: " + error.getMessage(), "Error",
+                                    JOptionPane.ERROR_MESSAGE);
+                            });
                     }
                 });
                 appPanel.add(updateButton);
@@ -383,10 +491,7 @@ public class CompanyDashboard extends JPanel {
             }
         }
         
-        scrollPane.setViewportView(appListPanel);
-        panel.add(scrollPane, BorderLayout.CENTER);
-        
-        dialog.add(panel);
-        dialog.setVisible(true);
+        appListPanel.revalidate();
+        appListPanel.repaint();
     }
 }
@@ -0,0 +1,377 @@
+package com.example.gui;
+
+import com.example.util.JmxUtils;
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Watchdog that reports events blocking the Event Dispatch Thread.
+ *
+ * An {@link EventQueue} installed in front of the system queue timestamps
+ * every event it dispatches. While enabled, a sampler thread checks the
+ * event in flight a few times per threshold and captures the EDT stack
+ * once an event has run longer than the threshold, so the report shows
+ * what the EDT was doing during the stall rather than after it. When an
+ * event ends up over the threshold it is logged and counted against the
+ * application frame it was stalled in; the worst offenders are kept.
+ *
+ * When disabled, dispatching costs one volatile read per event and the
+ * sampler thread is stopped. Events that pump a nested event loop (modal
+ * dialogs) only count the time until the nested loop starts and after it
+ * ends.
+ */
+public class EdtWatchdog implements EdtWatchdogMXBean {
+
+    public static final String ENABLED_PROPERTY = "jobportal.edtWatchdog.enabled";
+    public static final String THRESHOLD_PROPERTY = "jobportal.edtWatchdog.thresholdMillis";
+    public static final String MBEAN_NAME = "com.example.gui:type=EdtWatchdog";
+    private static final long DEFAULT_THRESHOLD_MILLIS = 200;
+    /** Samples per threshold period; bounds how late a stall is noticed. */
+    private static final int SAMPLES_PER_THRESHOLD = 4;
+    private static final long MIN_SAMPLE_INTERVAL_MILLIS = 10;
+    private static final int MAX_OFFENDERS = 50;
+    private static final int MAX_LOGGED_FRAMES = 15;
+
+    private static final EdtWatchdog INSTANCE = new EdtWatchdog();
+
+    private volatile boolean enabled;
+    private volatile long thresholdMillis = DEFAULT_THRESHOLD_MILLIS;
+    private ScheduledExecutorService sampler;
+    private boolean installed;
+
+    // The event in flight, written by the EDT and read by the sampler
+    private volatile Thread dispatchThread;
+    private volatile AWTEvent currentEvent;
+    private volatile long currentStartNanos;
+    private volatile StackTraceElement[] capturedStack;
+
+    private final LongAdder events = new LongAdder();
+    private final LongAdder stalls = new LongAdder();
+    private final Map<String, Offender> offenders = new HashMap<>();
+    private long maxStallMillis;
+
+    private EdtWatchdog() {
+    }
+
+    public static EdtWatchdog getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Install the watchdog's event queue and register it with JMX.
+     * Whether it starts enabled, and its threshold, come from
+     * {@value #ENABLED_PROPERTY} (default true) and
+     * {@value #THRESHOLD_PROPERTY} (default 200 ms).
+     */
+    public static synchronized void install() {
+        if (INSTANCE.installed) {
+            return;
+        }
+        INSTANCE.installed = true;
+        INSTANCE.thresholdMillis = Long.getLong(THRESHOLD_PROPERTY, DEFAULT_THRESHOLD_MILLIS);
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(INSTANCE.new WatchdogQueue());
+        JmxUtils.register(INSTANCE, MBEAN_NAME);
+        INSTANCE.setEnabled(Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true")));
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public synchronized void setEnabled(boolean enabled) {
+        if (enabled == this.enabled) {
+            return;
+        }
+        this.enabled = enabled;
+        if (enabled) {
+            startSampler();
+        } else {
+            sampler.shutdownNow();
+            sampler = null;
+        }
+    }
+
+    @Override
+    public long getThresholdMillis() {
+        return thresholdMillis;
+    }
+
+    @Override
+    public synchronized void setThresholdMillis(long thresholdMillis) {
+        if (thresholdMillis <= 0) {
+            throw new IllegalArgumentException("Threshold must be positive");
+        }
+        this.thresholdMillis = thresholdMillis;
+        if (enabled) {
+            // The sample interval follows the threshold
+            sampler.shutdownNow();
+            startSampler();
+        }
+    }
+
+    @Override
+    public long getEventCount() {
+        return events.sum();
+    }
+
+    @Override
+    public long getStallCount() {
+        return stalls.sum();
+    }
+
+    @Override
+    public synchronized long getMaxStallMillis() {
+        return maxStallMillis;
+    }
+
+    /**
+     * Get the worst offenders, longest stall first.
+     *
+     * @param limit the maximum number of offenders to return
+     */
+    public synchronized List<Offender> getOffenders(int limit) {
+        List<Offender> list = new ArrayList<>(offenders.values());
+        Collections.sort(list, new Comparator<Offender>() {
+            @Override
+            public int compare(Offender a, Offender b) {
+                return Long.compare(b.maxMillis, a.maxMillis);
+            }
+        });
+        return list.size() > limit ? new ArrayList<>(list.subList(0, limit)) : list;
+    }
+
+    @Override
+    public String getReport() {
+        StringBuilder sb = new StringBuilder();
+        for (Offender offender : getOffenders(MAX_OFFENDERS)) {
+            sb.append(offender.getLocation())
+              .append(" stalls=").append(offender.getCount())
+              .append(" max=").append(offender.getMaxMillis()).append("ms")
+              .append(" total=").append(offender.getTotalMillis()).append("ms\n")
+              .append(offender.getStackTrace()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public synchronized void resetStatistics() {
+        events.reset();
+        stalls.reset();
+        offenders.clear();
+        maxStallMillis = 0;
+    }
+
+    private void startSampler() {
+        sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "edt-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(MIN_SAMPLE_INTERVAL_MILLIS, thresholdMillis / SAMPLES_PER_THRESHOLD);
+        sampler.scheduleWithFixedDelay(this::sample, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Capture the EDT stack if the event in flight has exceeded the threshold.
+     * Runs on the sampler thread.
+     */
+    private void sample() {
+        long start = currentStartNanos;
+        Thread thread = dispatchThread;
+        if (start == 0 || thread == null || capturedStack != null
+                || System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(thresholdMillis)) {
+            return;
+        }
+        StackTraceElement[] stack = thread.getStackTrace();
+        // Only keep the stack if the EDT is still on the same event
+        if (currentStartNanos == start) {
+            capturedStack = stack;
+        }
+    }
+
+    /**
+     * Called on the EDT before an event is dispatched.
+     *
+     * @return the event whose dispatch this one is nested in, or null
+     */
+    private AWTEvent beginDispatch(AWTEvent event) {
+        AWTEvent outer = currentEvent;
+        long now = System.nanoTime();
+        if (outer != null) {
+            // A nested event loop is running; the outer event is not blocking meanwhile
+            endSegment(outer, now);
+        }
+        events.increment();
+        dispatchThread = Thread.currentThread();
+        capturedStack = null;
+        currentEvent = event;
+        currentStartNanos = now;
+        return outer;
+    }
+
+    /**
+     * Called on the EDT after an event was dispatched.
+     */
+    private void endDispatch(AWTEvent event, AWTEvent outer) {
+        long now = System.nanoTime();
+        endSegment(event, now);
+        capturedStack = null;
+        currentEvent = outer;
+        currentStartNanos = outer != null ? now : 0;
+    }
+
+    private void endSegment(AWTEvent event, long now) {
+        long start = currentStartNanos;
+        if (start == 0) {
+            return;
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(now - start);
+        if (millis >= thresholdMillis) {
+            recordStall(event, millis, capturedStack);
+        }
+    }
+
+    private void recordStall(AWTEvent event, long millis, StackTraceElement[] stack) {
+        String location = findLocation(event, stack);
+        String stackTrace = formatStack(stack);
+        stalls.increment();
+        System.err.println("[edt-watchdog] " + event.getClass().getSimpleName() + " blocked the EDT for "
+            + millis + " ms in " + location + "\n" + stackTrace);
+
+        synchronized (this) {
+            maxStallMillis = Math.max(maxStallMillis, millis);
+            Offender offender = offenders.get(location);
+            if (offender == null) {
+                if (offenders.size() >= MAX_OFFENDERS) {
+                    removeMildestOffender();
+                }
+                offender = new Offender(location);
+                offenders.put(location, offender);
+            }
+            offender.count++;
+            offender.totalMillis += millis;
+            if (millis >= offender.maxMillis) {
+                offender.maxMillis = millis;
+                offender.stackTrace = stackTrace;
+            }
+        }
+    }
+
+    private void removeMildestOffender() {
+        Offender mildest = null;
+        for (Offender offender : offenders.values()) {
+            if (mildest == null || offender.maxMillis < mildest.maxMillis) {
+                mildest = offender;
+            }
+        }
+        offenders.remove(mildest.location);
+    }
+
+    /**
+     * Name the stall after the innermost application frame on the captured
+     * stack, or after the event if no stack was captured.
+     */
+    private static String findLocation(AWTEvent event, StackTraceElement[] stack) {
+        if (stack != null) {
+            for (StackTraceElement frame : stack) {
+                String className = frame.getClassName();
+                if (className.startsWith("com.example.") && !className.startsWith(EdtWatchdog.class.getName())) {
+                    return className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName();
+                }
+            }
+        }
+        Object source = event.getSource();
+        return event.getClass().getSimpleName()
+            + (source != null ? " on " + source.getClass().getSimpleName() : "");
+    }
+
+    private static String formatStack(StackTraceElement[] stack) {
+        if (stack == null) {
+            return "\t(stack not captured)";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < stack.length && i < MAX_LOGGED_FRAMES; i++) {
+            if (i > 0) {
+                sb.append('\n');
+            }
+            sb.append("\tat ").append(stack[i]);
+        }
+        if (stack.length > MAX_LOGGED_FRAMES) {
+            sb.append("\n\t... ").append(stack.length - MAX_LOGGED_FRAMES).append(" more");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Stalls attributed to one application method.
+     */
+    public static class Offender {
+        private final String location;
+        private long count;
+        private long totalMillis;
+        private long maxMillis;
+        private String stackTrace;
+
+        Offender(String location) {
+            this.location = location;
+        }
+
+        /**
+         * @return "Class.method" of the innermost application frame, or the event type
+         */
+        public String getLocation() {
+            return location;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotalMillis() {
+            return totalMillis;
+        }
+
+        public long getMaxMillis() {
+            return maxMillis;
+        }
+
+        /**
+         * @return the EDT stack captured during the longest stall
+         */
+        public String getStackTrace() {
+            return stackTrace;
+        }
+    }
+
+    /**
+     * The event queue that timestamps dispatches while the watchdog is enabled.
+     */
+    private class WatchdogQueue extends EventQueue {
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            if (!enabled) {
+                super.dispatchEvent(event);
+                return;
+            }
+            AWTEvent outer = beginDispatch(event);
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                endDispatch(event, outer);
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.gui;
+
+/**
+ * JMX view of the Event Dispatch Thread watchdog, registered as
+ * {@code com.example.gui:type=EdtWatchdog}.
+ */
+public interface EdtWatchdogMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    long getThresholdMillis();
+
+    void setThresholdMillis(long thresholdMillis);
+
+    long getEventCount();
+
+    long getStallCount();
+
+    long getMaxStallMillis();
+
+    /**
+     * Get the worst offenders, longest stall first, each with the EDT stack
+     * captured while it was stalled.
+     */
+    String getReport();
+
+    void resetStatistics();
+}
@@ -2,37 +2,53 @@ package com.example.gui;
 
 import com.example.model.Application;
 import com.example.model.Job;
+import com.example.model.JobSummary;
+import com.example.model.SubmitResult;
 import com.example.service.ApplicationService;
+import com.example.service.JobService;
 import com.example.util.SessionManager;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 
 /**
  * Dialog for viewing job details and submitting applications.
+ * Opened from a job summary; the full posting text is loaded when the dialog opens.
  */
 public class JobDetailsDialog extends JDialog {
     
     private static final long serialVersionUID = 1L;
-    private Job job;
+    private JobSummary job;
+    private JobService jobService;
     private ApplicationService applicationService;
+    private JLabel salaryLabel;
     private JTextArea descriptionArea;
     private JTextField resumePathField;
     private JTextArea coverLetterArea;
     private JLabel messageLabel;
+    private JButton applyButton;
+    private JProgressBar busyIndicator;
+    private AsyncLoader loader;
     
-    public JobDetailsDialog(Frame owner, Job job, ApplicationService applicationService) {
+    public JobDetailsDialog(Frame owner, JobSummary job, JobService jobService, ApplicationService applicationService) {
         super(owner, job.getTitle(), true);
         this.job = job;
+        this.jobService = jobService;
         this.applicationService = applicationService;
+        this.busyIndicator = AsyncLoader.createBusyIndicator();
+        this.loader = new AsyncLoader(busyIndicator);
         initializeUI();
+        loadJobDetails();
         setSize(600, 600);
         setLocationRelativeTo(owner);
     }
     
     private void initializeUI() {
         setLayout(new BorderLayout(10, 10));
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
         
         // Job details panel
         JPanel detailsPanel = new JPanel(new GridBagLayout());
@@ -60,7 +76,7 @@ public class JobDetailsDialog extends JDialog {
         detailsPanel.add(typeLabel, gbc);
         
         // Salary
-        JLabel salaryLabel = new JLabel("Salary: " + (job.getSalaryRange() != null ? job.getSalaryRange() : "Not specified"));
+        salaryLabel = new JLabel("Salary: ");
         gbc.gridy = 3;
         detailsPanel.add(salaryLabel, gbc);
         
@@ -76,7 +92,7 @@ public class JobDetailsDialog extends JDialog {
         detailsPanel.add(descLabel, gbc);
         
         descriptionArea = new JTextArea(5, 50);
-        descriptionArea.setText(job.getDescription());
+        descriptionArea.setText("Loading...");
         descriptionArea.setEditable(false);
         descriptionArea.setLineWrap(true);
         descriptionArea.setWrapStyleWord(true);
@@ -130,8 +146,9 @@ public class JobDetailsDialog extends JDialog {
         
         // Button panel
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttonPanel.add(busyIndicator);
         
-        JButton applyButton = new JButton("Submit Application");
+        applyButton = new JButton("Submit Application");
         applyButton.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
@@ -150,6 +167,28 @@ public class JobDetailsDialog extends JDialog {
         buttonPanel.add(closeButton);
         
         add(buttonPanel, BorderLayout.SOUTH);
+        
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                loader.cancelAll();
+            }
+        });
+    }
+    
+    private void loadJobDetails() {
+        loader.load("details", () -> jobService.getJobById(job.getJobId()), this::showJobDetails);
+    }
+    
+    private void showJobDetails(Job details) {
+        if (details == null) {
+            salaryLabel.setText("Salary: Not available");
+            descriptionArea.setText("Job details could not be loaded.");
+            return;
+        }
+        salaryLabel.setText("Salary: " + (details.getSalaryRange() != null ? details.getSalaryRange() : "Not specified"));
+        descriptionArea.setText(details.getDescription());
+        descriptionArea.setCaretPosition(0);
     }
     
     private void handleApplication() {
@@ -163,21 +202,35 @@ public class JobDetailsDialog extends JDialog {
         
         int studentId = SessionManager.getInstance().getCurrentUserId();
         
-        // Check if already applied
-        if (applicationService.hasApplied(job.getJobId(), studentId)) {
-            messageLabel.setText("You have already applied to this job");
-            return;
-        }
-        
         // Create and submit application
         Application application = new Application(job.getJobId(), studentId, resumePath);
         application.setCoverLetter(coverLetter);
         
-        if (applicationService.submitApplication(application)) {
-            JOptionPane.showMessageDialog(this, "Application submitted successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-            dispose();
-        } else {
+        applyButton.setEnabled(false);
+        messageLabel.setText("");
+        loader.submit(() -> applicationService.submit(application), this::showSubmitResult, error -> {
+            applyButton.setEnabled(true);
+            error.printStackTrace();
             messageLabel.setText("Failed to submit application");
+        });
+    }
+    
+    private void showSubmitResult(SubmitResult result) {
+        applyButton.setEnabled(true);
+        switch (result) {
+            case CREATED:
+                JOptionPane.showMessageDialog(this, "Application submitted successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+                dispose();
+                break;
+            case DUPLICATE:
+                messageLabel.setText("You have already applied to this job");
+                break;
+            case JOB_CLOSED:
+                messageLabel.setText("This job is no longer accepting applications");
+                break;
+            default:
+                messageLabel.setText("Failed to submit application");
+                break;
         }
     }
 }
@@ -0,0 +1,95 @@
+package com.example.gui;
+
+import com.example.model.JobSummary;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Table model for job lists. Holds the job summaries loaded so far;
+ * the dashboards append further pages as the user scrolls.
+ */
+public class JobTableModel extends AbstractTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String[] COLUMNS = {"Title", "Location", "Type", "Deadline", "Status"};
+    private static final int STATUS_COLUMN = 4;
+
+    private final List<JobSummary> jobs = new ArrayList<>();
+    private final boolean showStatus;
+
+    /**
+     * @param showStatus whether to include the Active/Inactive column
+     */
+    public JobTableModel(boolean showStatus) {
+        this.showStatus = showStatus;
+    }
+
+    /**
+     * Replace all rows.
+     */
+    public void setJobs(List<JobSummary> newJobs) {
+        jobs.clear();
+        jobs.addAll(newJobs);
+        fireTableDataChanged();
+    }
+
+    /**
+     * Append rows after the existing ones.
+     */
+    public void addJobs(List<JobSummary> moreJobs) {
+        if (moreJobs.isEmpty()) {
+            return;
+        }
+        int first = jobs.size();
+        jobs.addAll(moreJobs);
+        fireTableRowsInserted(first, jobs.size() - 1);
+    }
+
+    public void clear() {
+        jobs.clear();
+        fireTableDataChanged();
+    }
+
+    /**
+     * Get the job shown in a model row.
+     */
+    public JobSummary getJobAt(int row) {
+        return jobs.get(row);
+    }
+
+    @Override
+    public int getRowCount() {
+        return jobs.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return showStatus ? COLUMNS.length : STATUS_COLUMN;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        JobSummary job = jobs.get(row);
+        switch (column) {
+            case 0:
+                return job.getTitle();
+            case 1:
+                return job.getLocation();
+            case 2:
+                return job.getJobType();
+            case 3:
+                return job.getDeadline();
+            case STATUS_COLUMN:
+                return job.isActive() ? "Active" : "Inactive";
+            default:
+                return null;
+        }
+    }
+}
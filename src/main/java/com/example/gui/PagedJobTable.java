@@ -0,0 +1,190 @@
+package com.example.gui;
+
+import com.example.model.JobSummary;
+import com.example.model.Page;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.AdjustmentEvent;
+import java.awt.event.AdjustmentListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+/**
+ * Scrollable job table that loads its rows one page at a time.
+ * The next page is fetched in the background when the user scrolls close
+ * to the end, so only the rows the user actually reaches are loaded and
+ * a single shared renderer draws every cell.
+ */
+public class PagedJobTable extends JPanel {
+
+    private static final long serialVersionUID = 1L;
+    /** Start fetching the next page when fewer than this many rows remain below the viewport. */
+    private static final int PREFETCH_ROWS = 10;
+
+    private final AsyncLoader loader;
+    private final String loadKey;
+    private final String emptyMessage;
+    private final JobTableModel tableModel;
+    private final JTable table;
+    private final JScrollPane scrollPane;
+    private final JLabel statusLabel;
+    private final JPanel actionPanel;
+
+    private Function<String, Page<JobSummary>> pageSource;
+    private String nextCursor;
+    private boolean loadingPage;
+    private IntConsumer firstPageListener;
+
+    /**
+     * @param loader the loader used to fetch pages off the EDT
+     * @param loadKey the loader key for page fetches
+     * @param showStatus whether to show the Active/Inactive column
+     * @param emptyMessage the text shown when there are no rows
+     */
+    public PagedJobTable(AsyncLoader loader, String loadKey, boolean showStatus, String emptyMessage) {
+        super(new BorderLayout());
+        this.loader = loader;
+        this.loadKey = loadKey;
+        this.emptyMessage = emptyMessage;
+
+        tableModel = new JobTableModel(showStatus);
+        table = new JTable(tableModel);
+        table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        table.setFillsViewportHeight(true);
+
+        scrollPane = new JScrollPane(table);
+        scrollPane.getVerticalScrollBar().addAdjustmentListener(new AdjustmentListener() {
+            @Override
+            public void adjustmentValueChanged(AdjustmentEvent e) {
+                loadMoreIfNearEnd();
+            }
+        });
+        add(scrollPane, BorderLayout.CENTER);
+
+        JPanel bottomPanel = new JPanel(new BorderLayout());
+        statusLabel = new JLabel(" ");
+        statusLabel.setFont(new Font("Arial", Font.ITALIC, 12));
+        statusLabel.setForeground(Color.GRAY);
+        bottomPanel.add(statusLabel, BorderLayout.WEST);
+        actionPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        bottomPanel.add(actionPanel, BorderLayout.EAST);
+        add(bottomPanel, BorderLayout.SOUTH);
+    }
+
+    /**
+     * Add a button acting on the selected row. The action also runs when a
+     * row is double-clicked, if it is the first action added.
+     *
+     * @param label the button label
+     * @param action called with the selected job
+     */
+    public void addRowAction(String label, final Consumer<JobSummary> action) {
+        JButton button = new JButton(label);
+        button.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                runOnSelection(action);
+            }
+        });
+        if (actionPanel.getComponentCount() == 0) {
+            table.addMouseListener(new MouseAdapter() {
+                @Override
+                public void mouseClicked(MouseEvent e) {
+                    if (e.getClickCount() == 2 && table.getSelectedRow() >= 0) {
+                        runOnSelection(action);
+                    }
+                }
+            });
+        }
+        actionPanel.add(button);
+    }
+
+    /**
+     * Clear the table and start loading from the first page.
+     *
+     * @param source returns the page after the given cursor (null for the first page);
+     *        called off the EDT
+     */
+    public void reload(Function<String, Page<JobSummary>> source) {
+        reload(source, null);
+    }
+
+    /**
+     * Clear the table and start loading from the first page.
+     *
+     * @param source returns the page after the given cursor (null for the first page);
+     *        called off the EDT
+     * @param onFirstPage called on the EDT with the row count once the first page is
+     *        shown, unless another reload supersedes this one; may be null
+     */
+    public void reload(Function<String, Page<JobSummary>> source, IntConsumer onFirstPage) {
+        this.pageSource = source;
+        this.nextCursor = null;
+        this.firstPageListener = onFirstPage;
+        tableModel.clear();
+        loadNextPage();
+    }
+
+    private void loadNextPage() {
+        final Function<String, Page<JobSummary>> source = pageSource;
+        final String cursor = nextCursor;
+
+        // A reload supersedes any page still loading
+        loadingPage = true;
+        loader.load(loadKey,
+            () -> source.apply(cursor),
+            page -> showPage(page, cursor == null),
+            e -> {
+                loadingPage = false;
+                e.printStackTrace();
+            });
+    }
+
+    private void showPage(Page<JobSummary> page, boolean firstPage) {
+        loadingPage = false;
+        if (firstPage) {
+            tableModel.setJobs(page.getItems());
+            if (firstPageListener != null) {
+                firstPageListener.accept(tableModel.getRowCount());
+                firstPageListener = null;
+            }
+        } else {
+            tableModel.addJobs(page.getItems());
+        }
+        nextCursor = page.getNextCursor();
+
+        if (tableModel.getRowCount() == 0) {
+            statusLabel.setText(emptyMessage);
+        } else {
+            statusLabel.setText(tableModel.getRowCount() + (page.hasMore() ? "+" : "") + " jobs");
+        }
+
+        // Keep loading if the first pages do not fill the viewport yet
+        SwingUtilities.invokeLater(this::loadMoreIfNearEnd);
+    }
+
+    private void loadMoreIfNearEnd() {
+        if (loadingPage || nextCursor == null) {
+            return;
+        }
+        JScrollBar bar = scrollPane.getVerticalScrollBar();
+        int remaining = bar.getMaximum() - (bar.getValue() + bar.getVisibleAmount());
+        if (remaining <= PREFETCH_ROWS * table.getRowHeight()) {
+            loadNextPage();
+        }
+    }
+
+    private void runOnSelection(Consumer<JobSummary> action) {
+        int row = table.getSelectedRow();
+        if (row < 0) {
+            JOptionPane.showMessageDialog(this, "Please select a job first.");
+            return;
+        }
+        action.accept(tableModel.getJobAt(table.convertRowIndexToModel(row)));
+    }
+}
@@ -1,7 +1,11 @@
 package com.example.gui;
 
-import com.example.model.Application;
+import com.example.jfr.DashboardRefreshEvent;
 import com.example.model.Job;
+import com.example.model.JobFacets;
+import com.example.model.JobSummary;
+import com.example.model.Page;
+import com.example.model.StudentApplicationView;
 import com.example.service.ApplicationService;
 import com.example.service.JobService;
 import com.example.util.SessionManager;
@@ -10,6 +14,7 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Dashboard for student users.
@@ -24,13 +29,21 @@ public class StudentDashboard extends JPanel {
     private JTabbedPane tabbedPane;
     private JPanel jobSearchPanel;
     private JPanel applicationTrackerPanel;
-    private JPanel jobsListPanel;
-    private JScrollPane jobsScrollPane;
+    private PagedJobTable jobTable;
+    private JTextField keywordsField;
+    private JTextField locationField;
+    private JComboBox<String> jobTypeCombo;
+    private JPanel locationFacetsPanel;
+    private JobFacets facets;
+    private JProgressBar busyIndicator;
+    private AsyncLoader loader;
     
     public StudentDashboard(MainFrame mainFrame) {
         this.mainFrame = mainFrame;
         this.jobService = new JobService();
         this.applicationService = new ApplicationService();
+        this.busyIndicator = AsyncLoader.createBusyIndicator();
+        this.loader = new AsyncLoader(busyIndicator);
         initializeUI();
     }
     
@@ -47,6 +60,11 @@ public class StudentDashboard extends JPanel {
         welcomeLabel.setFont(new Font("Arial", Font.BOLD, 14));
         topPanel.add(welcomeLabel, BorderLayout.WEST);
         
+        JPanel busyPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        busyPanel.setOpaque(false);
+        busyPanel.add(busyIndicator);
+        topPanel.add(busyPanel, BorderLayout.CENTER);
+        
         JButton logoutButton = new JButton("Logout");
         logoutButton.addActionListener(new ActionListener() {
             @Override
@@ -72,7 +90,7 @@ public class StudentDashboard extends JPanel {
         add(tabbedPane, BorderLayout.CENTER);
         
         // Load job list after UI is fully initialized
-        SwingUtilities.invokeLater(() -> refreshJobList("", ""));
+        SwingUtilities.invokeLater(() -> refreshJobList("", "", ""));
     }
     
     private JPanel createJobSearchPanel() {
@@ -85,114 +103,146 @@ public class StudentDashboard extends JPanel {
         gbc.insets = new Insets(5, 5, 5, 5);
         gbc.fill = GridBagConstraints.HORIZONTAL;
         
-        JLabel locationLabel = new JLabel("Location:");
+        JLabel keywordsLabel = new JLabel("Keywords:");
         gbc.gridx = 0;
         gbc.gridy = 0;
-        searchPanel.add(locationLabel, gbc);
+        searchPanel.add(keywordsLabel, gbc);
         
-        JTextField locationField = new JTextField(20);
+        keywordsField = new JTextField(20);
+        keywordsField.setToolTipText("All words must match; separate words with OR to match any");
         gbc.gridx = 1;
+        searchPanel.add(keywordsField, gbc);
+        
+        JLabel locationLabel = new JLabel("Location:");
+        gbc.gridx = 2;
+        searchPanel.add(locationLabel, gbc);
+        
+        locationField = new JTextField(15);
+        gbc.gridx = 3;
         searchPanel.add(locationField, gbc);
         
         JLabel jobTypeLabel = new JLabel("Job Type:");
-        gbc.gridx = 2;
+        gbc.gridx = 4;
         searchPanel.add(jobTypeLabel, gbc);
         
         String[] jobTypes = {"", "FULL_TIME", "PART_TIME", "INTERNSHIP", "CONTRACT"};
-        JComboBox<String> jobTypeCombo = new JComboBox<>(jobTypes);
-        gbc.gridx = 3;
+        jobTypeCombo = new JComboBox<>(jobTypes);
+        // Show how many jobs each type would return for the current location
+        jobTypeCombo.setRenderer(new DefaultListCellRenderer() {
+            private static final long serialVersionUID = 1L;
+            
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                          boolean isSelected, boolean cellHasFocus) {
+                return super.getListCellRendererComponent(list, formatJobTypeOption((String) value),
+                                                          index, isSelected, cellHasFocus);
+            }
+        });
+        gbc.gridx = 5;
         searchPanel.add(jobTypeCombo, gbc);
         
         JButton searchButton = new JButton("Search");
-        gbc.gridx = 4;
+        gbc.gridx = 6;
         searchButton.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                refreshJobList(locationField.getText(), (String) jobTypeCombo.getSelectedItem());
+                runSearch();
             }
         });
         searchPanel.add(searchButton, gbc);
         
-        panel.add(searchPanel, BorderLayout.NORTH);
+        // Most common locations for the selected job type; clicking one searches it
+        locationFacetsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        gbc.gridx = 0;
+        gbc.gridy = 1;
+        gbc.gridwidth = 7;
+        searchPanel.add(locationFacetsPanel, gbc);
         
-        // Jobs list
-        jobsScrollPane = new JScrollPane();
-        jobsListPanel = new JPanel();
-        jobsListPanel.setLayout(new BoxLayout(jobsListPanel, BoxLayout.Y_AXIS));
-        jobsListPanel.setBackground(Color.WHITE);
-        jobsScrollPane.setViewportView(jobsListPanel);
+        panel.add(searchPanel, BorderLayout.NORTH);
         
-        panel.add(jobsScrollPane, BorderLayout.CENTER);
+        // Jobs table; further pages are fetched as the user scrolls
+        jobTable = new PagedJobTable(loader, "jobs", false, "No jobs found. Try adjusting your search filters.");
+        jobTable.addRowAction("View & Apply", this::openJobDetailsDialog);
+        panel.add(jobTable, BorderLayout.CENTER);
         
         return panel;
     }
     
-    private void refreshJobList(String location, String jobType) {
-        // Guard against null panel (in case called before initialization)
-        if (jobsListPanel == null) {
+    private void runSearch() {
+        refreshJobList(keywordsField.getText(), locationField.getText(), (String) jobTypeCombo.getSelectedItem());
+    }
+    
+    private void refreshJobList(String keywords, String location, String jobType) {
+        // Guard against null table (in case called before initialization)
+        if (jobTable == null) {
             return;
         }
-        
-        List<Job> jobs;
-        if (location.isEmpty() && jobType.isEmpty()) {
-            jobs = jobService.getAllActiveJobs();
+        DashboardRefreshEvent event = DashboardRefreshEvent.begin("StudentDashboard.refreshJobList");
+        refreshFacets(location, jobType);
+        
+        final String query = keywords.trim();
+        final String locationFilter = location.isEmpty() ? null : location;
+        final String jobTypeFilter = jobType.isEmpty() ? null : jobType;
+        if (query.isEmpty()) {
+            jobTable.reload(cursor -> jobService.searchJobsPage(locationFilter, jobTypeFilter, cursor),
+                event::finish);
         } else {
-            jobs = jobService.searchJobs(location.isEmpty() ? null : location, 
-                                        jobType.isEmpty() ? null : jobType);
+            // Ranked keyword results come back as a single page
+            jobTable.reload(cursor -> new Page<>(
+                jobService.searchJobsByKeywords(query, locationFilter, jobTypeFilter), null), event::finish);
         }
-        
-        // Clear and repopulate job list
-        jobsListPanel.removeAll();
-        
-        if (jobs.isEmpty()) {
-            JLabel emptyLabel = new JLabel("No jobs found. Try adjusting your search filters.");
-            emptyLabel.setFont(new Font("Arial", Font.ITALIC, 12));
-            emptyLabel.setForeground(Color.GRAY);
-            jobsListPanel.add(emptyLabel);
-        } else {
-            for (Job job : jobs) {
-                JPanel jobPanel = createJobItemPanel(job);
-                jobsListPanel.add(jobPanel);
-            }
+    }
+    
+    private void refreshFacets(String location, String jobType) {
+        loader.load("facets", () -> jobService.getJobFacets(location, jobType), this::showFacets);
+    }
+    
+    private void showFacets(JobFacets newFacets) {
+        facets = newFacets;
+        jobTypeCombo.repaint();
+        
+        locationFacetsPanel.removeAll();
+        if (!facets.getLocationCounts().isEmpty()) {
+            JLabel label = new JLabel("Top locations:");
+            label.setFont(new Font("Arial", Font.ITALIC, 12));
+            locationFacetsPanel.add(label);
         }
-        
-        jobsListPanel.revalidate();
-        jobsListPanel.repaint();
+        for (Map.Entry<String, Integer> entry : facets.getLocationCounts().entrySet()) {
+            final String location = entry.getKey();
+            JButton locationButton = new JButton(location + " (" + entry.getValue() + ")");
+            locationButton.setBorderPainted(false);
+            locationButton.setContentAreaFilled(false);
+            locationButton.setForeground(new Color(51, 102, 153));
+            locationButton.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+            locationButton.addActionListener(new ActionListener() {
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    locationField.setText(location);
+                    runSearch();
+                }
+            });
+            locationFacetsPanel.add(locationButton);
+        }
+        locationFacetsPanel.revalidate();
+        locationFacetsPanel.repaint();
     }
     
-    private JPanel createJobItemPanel(Job job) {
-        JPanel panel = new JPanel(new BorderLayout());
-        panel.setBackground(Color.LIGHT_GRAY);
-        panel.setBorder(BorderFactory.createLineBorder(Color.BLACK, 1));
-        panel.setMaximumSize(new Dimension(Integer.MAX_VALUE, 100));
-        panel.setPreferredSize(new Dimension(0, 100));
-        
-        JLabel titleLabel = new JLabel(job.getTitle() + " at " + job.getLocation());
-        titleLabel.setFont(new Font("Arial", Font.BOLD, 12));
-        
-        JLabel typeLabel = new JLabel("Type: " + job.getJobType() + " | Deadline: " + job.getDeadline());
-        
-        JPanel infoPanel = new JPanel(new GridLayout(2, 1));
-        infoPanel.setBackground(Color.LIGHT_GRAY);
-        infoPanel.add(titleLabel);
-        infoPanel.add(typeLabel);
-        
-        panel.add(infoPanel, BorderLayout.WEST);
-        
-        JButton viewButton = new JButton("View & Apply");
-        viewButton.addActionListener(new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                openJobDetailsDialog(job);
+    private String formatJobTypeOption(String jobType) {
+        if (facets == null || jobType == null) {
+            return jobType;
+        }
+        if (jobType.isEmpty()) {
+            int total = 0;
+            for (int count : facets.getTypeCounts().values()) {
+                total += count;
             }
-        });
-        panel.add(viewButton, BorderLayout.EAST);
-        
-        return panel;
+            return "All (" + total + ")";
+        }
+        return jobType + " (" + facets.getTypeCounts().get(Job.JobType.valueOf(jobType)) + ")";
     }
     
-    private void openJobDetailsDialog(Job job) {
-        JobDetailsDialog dialog = new JobDetailsDialog(mainFrame, job, applicationService);
+    private void openJobDetailsDialog(JobSummary job) {
+        JobDetailsDialog dialog = new JobDetailsDialog(mainFrame, job, jobService, applicationService);
         dialog.setVisible(true);
     }
     
@@ -205,35 +255,45 @@ public class StudentDashboard extends JPanel {
         applicationsPanel.setLayout(new BoxLayout(applicationsPanel, BoxLayout.Y_AXIS));
         applicationsPanel.setBackground(Color.WHITE);
         
+        applicationsPanel.add(new JLabel("Loading applications..."));
+        
+        scrollPane.setViewportView(applicationsPanel);
+        panel.add(scrollPane, BorderLayout.CENTER);
+        
         // Load applications
-        List<Application> applications = applicationService.getApplicationsByStudentId(
-            SessionManager.getInstance().getCurrentUserId());
+        final int studentId = SessionManager.getInstance().getCurrentUserId();
+        loader.load("applications",
+            () -> applicationService.getApplicationViewsByStudentId(studentId),
+            applications -> showApplications(applicationsPanel, applications));
+        
+        return panel;
+    }
+    
+    private void showApplications(JPanel applicationsPanel, List<StudentApplicationView> applications) {
+        applicationsPanel.removeAll();
         
         if (applications.isEmpty()) {
             applicationsPanel.add(new JLabel("You haven't applied to any jobs yet."));
         } else {
-            for (Application app : applications) {
+            for (StudentApplicationView app : applications) {
                 JPanel appPanel = createApplicationItemPanel(app);
                 applicationsPanel.add(appPanel);
             }
         }
         
-        scrollPane.setViewportView(applicationsPanel);
-        panel.add(scrollPane, BorderLayout.CENTER);
-        
-        return panel;
+        applicationsPanel.revalidate();
+        applicationsPanel.repaint();
     }
     
-    private JPanel createApplicationItemPanel(Application app) {
+    private JPanel createApplicationItemPanel(StudentApplicationView app) {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBackground(Color.LIGHT_GRAY);
         panel.setBorder(BorderFactory.createLineBorder(Color.BLACK, 1));
         panel.setMaximumSize(new Dimension(Integer.MAX_VALUE, 80));
         panel.setPreferredSize(new Dimension(0, 80));
         
-        Job job = jobService.getJobById(app.getJobId());
-        
-        JLabel jobLabel = new JLabel("Job: " + (job != null ? job.getTitle() : "Unknown"));
+        JLabel jobLabel = new JLabel("Job: " + app.getJobTitle() + " at " + app.getCompanyName()
+            + " (" + app.getLocation() + ")");
         jobLabel.setFont(new Font("Arial", Font.BOLD, 12));
         
         JLabel statusLabel = new JLabel("Status: " + app.getStatus() + " | Applied: " + app.getAppliedAt());
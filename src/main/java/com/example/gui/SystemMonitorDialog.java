@@ -0,0 +1,412 @@
+package com.example.gui;
+
+import com.example.db.ConnectionPool;
+import com.example.db.DBConnection;
+import com.example.db.QueryStats;
+import com.example.db.StatementCacheStats;
+import com.example.service.JobService;
+import com.example.service.SearchResultCacheMXBean;
+import com.example.util.LatencyHistogram;
+import com.example.util.TtlCacheMXBean;
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dialog showing live runtime statistics for administrators.
+ * Values are refreshed once per second while the dialog is open.
+ */
+public class SystemMonitorDialog extends JDialog {
+
+    private static final long serialVersionUID = 1L;
+    private static final int REFRESH_INTERVAL_MILLIS = 1000;
+
+    private DefaultTableModel poolTableModel;
+    private JTextArea poolWaitArea;
+    private DefaultTableModel statementTableModel;
+    private JLabel statementSummaryLabel;
+    private DefaultTableModel cacheTableModel;
+    private DefaultTableModel queryTableModel;
+    private JLabel querySummaryLabel;
+    private JCheckBox edtEnabledCheckBox;
+    private JLabel edtSummaryLabel;
+    private DefaultTableModel edtTableModel;
+    private JTable edtTable;
+    private JTextArea edtStackArea;
+    private List<EdtWatchdog.Offender> edtOffenders = new ArrayList<>();
+    private Timer refreshTimer;
+
+    public SystemMonitorDialog(Frame owner) {
+        super(owner, "System Monitor", false);
+        initializeUI();
+        setSize(600, 500);
+        setLocationRelativeTo(owner);
+
+        refreshTimer = new Timer(REFRESH_INTERVAL_MILLIS, new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                refresh();
+            }
+        });
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                refreshTimer.stop();
+            }
+        });
+        refresh();
+        refreshTimer.start();
+    }
+
+    private void initializeUI() {
+        setLayout(new BorderLayout(10, 10));
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+
+        JTabbedPane tabbedPane = new JTabbedPane();
+        tabbedPane.addTab("Connection Pool", createPoolPanel());
+        tabbedPane.addTab("Statement Cache", createStatementCachePanel());
+        tabbedPane.addTab("Caches", createCachePanel());
+        tabbedPane.addTab("Queries", createQueryPanel());
+        tabbedPane.addTab("Event Dispatch", createEdtPanel());
+        add(tabbedPane, BorderLayout.CENTER);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        JButton closeButton = new JButton("Close");
+        closeButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                dispose();
+            }
+        });
+        buttonPanel.add(closeButton);
+        add(buttonPanel, BorderLayout.SOUTH);
+    }
+
+    private JPanel createPoolPanel() {
+        JPanel panel = new JPanel(new BorderLayout(5, 5));
+
+        poolTableModel = createReadOnlyTableModel("Metric", "Value");
+        JTable table = new JTable(poolTableModel);
+        JScrollPane tableScroll = new JScrollPane(table);
+        tableScroll.setPreferredSize(new Dimension(0, 250));
+        panel.add(tableScroll, BorderLayout.NORTH);
+
+        poolWaitArea = new JTextArea();
+        poolWaitArea.setEditable(false);
+        poolWaitArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        JScrollPane waitScroll = new JScrollPane(poolWaitArea);
+        waitScroll.setBorder(BorderFactory.createTitledBorder("Borrow wait distribution"));
+        panel.add(waitScroll, BorderLayout.CENTER);
+
+        JButton resetButton = new JButton("Reset Statistics");
+        resetButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                ConnectionPool pool = getPool();
+                if (pool != null) {
+                    pool.resetStatistics();
+                    refresh();
+                }
+            }
+        });
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        buttonPanel.add(resetButton);
+        panel.add(buttonPanel, BorderLayout.SOUTH);
+
+        return panel;
+    }
+
+    private JPanel createStatementCachePanel() {
+        JPanel panel = new JPanel(new BorderLayout(5, 5));
+
+        statementSummaryLabel = new JLabel(" ");
+        panel.add(statementSummaryLabel, BorderLayout.NORTH);
+
+        statementTableModel = createReadOnlyTableModel("Hits", "Misses", "SQL");
+        JTable table = new JTable(statementTableModel);
+        table.getColumnModel().getColumn(0).setPreferredWidth(60);
+        table.getColumnModel().getColumn(1).setPreferredWidth(60);
+        table.getColumnModel().getColumn(2).setPreferredWidth(450);
+        panel.add(new JScrollPane(table), BorderLayout.CENTER);
+
+        return panel;
+    }
+
+    private JPanel createCachePanel() {
+        JPanel panel = new JPanel(new BorderLayout(5, 5));
+
+        cacheTableModel = createReadOnlyTableModel("Cache", "Size", "Hit ratio", "Hits", "Misses",
+            "Evictions", "Expired / Invalidated");
+        panel.add(new JScrollPane(new JTable(cacheTableModel)), BorderLayout.CENTER);
+
+        JButton resetButton = new JButton("Reset Statistics");
+        resetButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                JobService.getJobCacheStats().resetStatistics();
+                JobService.getSummaryCacheStats().resetStatistics();
+                JobService.getSearchCacheStats().resetStatistics();
+                refresh();
+            }
+        });
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        buttonPanel.add(resetButton);
+        panel.add(buttonPanel, BorderLayout.SOUTH);
+
+        return panel;
+    }
+
+    private JPanel createQueryPanel() {
+        JPanel panel = new JPanel(new BorderLayout(5, 5));
+
+        querySummaryLabel = new JLabel(" ");
+        panel.add(querySummaryLabel, BorderLayout.NORTH);
+
+        queryTableModel = createReadOnlyTableModel("Statement", "Count", "Errors", "Avg rows",
+            "p50 (us)", "p99 (us)", "p99.9 (us)", "Max (us)");
+        JTable table = new JTable(queryTableModel);
+        table.getColumnModel().getColumn(0).setPreferredWidth(250);
+        panel.add(new JScrollPane(table), BorderLayout.CENTER);
+
+        JButton resetButton = new JButton("Reset Statistics");
+        resetButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                ConnectionPool pool = getPool();
+                if (pool != null) {
+                    pool.getQueryStats().resetStatistics();
+                    refresh();
+                }
+            }
+        });
+        JButton dumpButton = new JButton("Dump to File...");
+        dumpButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                dumpQueryStats();
+            }
+        });
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        buttonPanel.add(resetButton);
+        buttonPanel.add(dumpButton);
+        panel.add(buttonPanel, BorderLayout.SOUTH);
+
+        return panel;
+    }
+
+    private JPanel createEdtPanel() {
+        JPanel panel = new JPanel(new BorderLayout(5, 5));
+
+        edtEnabledCheckBox = new JCheckBox("Watch for stalls");
+        edtEnabledCheckBox.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                EdtWatchdog.getInstance().setEnabled(edtEnabledCheckBox.isSelected());
+                refresh();
+            }
+        });
+        edtSummaryLabel = new JLabel(" ");
+        JPanel topPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        topPanel.add(edtEnabledCheckBox);
+        topPanel.add(edtSummaryLabel);
+        panel.add(topPanel, BorderLayout.NORTH);
+
+        edtTableModel = createReadOnlyTableModel("Location", "Stalls", "Max (ms)", "Total (ms)");
+        edtTable = new JTable(edtTableModel);
+        edtTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        edtTable.getColumnModel().getColumn(0).setPreferredWidth(300);
+        edtTable.getSelectionModel().addListSelectionListener(e -> showSelectedEdtStack());
+        JScrollPane tableScroll = new JScrollPane(edtTable);
+        tableScroll.setPreferredSize(new Dimension(0, 150));
+
+        edtStackArea = new JTextArea();
+        edtStackArea.setEditable(false);
+        edtStackArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        JScrollPane stackScroll = new JScrollPane(edtStackArea);
+        stackScroll.setBorder(BorderFactory.createTitledBorder("Stack during longest stall"));
+
+        JPanel centerPanel = new JPanel(new BorderLayout(5, 5));
+        centerPanel.add(tableScroll, BorderLayout.NORTH);
+        centerPanel.add(stackScroll, BorderLayout.CENTER);
+        panel.add(centerPanel, BorderLayout.CENTER);
+
+        JButton resetButton = new JButton("Reset Statistics");
+        resetButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                EdtWatchdog.getInstance().resetStatistics();
+                refresh();
+            }
+        });
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        buttonPanel.add(resetButton);
+        panel.add(buttonPanel, BorderLayout.SOUTH);
+
+        return panel;
+    }
+
+    private void showSelectedEdtStack() {
+        int row = edtTable.getSelectedRow();
+        edtStackArea.setText(row >= 0 && row < edtOffenders.size() ? edtOffenders.get(row).getStackTrace() : "");
+        edtStackArea.setCaretPosition(0);
+    }
+
+    private void dumpQueryStats() {
+        ConnectionPool pool = getPool();
+        if (pool == null) {
+            return;
+        }
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File("query-stats.txt"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        try {
+            String path = pool.getQueryStats().dumpToFile(chooser.getSelectedFile().getPath());
+            JOptionPane.showMessageDialog(this, "Query statistics written to " + path);
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, "Could not write file: " + e.getMessage(),
+                "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private void refresh() {
+        refreshPool();
+        refreshStatementCache();
+        refreshCaches();
+        refreshQueries();
+        refreshEdt();
+    }
+
+    private void refreshEdt() {
+        EdtWatchdog watchdog = EdtWatchdog.getInstance();
+        edtEnabledCheckBox.setSelected(watchdog.isEnabled());
+        edtSummaryLabel.setText(String.format("Events: %d | Stalls (>= %d ms): %d | Longest: %d ms",
+            watchdog.getEventCount(), watchdog.getThresholdMillis(), watchdog.getStallCount(),
+            watchdog.getMaxStallMillis()));
+
+        // Keep the selected offender selected across refreshes
+        int selectedRow = edtTable.getSelectedRow();
+        String selected = selectedRow >= 0 && selectedRow < edtOffenders.size()
+            ? edtOffenders.get(selectedRow).getLocation() : null;
+        edtOffenders = watchdog.getOffenders(100);
+        edtTableModel.setRowCount(0);
+        for (int i = 0; i < edtOffenders.size(); i++) {
+            EdtWatchdog.Offender offender = edtOffenders.get(i);
+            edtTableModel.addRow(new Object[] {offender.getLocation(), offender.getCount(),
+                offender.getMaxMillis(), offender.getTotalMillis()});
+            if (offender.getLocation().equals(selected)) {
+                edtTable.setRowSelectionInterval(i, i);
+            }
+        }
+        if (selected == null && !edtOffenders.isEmpty()) {
+            edtTable.setRowSelectionInterval(0, 0);
+        }
+    }
+
+    private void refreshQueries() {
+        ConnectionPool pool = getPool();
+        queryTableModel.setRowCount(0);
+        if (pool == null) {
+            querySummaryLabel.setText("Database driver not available");
+            return;
+        }
+
+        QueryStats stats = pool.getQueryStats();
+        querySummaryLabel.setText(String.format("Executions: %d | Errors: %d | Slow (>= %d ms): %d",
+            stats.getExecutionCount(), stats.getErrorCount(), stats.getSlowQueryThresholdMillis(),
+            stats.getSlowQueryCount()));
+        for (QueryStats.Entry entry : stats.getStatements()) {
+            LatencyHistogram latency = entry.getLatency();
+            queryTableModel.addRow(new Object[] {entry.getId(), entry.getExecutionCount(), entry.getErrorCount(),
+                entry.getAverageRows(), latency.getPercentile(50), latency.getPercentile(99),
+                latency.getPercentile(99.9), latency.getMax()});
+        }
+    }
+
+    private void refreshCaches() {
+        cacheTableModel.setRowCount(0);
+        addCacheRow("Jobs", JobService.getJobCacheStats());
+        addCacheRow("Job summaries", JobService.getSummaryCacheStats());
+
+        SearchResultCacheMXBean search = JobService.getSearchCacheStats();
+        cacheTableModel.addRow(new Object[] {"Search results",
+            String.format("%d (%d / %d KB)", search.getEntryCount(),
+                search.getMemoryUsedBytes() / 1024, search.getMemoryBudgetBytes() / 1024),
+            String.format("%.1f%%", search.getHitRatio() * 100), search.getHitCount(), search.getMissCount(),
+            search.getEvictionCount(), search.getInvalidationCount()});
+    }
+
+    private void addCacheRow(String name, TtlCacheMXBean cache) {
+        cacheTableModel.addRow(new Object[] {name, cache.getSize() + " / " + cache.getMaxSize(),
+            String.format("%.1f%%", cache.getHitRatio() * 100), cache.getHitCount(), cache.getMissCount(),
+            cache.getEvictionCount(), cache.getExpirationCount()});
+    }
+
+    private void refreshStatementCache() {
+        ConnectionPool pool = getPool();
+        statementTableModel.setRowCount(0);
+        if (pool == null) {
+            statementSummaryLabel.setText("Database driver not available");
+            return;
+        }
+
+        statementSummaryLabel.setText(String.format("Hits: %d | Misses: %d | Evictions: %d | Hit ratio: %.1f%%",
+            pool.getStatementCacheHits(), pool.getStatementCacheMisses(),
+            pool.getStatementCacheEvictions(), pool.getStatementCacheHitRatio() * 100));
+        for (StatementCacheStats.Entry entry : pool.getStatementCacheStats().getTopStatements(100)) {
+            statementTableModel.addRow(new Object[] {entry.getHits(), entry.getMisses(), entry.getSql()});
+        }
+    }
+
+    private void refreshPool() {
+        ConnectionPool pool = getPool();
+        poolTableModel.setRowCount(0);
+        if (pool == null) {
+            poolTableModel.addRow(new Object[] {"Status", "Database driver not available"});
+            return;
+        }
+
+        poolTableModel.addRow(new Object[] {"Max size", pool.getMaxSize()});
+        poolTableModel.addRow(new Object[] {"Open", pool.getOpenCount()});
+        poolTableModel.addRow(new Object[] {"Active", pool.getActiveCount()});
+        poolTableModel.addRow(new Object[] {"Idle", pool.getIdleCount()});
+        poolTableModel.addRow(new Object[] {"Waiting", pool.getWaitingCount()});
+        poolTableModel.addRow(new Object[] {"Borrows", pool.getBorrowCount()});
+        poolTableModel.addRow(new Object[] {"Borrow timeouts", pool.getBorrowTimeoutCount()});
+        poolTableModel.addRow(new Object[] {"Leaked connections", pool.getLeakedCount()});
+        poolTableModel.addRow(new Object[] {"Wait mean (us)", pool.getBorrowWaitMeanMicros()});
+        poolTableModel.addRow(new Object[] {"Wait p50 (us)", pool.getBorrowWaitP50Micros()});
+        poolTableModel.addRow(new Object[] {"Wait p99 (us)", pool.getBorrowWaitP99Micros()});
+        poolTableModel.addRow(new Object[] {"Wait max (us)", pool.getBorrowWaitMaxMicros()});
+        poolWaitArea.setText(pool.getBorrowWaitDistribution());
+    }
+
+    private ConnectionPool getPool() {
+        try {
+            return DBConnection.getPool();
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    private DefaultTableModel createReadOnlyTableModel(Object... columns) {
+        return new DefaultTableModel(columns, 0) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+    }
+}
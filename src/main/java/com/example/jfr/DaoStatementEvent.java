@@ -0,0 +1,27 @@
+package com.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for one DAO statement execution, from the execute
+ * call until the statement is closed. Emitted by the pooled connections.
+ */
+@Name("com.example.DaoStatement")
+@Label("DAO Statement")
+@Category({"Job Portal", "Database"})
+@Description("Execution of a SQL statement, including reading its results")
+public class DaoStatementEvent extends jdk.jfr.Event {
+
+    @Label("Statement")
+    @Description("StatementRegistry ID, or the SQL text of unregistered statements")
+    public String statementId;
+
+    @Label("Rows")
+    public long rows;
+
+    @Label("Failed")
+    public boolean failed;
+}
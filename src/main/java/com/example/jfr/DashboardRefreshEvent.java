@@ -0,0 +1,47 @@
+package com.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a dashboard refresh, from the request on the
+ * Event Dispatch Thread until the first page of results is shown.
+ * Refreshes superseded by a newer one are not recorded.
+ */
+@Name("com.example.DashboardRefresh")
+@Label("Dashboard Refresh")
+@Category({"Job Portal", "UI"})
+@Description("Time from a dashboard refresh request until its first page is on screen")
+public class DashboardRefreshEvent extends jdk.jfr.Event {
+
+    @Label("Refresh")
+    public String refresh;
+
+    @Label("Rows Shown")
+    public int rows;
+
+    /**
+     * Start timing a refresh.
+     *
+     * @param refresh "DashboardClass.method"
+     * @return the started event
+     */
+    public static DashboardRefreshEvent begin(String refresh) {
+        DashboardRefreshEvent event = new DashboardRefreshEvent();
+        event.refresh = refresh;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Record the refresh as finished.
+     *
+     * @param rowsShown the number of rows on screen
+     */
+    public void finish(int rowsShown) {
+        rows = rowsShown;
+        commit();
+    }
+}
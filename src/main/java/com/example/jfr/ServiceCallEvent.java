@@ -0,0 +1,59 @@
+package com.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for one call of a service method. Finished in a
+ * finally block:
+ *
+ * <pre>
+ * ServiceCallEvent event = ServiceCallEvent.begin("JobService.getJobById");
+ * try {
+ *     ...
+ * } finally {
+ *     event.finish();
+ * }
+ * </pre>
+ *
+ * While no recording enables the event, begin returns a shared instance
+ * that is never committed, so untraced calls allocate nothing.
+ */
+@Name("com.example.ServiceCall")
+@Label("Service Call")
+@Category({"Job Portal", "Service"})
+public class ServiceCallEvent extends jdk.jfr.Event {
+
+    private static final EventType TYPE = EventType.getEventType(ServiceCallEvent.class);
+    private static final ServiceCallEvent DISABLED = new ServiceCallEvent();
+
+    @Label("Method")
+    public String method;
+
+    /**
+     * Start timing a service method.
+     *
+     * @param method "ServiceClass.method"
+     * @return the started event, or a shared disabled one if no recording wants it
+     */
+    public static ServiceCallEvent begin(String method) {
+        if (!TYPE.isEnabled()) {
+            return DISABLED;
+        }
+        ServiceCallEvent event = new ServiceCallEvent();
+        event.method = method;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Record the call as finished, if it passes the recording's threshold.
+     */
+    public void finish() {
+        if (this != DISABLED && shouldCommit()) {
+            commit();
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.example.load;
+
+import com.example.db.DBConnection;
+import com.example.util.PasswordUtils;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Fills the database with synthetic users, jobs and applications for load
+ * tests, using batched inserts.
+ *
+ * The data is skewed like production data: a few companies post most of
+ * the jobs, a few locations have most of them, full-time jobs dominate, and
+ * a few jobs get most of the applications. Users are named
+ * "&lt;prefix&gt;-c-&lt;n&gt;" (companies) and "&lt;prefix&gt;-s-&lt;n&gt;"
+ * (students) and all share the password {@link #PASSWORD}, so
+ * {@link LoadDriver} can log in as any of them.
+ */
+public class DataGenerator {
+
+    public static final String PASSWORD = "loadtest";
+
+    static final String[] LOCATIONS = {
+        "Dhaka", "New York", "London", "Remote", "San Francisco", "Berlin", "Chittagong", "Toronto",
+        "Singapore", "Sydney", "Austin", "Chicago", "Paris", "Bangalore", "Seattle", "Amsterdam",
+        "Dublin", "Tokyo", "Boston", "Sylhet"
+    };
+    static final double LOCATION_SKEW = 1.1;
+
+    private static final String[] JOB_TYPES = {"FULL_TIME", "INTERNSHIP", "PART_TIME", "CONTRACT"};
+    private static final double JOB_TYPE_SKEW = 1.5;
+    private static final double COMPANY_SKEW = 1.0;
+    private static final double JOB_POPULARITY_SKEW = 0.8;
+    private static final String[] TITLES = {
+        "Java Developer", "Frontend Developer", "Data Analyst", "QA Engineer", "DevOps Engineer",
+        "Product Manager", "UX Designer", "Backend Engineer", "Mobile Developer", "Support Engineer"
+    };
+    private static final int ACTIVE_PERCENT = 90;
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+    private final String prefix;
+    private final int companies;
+    private final int students;
+    private final int jobs;
+    private final int applications;
+    private final int batchSize;
+    private final Random random = new Random(42);
+
+    /**
+     * @param prefix username prefix, unique per generated data set
+     * @param batchSize rows per executeBatch and per transaction
+     */
+    public DataGenerator(String prefix, int companies, int students, int jobs, int applications, int batchSize) {
+        this.prefix = prefix;
+        this.companies = companies;
+        this.students = students;
+        this.jobs = jobs;
+        this.applications = applications;
+        this.batchSize = batchSize;
+    }
+
+    static String companyUsername(String prefix, int n) {
+        return prefix + "-c-" + n;
+    }
+
+    static String studentUsername(String prefix, int n) {
+        return prefix + "-s-" + n;
+    }
+
+    /**
+     * Insert all users, jobs and applications.
+     *
+     * @throws SQLException if an insert fails, or users with this prefix exist already
+     */
+    public void generate() throws SQLException {
+        try (Connection conn = DBConnection.getConnection()) {
+            if (!findUserIds(conn, companyUsername(prefix, 0), 1).isEmpty()) {
+                throw new SQLException("Users with prefix '" + prefix + "' exist already; "
+                    + "use another prefix or skip generation");
+            }
+            conn.setAutoCommit(false);
+
+            long start = System.currentTimeMillis();
+            insertUsers(conn, "COMPANY", companies);
+            insertUsers(conn, "STUDENT", students);
+            int[] companyIds = toArray(findUserIds(conn, prefix + "-c-", companies));
+            int[] studentIds = toArray(findUserIds(conn, prefix + "-s-", students));
+            log("users", companies + students, start);
+
+            start = System.currentTimeMillis();
+            int firstJobId = maxJobId(conn) + 1;
+            insertJobs(conn, companyIds);
+            int[] jobIds = toArray(findJobIds(conn, firstJobId));
+            log("jobs", jobIds.length, start);
+
+            start = System.currentTimeMillis();
+            int inserted = insertApplications(conn, studentIds, jobIds);
+            log("applications", inserted, start);
+        }
+    }
+
+    private void insertUsers(Connection conn, String role, int count) throws SQLException {
+        String passwordHash = PasswordUtils.hashPassword(PASSWORD);
+        boolean company = role.equals("COMPANY");
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "INSERT INTO users (username, password_hash, email, role, first_name, last_name, company_name, "
+                + "phone_number) VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < count; i++) {
+                String username = company ? companyUsername(prefix, i) : studentUsername(prefix, i);
+                pstmt.setString(1, username);
+                pstmt.setString(2, passwordHash);
+                pstmt.setString(3, username + "@load.example.com");
+                pstmt.setString(4, role);
+                pstmt.setString(5, company ? null : "Student");
+                pstmt.setString(6, company ? null : String.valueOf(i));
+                pstmt.setString(7, company ? "Company " + i : null);
+                pstmt.setString(8, String.format("01%09d", i));
+                addToBatch(conn, pstmt, i + 1);
+            }
+            flush(conn, pstmt);
+        }
+    }
+
+    private void insertJobs(Connection conn, int[] companyIds) throws SQLException {
+        SkewedSampler companySampler = new SkewedSampler(companyIds.length, COMPANY_SKEW);
+        SkewedSampler locationSampler = new SkewedSampler(LOCATIONS.length, LOCATION_SKEW);
+        SkewedSampler typeSampler = new SkewedSampler(JOB_TYPES.length, JOB_TYPE_SKEW);
+        long now = System.currentTimeMillis();
+
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "INSERT INTO jobs (company_id, title, description, requirements, location, job_type, salary_range, "
+                + "salary_min, salary_max, salary_currency, deadline, is_active, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < jobs; i++) {
+                String title = TITLES[random.nextInt(TITLES.length)];
+                String location = LOCATIONS[locationSampler.next(random)];
+                int salaryMin = 20000 + random.nextInt(100) * 1000;
+                int salaryMax = salaryMin + 5000 + random.nextInt(40) * 1000;
+
+                pstmt.setInt(1, companyIds[companySampler.next(random)]);
+                pstmt.setString(2, title);
+                pstmt.setString(3, "We are hiring a " + title + " to join our team in " + location
+                    + ". You will work with a small team on products used by thousands of customers, "
+                    + "take part in design reviews and help us improve our engineering practices.");
+                pstmt.setString(4, "2+ years of experience, good communication skills, " + title + " background");
+                pstmt.setString(5, location);
+                pstmt.setString(6, JOB_TYPES[typeSampler.next(random)]);
+                pstmt.setString(7, salaryMin + "-" + salaryMax);
+                pstmt.setInt(8, salaryMin);
+                pstmt.setInt(9, salaryMax);
+                pstmt.setString(10, "USD");
+                pstmt.setDate(11, new Date(now + (1 + random.nextInt(90)) * DAY_MILLIS));
+                pstmt.setBoolean(12, random.nextInt(100) < ACTIVE_PERCENT);
+                pstmt.setTimestamp(13, new Timestamp(now - (long) (random.nextDouble() * 180 * DAY_MILLIS)));
+                addToBatch(conn, pstmt, i + 1);
+            }
+            flush(conn, pstmt);
+        }
+    }
+
+    private int insertApplications(Connection conn, int[] studentIds, int[] jobIds) throws SQLException {
+        if (studentIds.length == 0 || jobIds.length == 0) {
+            return 0;
+        }
+        SkewedSampler jobSampler = new SkewedSampler(jobIds.length, JOB_POPULARITY_SKEW);
+        String[] statuses = {"PENDING", "PENDING", "PENDING", "REVIEWED", "INTERVIEW", "REJECTED", "ACCEPTED"};
+        int perStudent = applications / studentIds.length;
+        int remainder = applications % studentIds.length;
+        int inserted = 0;
+
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "INSERT INTO applications (job_id, student_id, resume_path, cover_letter, status) "
+                + "VALUES (?, ?, ?, ?, ?)")) {
+            Set<Integer> appliedTo = new HashSet<>();
+            for (int s = 0; s < studentIds.length; s++) {
+                int count = Math.min(perStudent + (s < remainder ? 1 : 0), jobIds.length);
+                // Each student applies to a job at most once; hot jobs are picked again and again
+                appliedTo.clear();
+                for (int attempts = 0; appliedTo.size() < count && attempts < count * 10; attempts++) {
+                    int jobId = jobIds[jobSampler.next(random)];
+                    if (!appliedTo.add(jobId)) {
+                        continue;
+                    }
+                    pstmt.setInt(1, jobId);
+                    pstmt.setInt(2, studentIds[s]);
+                    pstmt.setString(3, "/resumes/" + studentUsername(prefix, s) + ".pdf");
+                    pstmt.setString(4, "Dear hiring manager, I am writing to apply for this position. "
+                        + "I have studied the relevant subjects and completed several projects in this area. "
+                        + "I would welcome the opportunity to discuss how I can contribute to your team.");
+                    pstmt.setString(5, statuses[random.nextInt(statuses.length)]);
+                    inserted++;
+                    addToBatch(conn, pstmt, inserted);
+                }
+            }
+            flush(conn, pstmt);
+        }
+        return inserted;
+    }
+
+    /**
+     * Add the current parameters to the batch, executing and committing it
+     * every {@code batchSize} rows.
+     */
+    private void addToBatch(Connection conn, PreparedStatement pstmt, int rows) throws SQLException {
+        pstmt.addBatch();
+        if (rows % batchSize == 0) {
+            flush(conn, pstmt);
+            if (rows % (batchSize * 100) == 0) {
+                System.out.println("[load] ... " + rows + " rows");
+            }
+        }
+    }
+
+    private static void flush(Connection conn, PreparedStatement pstmt) throws SQLException {
+        pstmt.executeBatch();
+        conn.commit();
+    }
+
+    private static List<Integer> findUserIds(Connection conn, String usernamePrefix, int limit) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "SELECT user_id FROM users WHERE username LIKE ? ORDER BY user_id LIMIT ?")) {
+            pstmt.setString(1, usernamePrefix + "%");
+            pstmt.setInt(2, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static int maxJobId(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT MAX(job_id) FROM jobs");
+             ResultSet rs = pstmt.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private static List<Integer> findJobIds(Connection conn, int firstJobId) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "SELECT job_id FROM jobs WHERE job_id >= ? ORDER BY job_id")) {
+            pstmt.setInt(1, firstJobId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        int[] array = new int[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+
+    private static void log(String what, int rows, long startMillis) {
+        long millis = Math.max(1, System.currentTimeMillis() - startMillis);
+        System.out.println("[load] Inserted " + rows + " " + what + " in " + millis + " ms ("
+            + rows * 1000L / millis + " rows/s)");
+    }
+}
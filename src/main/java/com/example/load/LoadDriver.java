@@ -0,0 +1,287 @@
+package com.example.load;
+
+import com.example.db.DBConnection;
+import com.example.model.Application;
+import com.example.model.Job;
+import com.example.model.User;
+import com.example.service.ApplicationService;
+import com.example.service.JobService;
+import com.example.service.UserService;
+import com.example.util.LatencyHistogram;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Multi-user load test against the configured database.
+ *
+ * Optionally generates data with {@link DataGenerator} first, then runs
+ * simulated students and companies concurrently through the services:
+ * students log in, search for jobs and apply to some of the results;
+ * companies log in and browse the job market. After the warmup, every
+ * service call is timed, and the tool reports throughput and
+ * p50/p99/p99.9 latency per operation.
+ *
+ * <pre>
+ * java -Djobportal.db.backend=h2 -cp ... com.example.load.LoadDriver --students 100000 --jobs 50000
+ * </pre>
+ * Run with {@code --help} for all options.
+ */
+public class LoadDriver {
+
+    private static final double STUDENT_ACTIVITY_SKEW = 0.6;
+    private static final int ACTIONS_PER_SESSION = 10;
+    private static final int APPLY_PERCENT = 20;
+    private static final int TYPE_FILTER_PERCENT = 50;
+    private static final String[] JOB_TYPES = {"FULL_TIME", "PART_TIME", "INTERNSHIP", "CONTRACT"};
+
+    private final String prefix;
+    private final int companies;
+    private final int students;
+    private final long thinkMillis;
+    private final Map<String, Operation> operations = new LinkedHashMap<>();
+    private volatile boolean running = true;
+
+    public LoadDriver(String prefix, int companies, int students, long thinkMillis) {
+        this.prefix = prefix;
+        this.companies = companies;
+        this.students = students;
+        this.thinkMillis = thinkMillis;
+        operations.put("authenticateUser", new Operation("authenticateUser"));
+        operations.put("searchJobs", new Operation("searchJobs"));
+        operations.put("submitApplication", new Operation("submitApplication"));
+    }
+
+    /**
+     * Run the simulated users, reset the statistics after the warmup and
+     * return once the measurement period is over.
+     *
+     * @return the measured period in nanoseconds
+     */
+    public long run(int studentThreads, int companyThreads, int warmupSeconds, int durationSeconds)
+            throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < studentThreads; i++) {
+            threads.add(new Thread(this::simulateStudents, "load-student-" + i));
+        }
+        for (int i = 0; i < companyThreads; i++) {
+            threads.add(new Thread(this::simulateCompanies, "load-company-" + i));
+        }
+        for (Thread thread : threads) {
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        System.out.println("[load] Warming up for " + warmupSeconds + " s with " + studentThreads
+            + " students and " + companyThreads + " companies");
+        TimeUnit.SECONDS.sleep(warmupSeconds);
+        for (Operation operation : operations.values()) {
+            operation.reset();
+        }
+        System.out.println("[load] Measuring for " + durationSeconds + " s");
+        long start = System.nanoTime();
+        TimeUnit.SECONDS.sleep(durationSeconds);
+        long elapsed = System.nanoTime() - start;
+
+        running = false;
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        return elapsed;
+    }
+
+    /**
+     * Format throughput and latency per operation.
+     *
+     * @param elapsedNanos the measured period
+     */
+    public String getReport(long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        StringBuilder sb = new StringBuilder(String.format("%-18s %9s %8s %9s %9s %9s %9s %10s %10s%n",
+            "Operation", "Count", "Failed", "Ops/s", "Mean(us)", "p50(us)", "p99(us)", "p99.9(us)", "Max(us)"));
+        for (Operation operation : operations.values()) {
+            LatencyHistogram latency = operation.latency;
+            sb.append(String.format("%-18s %9d %8d %9.1f %9d %9d %9d %10d %10d%n",
+                operation.name, latency.getCount(), operation.failures.sum(), latency.getCount() / seconds,
+                latency.getMean(), latency.getPercentile(50), latency.getPercentile(99),
+                latency.getPercentile(99.9), latency.getMax()));
+        }
+        return sb.toString();
+    }
+
+    private void simulateStudents() {
+        UserService userService = new UserService();
+        JobService jobService = new JobService();
+        ApplicationService applicationService = new ApplicationService();
+        SkewedSampler studentSampler = new SkewedSampler(students, STUDENT_ACTIVITY_SKEW);
+        SkewedSampler locationSampler =
+            new SkewedSampler(DataGenerator.LOCATIONS.length, DataGenerator.LOCATION_SKEW);
+        Random random = ThreadLocalRandom.current();
+
+        while (running) {
+            String username = DataGenerator.studentUsername(prefix, studentSampler.next(random));
+            User student = time("authenticateUser",
+                () -> userService.authenticateUser(username, DataGenerator.PASSWORD));
+            if (student == null) {
+                continue;
+            }
+            for (int action = 0; action < ACTIONS_PER_SESSION && running; action++) {
+                List<Job> jobs = search(jobService, locationSampler, random);
+                if (jobs != null && !jobs.isEmpty() && random.nextInt(100) < APPLY_PERCENT) {
+                    Application application = new Application(jobs.get(random.nextInt(jobs.size())).getJobId(),
+                        student.getUserId(), "/resumes/" + username + ".pdf");
+                    application.setCoverLetter("Load test application from " + username);
+                    time("submitApplication", () -> applicationService.submitApplication(application));
+                }
+                think();
+            }
+        }
+    }
+
+    private void simulateCompanies() {
+        UserService userService = new UserService();
+        JobService jobService = new JobService();
+        // Hot companies are also the most active ones
+        SkewedSampler companySampler = new SkewedSampler(companies, 1.0);
+        SkewedSampler locationSampler =
+            new SkewedSampler(DataGenerator.LOCATIONS.length, DataGenerator.LOCATION_SKEW);
+        Random random = ThreadLocalRandom.current();
+
+        while (running) {
+            String username = DataGenerator.companyUsername(prefix, companySampler.next(random));
+            User company = time("authenticateUser",
+                () -> userService.authenticateUser(username, DataGenerator.PASSWORD));
+            if (company == null) {
+                continue;
+            }
+            for (int action = 0; action < ACTIONS_PER_SESSION && running; action++) {
+                search(jobService, locationSampler, random);
+                think();
+            }
+        }
+    }
+
+    private List<Job> search(JobService jobService, SkewedSampler locationSampler, Random random) {
+        String location = DataGenerator.LOCATIONS[locationSampler.next(random)];
+        String jobType = random.nextInt(100) < TYPE_FILTER_PERCENT
+            ? JOB_TYPES[random.nextInt(JOB_TYPES.length)] : null;
+        return time("searchJobs", () -> jobService.searchJobs(location, jobType));
+    }
+
+    /**
+     * Time one service call; null and false results count as failures.
+     */
+    private <T> T time(String name, Supplier<T> call) {
+        Operation operation = operations.get(name);
+        long start = System.nanoTime();
+        T result = null;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+        operation.latency.recordNanos(System.nanoTime() - start);
+        if (result == null || Boolean.FALSE.equals(result)) {
+            operation.failures.increment();
+        }
+        return result;
+    }
+
+    private void think() {
+        if (thinkMillis > 0) {
+            try {
+                Thread.sleep(thinkMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+        }
+    }
+
+    /**
+     * Latency and failures of one service operation.
+     */
+    private static class Operation {
+        private final String name;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder failures = new LongAdder();
+
+        Operation(String name) {
+            this.name = name;
+        }
+
+        void reset() {
+            latency.reset();
+            failures.reset();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("prefix", "load");
+        options.put("companies", "1000");
+        options.put("students", "100000");
+        options.put("jobs", "50000");
+        options.put("applications", "500000");
+        options.put("batch-size", "1000");
+        options.put("student-threads", "16");
+        options.put("company-threads", "4");
+        options.put("warmup", "10");
+        options.put("duration", "60");
+        options.put("think-millis", "0");
+        boolean generate = true;
+        boolean drive = true;
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--skip-generate")) {
+                generate = false;
+            } else if (arg.equals("--generate-only")) {
+                drive = false;
+            } else if (arg.startsWith("--") && options.containsKey(arg.substring(2)) && i + 1 < args.length) {
+                options.put(arg.substring(2), args[++i]);
+            } else {
+                System.out.println("Usage: LoadDriver [--skip-generate | --generate-only] [--<option> <value> ...]");
+                System.out.println("Options and defaults: " + options);
+                System.out.println("The database is chosen with -Djobportal.db.backend (see DatabaseBackend).");
+                return;
+            }
+        }
+        String prefix = options.get("prefix");
+        if (!prefix.matches("[A-Za-z0-9]+")) {
+            System.err.println("The prefix must be alphanumeric");
+            return;
+        }
+        int companies = Integer.parseInt(options.get("companies"));
+        int students = Integer.parseInt(options.get("students"));
+
+        try {
+            if (generate) {
+                new DataGenerator(prefix, companies, students, Integer.parseInt(options.get("jobs")),
+                    Integer.parseInt(options.get("applications")), Integer.parseInt(options.get("batch-size")))
+                    .generate();
+            }
+            if (drive) {
+                LoadDriver driver = new LoadDriver(prefix, companies, students,
+                    Long.parseLong(options.get("think-millis")));
+                long elapsed = driver.run(Integer.parseInt(options.get("student-threads")),
+                    Integer.parseInt(options.get("company-threads")), Integer.parseInt(options.get("warmup")),
+                    Integer.parseInt(options.get("duration")));
+                System.out.print(driver.getReport(elapsed));
+            }
+        } catch (SQLException e) {
+            System.err.println("[load] " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            DBConnection.shutdown();
+        }
+        System.exit(0);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.load;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Picks indexes in [0, n) with a Zipf-like skew: index k is chosen with a
+ * probability proportional to 1 / (k + 1)^exponent, so a few low indexes
+ * (hot companies, popular locations) get most of the picks.
+ */
+public class SkewedSampler {
+
+    private final double[] cumulative;
+
+    /**
+     * @param n the number of indexes
+     * @param exponent the skew; 0 is uniform, around 1 is typical for popularity
+     */
+    public SkewedSampler(int n, double exponent) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n must be positive");
+        }
+        cumulative = new double[n];
+        double total = 0;
+        for (int k = 0; k < n; k++) {
+            total += 1.0 / Math.pow(k + 1, exponent);
+            cumulative[k] = total;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= total;
+        }
+    }
+
+    public int size() {
+        return cumulative.length;
+    }
+
+    /**
+     * Pick the next index.
+     */
+    public int next(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return Math.min(index, cumulative.length - 1);
+    }
+}
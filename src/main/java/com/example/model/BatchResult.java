@@ -0,0 +1,105 @@
+package com.example.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a bulk insert: how many rows were stored and why the others
+ * were not. Rows are identified by their index in the submitted list.
+ */
+public class BatchResult {
+    private int insertedCount;
+    private boolean rolledBack;
+    private final List<Failure> failures = new ArrayList<>();
+
+    public int getInsertedCount() {
+        return insertedCount;
+    }
+
+    public int getFailedCount() {
+        return failures.size();
+    }
+
+    /**
+     * Get the rows that were not stored, in row order.
+     */
+    public List<Failure> getFailures() {
+        List<Failure> sorted = new ArrayList<>(failures);
+        Collections.sort(sorted, (a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        return Collections.unmodifiableList(sorted);
+    }
+
+    public boolean isAllInserted() {
+        return failures.isEmpty();
+    }
+
+    /**
+     * Whether the whole transaction was rolled back, so that rows may have
+     * failed only because others did and can be submitted again.
+     */
+    public boolean isRolledBack() {
+        return rolledBack;
+    }
+
+    public void setRolledBack(boolean rolledBack) {
+        this.rolledBack = rolledBack;
+    }
+
+    public void addInserted(int count) {
+        insertedCount += count;
+    }
+
+    public void addFailure(int index, String reason) {
+        failures.add(new Failure(index, reason));
+    }
+
+    /**
+     * Add the outcome of a part of this batch.
+     *
+     * @param part the outcome, with rows numbered from 0 within the part
+     * @param indexes the index in this batch of each row of the part
+     */
+    public void addAll(BatchResult part, List<Integer> indexes) {
+        insertedCount += part.insertedCount;
+        rolledBack |= part.rolledBack;
+        for (Failure failure : part.failures) {
+            failures.add(new Failure(indexes.get(failure.getIndex()), failure.getReason()));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{" +
+                "inserted=" + insertedCount +
+                ", failed=" + failures.size() +
+                (rolledBack ? ", rolledBack" : "") +
+                '}';
+    }
+
+    /**
+     * A row that was not stored.
+     */
+    public static class Failure {
+        private final int index;
+        private final String reason;
+
+        public Failure(int index, String reason) {
+            this.index = index;
+            this.reason = reason;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        @Override
+        public String toString() {
+            return "row " + index + ": " + reason;
+        }
+    }
+}
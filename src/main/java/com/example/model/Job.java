@@ -14,6 +14,9 @@ public class Job {
     private String location;
     private JobType jobType;
     private String salaryRange;
+    private Integer salaryMin;
+    private Integer salaryMax;
+    private String salaryCurrency;
     private Date deadline;
     private boolean isActive;
     private Date createdAt;
@@ -102,6 +105,30 @@ public class Job {
         this.salaryRange = salaryRange;
     }
     
+    public Integer getSalaryMin() {
+        return salaryMin;
+    }
+    
+    public void setSalaryMin(Integer salaryMin) {
+        this.salaryMin = salaryMin;
+    }
+    
+    public Integer getSalaryMax() {
+        return salaryMax;
+    }
+    
+    public void setSalaryMax(Integer salaryMax) {
+        this.salaryMax = salaryMax;
+    }
+    
+    public String getSalaryCurrency() {
+        return salaryCurrency;
+    }
+    
+    public void setSalaryCurrency(String salaryCurrency) {
+        this.salaryCurrency = salaryCurrency;
+    }
+    
     public Date getDeadline() {
         return deadline;
     }
@@ -0,0 +1,120 @@
+package com.example.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Number of active jobs per job type and per location for a search.
+ * Each facet ignores its own filter, so the counts show how many jobs
+ * every other choice would return: type counts apply only the location
+ * filter, location counts only the job type filter.
+ */
+public class JobFacets {
+
+    /**
+     * Number of active jobs with one job type and location.
+     */
+    public static class Bucket {
+        private final Job.JobType jobType;
+        private final String location;
+        private final int count;
+
+        public Bucket(Job.JobType jobType, String location, int count) {
+            this.jobType = jobType;
+            this.location = location;
+            this.count = count;
+        }
+
+        public Job.JobType getJobType() {
+            return jobType;
+        }
+
+        public String getLocation() {
+            return location;
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+
+    private final Map<Job.JobType, Integer> typeCounts;
+    private final Map<String, Integer> locationCounts;
+    private final int total;
+
+    private JobFacets(Map<Job.JobType, Integer> typeCounts, Map<String, Integer> locationCounts, int total) {
+        this.typeCounts = Collections.unmodifiableMap(typeCounts);
+        this.locationCounts = Collections.unmodifiableMap(locationCounts);
+        this.total = total;
+    }
+
+    /**
+     * Compute the facets of a search from the per (job type, location) counts.
+     *
+     * @param buckets the counts of all active jobs
+     * @param location the location filter, matched as a case-insensitive substring (optional)
+     * @param jobType the job type filter (optional)
+     * @param topLocations the maximum number of locations to return
+     * @return the facets
+     */
+    public static JobFacets aggregate(List<Bucket> buckets, String location, Job.JobType jobType, int topLocations) {
+        String locationFilter = location != null ? location.trim().toLowerCase(Locale.ROOT) : "";
+        Map<Job.JobType, Integer> typeCounts = new EnumMap<>(Job.JobType.class);
+        for (Job.JobType type : Job.JobType.values()) {
+            typeCounts.put(type, 0);
+        }
+        Map<String, Integer> allLocationCounts = new HashMap<>();
+        int total = 0;
+
+        for (Bucket bucket : buckets) {
+            boolean locationMatches = bucket.location.toLowerCase(Locale.ROOT).contains(locationFilter);
+            boolean typeMatches = jobType == null || bucket.jobType == jobType;
+            if (locationMatches) {
+                typeCounts.put(bucket.jobType, typeCounts.get(bucket.jobType) + bucket.count);
+            }
+            if (typeMatches) {
+                Integer count = allLocationCounts.get(bucket.location);
+                allLocationCounts.put(bucket.location, (count != null ? count : 0) + bucket.count);
+            }
+            if (locationMatches && typeMatches) {
+                total += bucket.count;
+            }
+        }
+
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(allLocationCounts.entrySet());
+        Collections.sort(entries, (a, b) -> a.getValue().equals(b.getValue())
+            ? a.getKey().compareTo(b.getKey()) : b.getValue() - a.getValue());
+        Map<String, Integer> locationCounts = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> entry : entries.subList(0, Math.min(topLocations, entries.size()))) {
+            locationCounts.put(entry.getKey(), entry.getValue());
+        }
+        return new JobFacets(typeCounts, locationCounts, total);
+    }
+
+    /**
+     * @return the number of jobs per job type, for every job type
+     */
+    public Map<Job.JobType, Integer> getTypeCounts() {
+        return typeCounts;
+    }
+
+    /**
+     * @return the most common locations with their number of jobs, most jobs first
+     */
+    public Map<String, Integer> getLocationCounts() {
+        return locationCounts;
+    }
+
+    /**
+     * @return the number of jobs matching both filters
+     */
+    public int getTotal() {
+        return total;
+    }
+}
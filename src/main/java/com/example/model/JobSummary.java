@@ -0,0 +1,98 @@
+package com.example.model;
+
+import java.util.Date;
+
+/**
+ * Lightweight projection of a job posting used by job lists.
+ * Leaves out the description and requirements text, which are only
+ * loaded when a single job is opened.
+ */
+public class JobSummary {
+    private int jobId;
+    private int companyId;
+    private String title;
+    private String location;
+    private Job.JobType jobType;
+    private Date deadline;
+    private boolean isActive;
+    private Date createdAt;
+
+    // Constructors
+    public JobSummary() {}
+
+    // Getters and Setters
+    public int getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(int jobId) {
+        this.jobId = jobId;
+    }
+
+    public int getCompanyId() {
+        return companyId;
+    }
+
+    public void setCompanyId(int companyId) {
+        this.companyId = companyId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public Job.JobType getJobType() {
+        return jobType;
+    }
+
+    public void setJobType(Job.JobType jobType) {
+        this.jobType = jobType;
+    }
+
+    public Date getDeadline() {
+        return deadline;
+    }
+
+    public void setDeadline(Date deadline) {
+        this.deadline = deadline;
+    }
+
+    public boolean isActive() {
+        return isActive;
+    }
+
+    public void setActive(boolean active) {
+        isActive = active;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "JobSummary{" +
+                "jobId=" + jobId +
+                ", title='" + title + '\'' +
+                ", location='" + location + '\'' +
+                ", jobType=" + jobType +
+                ", deadline=" + deadline +
+                '}';
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of results from a paged query.
+ * The cursor is opaque to callers; pass it back to fetch the next page.
+ */
+public class Page<T> {
+    private final List<T> items;
+    private final String nextCursor;
+
+    public Page(List<T> items, String nextCursor) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Get the cursor for the following page.
+     *
+     * @return the cursor, or null if this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+
+    @Override
+    public String toString() {
+        return "Page{" +
+                "items=" + items.size() +
+                ", hasMore=" + hasMore() +
+                '}';
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.model;
+
+/**
+ * Annual salary bounds parsed from a job's free-form salary text.
+ */
+public class SalaryRange {
+    private final int min;
+    private final int max;
+    private final String currency;
+
+    public SalaryRange(int min, int max, String currency) {
+        this.min = min;
+        this.max = max;
+        this.currency = currency;
+    }
+
+    public int getMin() {
+        return min;
+    }
+
+    public int getMax() {
+        return max;
+    }
+
+    /**
+     * @return the ISO 4217 currency code, or null if the text did not name one
+     */
+    public String getCurrency() {
+        return currency;
+    }
+
+    @Override
+    public String toString() {
+        return "SalaryRange{" +
+                "min=" + min +
+                ", max=" + max +
+                ", currency=" + currency +
+                '}';
+    }
+}
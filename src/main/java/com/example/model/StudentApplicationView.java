@@ -0,0 +1,87 @@
+package com.example.model;
+
+import java.util.Date;
+
+/**
+ * Read-only view of a student's application together with the job and
+ * company it was made to, as shown in the application tracker.
+ */
+public class StudentApplicationView {
+    private int applicationId;
+    private int jobId;
+    private Application.ApplicationStatus status;
+    private Date appliedAt;
+    private String jobTitle;
+    private String companyName;
+    private String location;
+
+    // Constructors
+    public StudentApplicationView() {}
+
+    // Getters and Setters
+    public int getApplicationId() {
+        return applicationId;
+    }
+
+    public void setApplicationId(int applicationId) {
+        this.applicationId = applicationId;
+    }
+
+    public int getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(int jobId) {
+        this.jobId = jobId;
+    }
+
+    public Application.ApplicationStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(Application.ApplicationStatus status) {
+        this.status = status;
+    }
+
+    public Date getAppliedAt() {
+        return appliedAt;
+    }
+
+    public void setAppliedAt(Date appliedAt) {
+        this.appliedAt = appliedAt;
+    }
+
+    public String getJobTitle() {
+        return jobTitle;
+    }
+
+    public void setJobTitle(String jobTitle) {
+        this.jobTitle = jobTitle;
+    }
+
+    public String getCompanyName() {
+        return companyName;
+    }
+
+    public void setCompanyName(String companyName) {
+        this.companyName = companyName;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    @Override
+    public String toString() {
+        return "StudentApplicationView{" +
+                "applicationId=" + applicationId +
+                ", jobTitle='" + jobTitle + '\'' +
+                ", companyName='" + companyName + '\'' +
+                ", status=" + status +
+                '}';
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.model;
+
+/**
+ * Outcome of submitting a job application.
+ */
+public enum SubmitResult {
+    /** The application was stored. */
+    CREATED,
+    /** The student had already applied to this job. */
+    DUPLICATE,
+    /** The job does not exist or is no longer accepting applications. */
+    JOB_CLOSED,
+    /** The application was missing required data. */
+    INVALID,
+    /** The database rejected the insert for another reason. */
+    FAILED
+}
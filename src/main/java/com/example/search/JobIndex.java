@@ -0,0 +1,224 @@
+package com.example.search;
+
+import com.example.model.Job;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Immutable in-memory inverted index over the title, description,
+ * requirements and location of a set of jobs, ranked with BM25.
+ *
+ * Words in a query must all match; separate them with OR to match any
+ * of them instead, e.g. {@code "java OR kotlin"}. Title words count
+ * {@value #TITLE_WEIGHT} times, so jobs matching in the title rank first.
+ * The index is safe to share between threads.
+ */
+public class JobIndex {
+
+    /** BM25 term frequency saturation. */
+    private static final double K1 = 1.2;
+    /** BM25 document length normalization. */
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 3;
+
+    private final int[] jobIds;
+    private final int[] documentLengths;
+    private final long totalLength;
+    private final Map<String, PostingList> postings;
+
+    private JobIndex(int[] jobIds, int[] documentLengths, Map<String, PostingList> postings) {
+        this.jobIds = jobIds;
+        this.documentLengths = documentLengths;
+        this.postings = postings;
+        long total = 0;
+        for (int length : documentLengths) {
+            total += length;
+        }
+        this.totalLength = total;
+    }
+
+    /**
+     * Build an index over the given jobs.
+     *
+     * @param jobs the jobs, with description and requirements loaded
+     * @return the index
+     */
+    public static JobIndex build(List<Job> jobs) {
+        int[] jobIds = new int[jobs.size()];
+        int[] documentLengths = new int[jobs.size()];
+        Map<String, PostingList.Builder> builders = new HashMap<>();
+
+        for (int doc = 0; doc < jobs.size(); doc++) {
+            Job job = jobs.get(doc);
+            Map<String, int[]> frequencies = new HashMap<>();
+            int length = addTerms(frequencies, job.getTitle(), TITLE_WEIGHT)
+                + addTerms(frequencies, job.getDescription(), 1)
+                + addTerms(frequencies, job.getRequirements(), 1)
+                + addTerms(frequencies, job.getLocation(), 1);
+
+            jobIds[doc] = job.getJobId();
+            documentLengths[doc] = length;
+            for (Map.Entry<String, int[]> entry : frequencies.entrySet()) {
+                PostingList.Builder builder = builders.get(entry.getKey());
+                if (builder == null) {
+                    builder = new PostingList.Builder();
+                    builders.put(entry.getKey(), builder);
+                }
+                builder.add(doc, entry.getValue()[0]);
+            }
+        }
+
+        Map<String, PostingList> postings = new HashMap<>(builders.size() * 2);
+        for (Map.Entry<String, PostingList.Builder> entry : builders.entrySet()) {
+            postings.put(entry.getKey(), entry.getValue().build());
+        }
+        return new JobIndex(jobIds, documentLengths, postings);
+    }
+
+    private static int addTerms(Map<String, int[]> frequencies, String text, int weight) {
+        List<String> terms = Tokenizer.tokenize(text);
+        for (String term : terms) {
+            int[] count = frequencies.get(term);
+            if (count == null) {
+                frequencies.put(term, new int[] {weight});
+            } else {
+                count[0] += weight;
+            }
+        }
+        return terms.size() * weight;
+    }
+
+    /**
+     * Search with a query string.
+     *
+     * @param query words to match, optionally separated by OR
+     * @param limit the maximum number of hits
+     * @return the best hits, highest score first
+     */
+    public List<SearchHit> search(String query, int limit) {
+        return search(Tokenizer.tokenize(query), isMatchAll(query), limit);
+    }
+
+    /**
+     * @return false if the query separates its words with OR
+     */
+    static boolean isMatchAll(String query) {
+        for (String word : query.trim().split("\\s+")) {
+            if (word.equals("OR")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Search for jobs containing all or any of the given terms.
+     *
+     * @param terms the lower-case terms
+     * @param matchAll true to require every term (AND), false to require any (OR)
+     * @param limit the maximum number of hits
+     * @return the best hits, highest score first
+     */
+    public List<SearchHit> search(List<String> terms, boolean matchAll, int limit) {
+        return search(terms, matchAll, limit, null);
+    }
+
+    /**
+     * Search this index, scoring as if its documents and those of another
+     * index formed one collection. Hits from both indexes can then be
+     * merged by score.
+     *
+     * @param other the index sharing the collection statistics, or null
+     */
+    List<SearchHit> search(List<String> terms, boolean matchAll, int limit, JobIndex other) {
+        int collectionSize = jobIds.length + (other != null ? other.jobIds.length : 0);
+        long collectionLength = totalLength + (other != null ? other.totalLength : 0);
+        double averageDocumentLength = collectionSize == 0 ? 0 : (double) collectionLength / collectionSize;
+
+        Set<String> uniqueTerms = new LinkedHashSet<>(terms);
+        if (uniqueTerms.isEmpty() || jobIds.length == 0 || limit < 1) {
+            return Collections.emptyList();
+        }
+
+        double[] scores = new double[jobIds.length];
+        int[] matchedTerms = new int[jobIds.length];
+        for (String term : uniqueTerms) {
+            PostingList list = postings.get(term);
+            if (list == null) {
+                if (matchAll) {
+                    return Collections.emptyList();
+                }
+                continue;
+            }
+            int documentFrequency = list.getDocumentFrequency() + (other != null ? other.documentFrequency(term) : 0);
+            double idf = Math.log(1 + (collectionSize - documentFrequency + 0.5) / (documentFrequency + 0.5));
+            PostingList.Cursor cursor = list.cursor();
+            while (cursor.next()) {
+                int doc = cursor.doc();
+                scores[doc] += idf * termScore(cursor.frequency(), documentLengths[doc], averageDocumentLength);
+                matchedTerms[doc]++;
+            }
+        }
+
+        int required = matchAll ? uniqueTerms.size() : 1;
+        PriorityQueue<Integer> best = new PriorityQueue<>(limit + 1,
+            (a, b) -> scores[a] != scores[b] ? Double.compare(scores[a], scores[b]) : Integer.compare(b, a));
+        for (int doc = 0; doc < jobIds.length; doc++) {
+            if (matchedTerms[doc] >= required) {
+                best.add(doc);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+
+        List<SearchHit> hits = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            int doc = best.poll();
+            hits.add(new SearchHit(jobIds[doc], scores[doc]));
+        }
+        Collections.reverse(hits);
+        return hits;
+    }
+
+    private int documentFrequency(String term) {
+        PostingList list = postings.get(term);
+        return list != null ? list.getDocumentFrequency() : 0;
+    }
+
+    private static double termScore(int frequency, int documentLength, double averageDocumentLength) {
+        double norm = K1 * (1 - B + B * documentLength / averageDocumentLength);
+        return frequency * (K1 + 1) / (frequency + norm);
+    }
+
+    /**
+     * @return the number of indexed jobs
+     */
+    public int getDocumentCount() {
+        return jobIds.length;
+    }
+
+    /**
+     * @return the number of distinct terms
+     */
+    public int getTermCount() {
+        return postings.size();
+    }
+
+    /**
+     * @return the total encoded size of all posting lists in bytes
+     */
+    public long getPostingSizeBytes() {
+        long total = 0;
+        for (PostingList list : postings.values()) {
+            total += list.getSizeBytes();
+        }
+        return total;
+    }
+}
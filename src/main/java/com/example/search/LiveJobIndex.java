@@ -0,0 +1,110 @@
+package com.example.search;
+
+import com.example.model.Job;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keyword index that can take changed jobs without a full rebuild.
+ *
+ * It consists of a large base {@link JobIndex} and a small delta index
+ * holding only the jobs changed since the base was built. Base entries of
+ * changed jobs are masked, so applying changes costs time proportional to
+ * the number of changed jobs, not to the size of the base. Both parts are
+ * scored with their combined statistics. Rebuild the whole index once
+ * {@link #getPendingChangeCount()} grows large to keep the delta small.
+ *
+ * Searches are lock-free and safe to run concurrently with updates.
+ */
+public class LiveJobIndex {
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * @param activeJobs the active jobs to index
+     */
+    public LiveJobIndex(List<Job> activeJobs) {
+        snapshot = new Snapshot(JobIndex.build(activeJobs), JobIndex.build(Collections.<Job>emptyList()),
+            Collections.<Integer, Job>emptyMap(), Collections.<Integer>emptySet());
+    }
+
+    /**
+     * Apply changed jobs. Inactive jobs are removed from the index.
+     *
+     * @param changedJobs the changed jobs with description and requirements loaded
+     */
+    public synchronized void apply(Collection<Job> changedJobs) {
+        Snapshot current = snapshot;
+        Map<Integer, Job> deltaJobs = new HashMap<>(current.deltaJobs);
+        Set<Integer> masked = new HashSet<>(current.masked);
+        for (Job job : changedJobs) {
+            masked.add(job.getJobId());
+            if (job.isActive()) {
+                deltaJobs.put(job.getJobId(), job);
+            } else {
+                deltaJobs.remove(job.getJobId());
+            }
+        }
+        snapshot = new Snapshot(current.base, JobIndex.build(new ArrayList<>(deltaJobs.values())), deltaJobs, masked);
+    }
+
+    /**
+     * Search with a query string.
+     *
+     * @param query words to match, optionally separated by OR
+     * @param limit the maximum number of hits
+     * @return the best hits, highest score first
+     */
+    public List<SearchHit> search(String query, int limit) {
+        Snapshot current = snapshot;
+        List<String> terms = Tokenizer.tokenize(query);
+        boolean matchAll = JobIndex.isMatchAll(query);
+
+        List<SearchHit> hits = new ArrayList<>();
+        // Ask for extra base hits to make up for the masked ones
+        for (SearchHit hit : current.base.search(terms, matchAll, limit + current.masked.size(), current.delta)) {
+            if (!current.masked.contains(hit.getJobId())) {
+                hits.add(hit);
+            }
+        }
+        hits.addAll(current.delta.search(terms, matchAll, limit, current.base));
+
+        Collections.sort(hits, (a, b) -> Double.compare(b.getScore(), a.getScore()));
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    /**
+     * @return the number of jobs changed since the base index was built
+     */
+    public int getPendingChangeCount() {
+        return snapshot.masked.size();
+    }
+
+    /**
+     * @return the number of searchable jobs, approximately
+     */
+    public int getDocumentCount() {
+        Snapshot current = snapshot;
+        return current.base.getDocumentCount() + current.delta.getDocumentCount();
+    }
+
+    private static final class Snapshot {
+        final JobIndex base;
+        final JobIndex delta;
+        final Map<Integer, Job> deltaJobs;
+        final Set<Integer> masked;
+
+        Snapshot(JobIndex base, JobIndex delta, Map<Integer, Job> deltaJobs, Set<Integer> masked) {
+            this.base = base;
+            this.delta = delta;
+            this.deltaJobs = deltaJobs;
+            this.masked = masked;
+        }
+    }
+}
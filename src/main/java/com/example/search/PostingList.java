@@ -0,0 +1,126 @@
+package com.example.search;
+
+import java.util.Arrays;
+
+/**
+ * The documents containing one term, stored as variable-length encoded
+ * (document gap, term frequency) pairs in ascending document order.
+ * Most gaps and frequencies fit in one byte, so a posting costs about two
+ * bytes instead of the eight of a pair of ints.
+ */
+class PostingList {
+
+    private final byte[] data;
+    private final int documentFrequency;
+
+    private PostingList(byte[] data, int documentFrequency) {
+        this.data = data;
+        this.documentFrequency = documentFrequency;
+    }
+
+    /**
+     * @return the number of documents containing the term
+     */
+    int getDocumentFrequency() {
+        return documentFrequency;
+    }
+
+    /**
+     * @return the encoded size in bytes
+     */
+    int getSizeBytes() {
+        return data.length;
+    }
+
+    /**
+     * @return a new cursor positioned before the first posting
+     */
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Forward-only reader over the postings.
+     */
+    class Cursor {
+        private int offset;
+        private int doc = -1;
+        private int frequency;
+
+        /**
+         * Move to the next posting.
+         *
+         * @return false if there are no more postings
+         */
+        boolean next() {
+            if (offset >= data.length) {
+                return false;
+            }
+            doc += readVarInt();
+            frequency = readVarInt();
+            return true;
+        }
+
+        int doc() {
+            return doc;
+        }
+
+        int frequency() {
+            return frequency;
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+
+    /**
+     * Collects postings in ascending document order.
+     */
+    static class Builder {
+        private byte[] data = new byte[8];
+        private int length;
+        private int lastDoc = -1;
+        private int documentFrequency;
+
+        /**
+         * Append a posting.
+         *
+         * @param doc the document number, greater than the previous one
+         * @param frequency the number of occurrences of the term in the document
+         */
+        void add(int doc, int frequency) {
+            if (doc <= lastDoc) {
+                throw new IllegalArgumentException("Documents must be added in ascending order");
+            }
+            // The first gap is relative to -1, so every gap is at least 1
+            writeVarInt(doc - lastDoc);
+            writeVarInt(frequency);
+            lastDoc = doc;
+            documentFrequency++;
+        }
+
+        PostingList build() {
+            return new PostingList(Arrays.copyOf(data, length), documentFrequency);
+        }
+
+        private void writeVarInt(int value) {
+            if (length + 5 > data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            while ((value & ~0x7F) != 0) {
+                data[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[length++] = (byte) value;
+        }
+    }
+}
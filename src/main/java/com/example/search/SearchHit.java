@@ -0,0 +1,27 @@
+package com.example.search;
+
+/**
+ * A job matching a keyword search, with its BM25 relevance score.
+ */
+public class SearchHit {
+    private final int jobId;
+    private final double score;
+
+    public SearchHit(int jobId, double score) {
+        this.jobId = jobId;
+        this.score = score;
+    }
+
+    public int getJobId() {
+        return jobId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchHit{jobId=" + jobId + ", score=" + score + '}';
+    }
+}
@@ -1,7 +1,16 @@
 package com.example.service;
 
 import com.example.dao.ApplicationDAO;
+import com.example.dao.RowHandler;
+import com.example.db.DBConnection;
+import com.example.jfr.ServiceCallEvent;
 import com.example.model.Application;
+import com.example.model.BatchResult;
+import com.example.model.StudentApplicationView;
+import com.example.model.SubmitResult;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -11,6 +20,7 @@ import java.util.List;
 public class ApplicationService {
     
     private ApplicationDAO applicationDAO;
+    private int batchSize = DBConnection.getBatchSize();
     
     public ApplicationService() {
         this.applicationDAO = new ApplicationDAO();
@@ -23,19 +33,93 @@ public class ApplicationService {
      * @return true if submission is successful
      */
     public boolean submitApplication(Application application) {
-        // Check if student has already applied for this job
-        if (applicationDAO.hasApplied(application.getJobId(), application.getStudentId())) {
-            System.err.println("Student has already applied for this job");
-            return false;
+        ServiceCallEvent event = ServiceCallEvent.begin("ApplicationService.submitApplication");
+        try {
+            return submit(application) == SubmitResult.CREATED;
+        } finally {
+            event.finish();
         }
-        
-        // Validate required fields
-        if (application.getJobId() <= 0 || application.getStudentId() <= 0) {
-            System.err.println("Invalid job ID or student ID");
-            return false;
+    }
+    
+    /**
+     * Submit a new job application in a single database round trip.
+     * Duplicate applications are detected by the unique (job_id, student_id)
+     * key rather than a separate check, so no hasApplied call is needed first.
+     * 
+     * @param application the application to submit
+     * @return the outcome of the submission
+     */
+    public SubmitResult submit(Application application) {
+        ServiceCallEvent event = ServiceCallEvent.begin("ApplicationService.submit");
+        try {
+            // Validate required fields
+            if (application.getJobId() <= 0 || application.getStudentId() <= 0) {
+                System.err.println("Invalid job ID or student ID");
+                return SubmitResult.INVALID;
+            }
+            
+            SubmitResult result = applicationDAO.createApplicationIfOpen(application);
+            if (result == SubmitResult.DUPLICATE) {
+                System.err.println("Student has already applied for this job");
+            }
+            return result;
+        } finally {
+            event.finish();
+        }
+    }
+    
+    /**
+     * Submit many applications at once, with batched inserts in a single
+     * transaction. Each application is checked like in {@link #submit}:
+     * invalid applications, applications to closed or missing jobs and
+     * duplicates are reported, and the others are stored.
+     * 
+     * @param applications the applications to submit
+     * @return the outcome, with failures identified by their index in the list
+     */
+    public BatchResult submitApplications(List<Application> applications) {
+        ServiceCallEvent event = ServiceCallEvent.begin("ApplicationService.submitApplications");
+        try {
+            BatchResult result = new BatchResult();
+            List<Application> valid = new ArrayList<>();
+            List<Integer> validIndexes = new ArrayList<>();
+            for (int i = 0; i < applications.size(); i++) {
+                Application application = applications.get(i);
+                if (application.getJobId() <= 0 || application.getStudentId() <= 0) {
+                    result.addFailure(i, "Invalid job ID or student ID");
+                    continue;
+                }
+                valid.add(application);
+                validIndexes.add(i);
+            }
+            if (!valid.isEmpty()) {
+                result.addAll(applicationDAO.createApplicationsIfOpen(valid, batchSize), validIndexes);
+            }
+            return result;
+        } finally {
+            event.finish();
+        }
+    }
+    
+    /**
+     * Get the number of rows submitApplications sends to the database per batch.
+     * 
+     * @return the batch size
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+    
+    /**
+     * Set the number of rows submitApplications sends to the database per batch.
+     * 
+     * @param batchSize the batch size, at least 1
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
         }
-        
-        return applicationDAO.createApplication(application);
+        this.batchSize = batchSize;
     }
     
     /**
@@ -45,7 +129,12 @@ public class ApplicationService {
      * @return the Application object
      */
     public Application getApplicationById(int applicationId) {
-        return applicationDAO.getApplicationById(applicationId);
+        ServiceCallEvent event = ServiceCallEvent.begin("ApplicationService.getApplicationById");
+        try {
+            return applicationDAO.getApplicationById(applicationId);
+        } finally {
+            event.finish();
+        }
     }
     
     /**
@@ -55,7 +144,28 @@ public class ApplicationService {
      * @return list of applications from the student
      */
     public List<Application> getApplicationsByStudentId(int studentId) {
-        return applicationDAO.getApplicationsByStudentId(studentId);
+        ServiceCallEvent event = ServiceCallEvent.begin("ApplicationService.getApplicationsByStudentId");
+        try {
+            return applicationDAO.getApplicationsByStudentId(studentId);
+        } finally {
+            event.finish();
+        }
+    }
+    
+    /**
+     * Get all applications by a student together with the job title,
+     * company name and location, loaded in one query.
+     * 
+     * @param studentId the student ID
+     * @return list of application views, newest first
+     */
+    public List<StudentApplicationView> getApplicationViewsByStudentId(int studentId) {
+        ServiceCallEvent event = ServiceCallEvent.begin("ApplicationService.getApplicationViewsByStudentId");
+        try {
+            return applicationDAO.getApplicationViewsByStudentId(studentId);
+        } finally {
+            event.finish();
+        }
     }
     
     /**
@@ -65,7 +175,33 @@ public class ApplicationService {
      * @return list of applications for the job
      */
     public List<Application> getApplicationsByJobId(int jobId) {
-        return applicationDAO.getApplicationsByJobId(jobId);
+        ServiceCallEvent event = ServiceCallEvent.begin("ApplicationService.getApplicationsByJobId");
+        try {
+            return applicationDAO.getApplicationsByJobId(jobId);
+        } finally {
+            event.finish();
+        }
+    }
+    
+    /**
+     * Stream all applications for a job to a handler, oldest first. Unlike
+     * {@link #getApplicationsByJobId}, the applications are not collected in
+     * a list, so memory use does not depend on how many there are.
+     * 
+     * @param jobId the job ID
+     * @param handler receives each application
+     * @return the number of applications streamed
+     * @throws SQLException if the query fails
+     * @throws IOException if the handler fails
+     */
+    public int streamApplicationsByJobId(int jobId, RowHandler<Application> handler)
+            throws SQLException, IOException {
+        ServiceCallEvent event = ServiceCallEvent.begin("ApplicationService.streamApplicationsByJobId");
+        try {
+            return applicationDAO.streamApplicationsByJobId(jobId, handler);
+        } finally {
+            event.finish();
+        }
     }
     
     /**
@@ -76,7 +212,12 @@ public class ApplicationService {
      * @return true if update is successful
      */
     public boolean updateApplicationStatus(int applicationId, Application.ApplicationStatus status) {
-        return applicationDAO.updateApplicationStatus(applicationId, status);
+        ServiceCallEvent event = ServiceCallEvent.begin("ApplicationService.updateApplicationStatus");
+        try {
+            return applicationDAO.updateApplicationStatus(applicationId, status);
+        } finally {
+            event.finish();
+        }
     }
     
     /**
@@ -87,6 +228,11 @@ public class ApplicationService {
      * @return true if student has already applied
      */
     public boolean hasApplied(int jobId, int studentId) {
-        return applicationDAO.hasApplied(jobId, studentId);
+        ServiceCallEvent event = ServiceCallEvent.begin("ApplicationService.hasApplied");
+        try {
+            return applicationDAO.hasApplied(jobId, studentId);
+        } finally {
+            event.finish();
+        }
     }
 }
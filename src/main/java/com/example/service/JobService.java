@@ -1,16 +1,104 @@
 package com.example.service;
 
+import com.example.dao.JobChangePoller;
+import com.example.dao.JobCursor;
 import com.example.dao.JobDAO;
+import com.example.db.DBConnection;
+import com.example.jfr.ServiceCallEvent;
+import com.example.model.BatchResult;
 import com.example.model.Job;
+import com.example.model.JobFacets;
+import com.example.model.JobSummary;
+import com.example.model.Page;
+import com.example.model.SalaryRange;
+import com.example.search.LiveJobIndex;
+import com.example.search.SearchHit;
+import com.example.util.JmxUtils;
+import com.example.util.SalaryParser;
+import com.example.util.TtlCache;
+import com.example.util.TtlCacheMXBean;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Service class for job-related operations.
  * Handles job posting, searching, and management.
+ * 
+ * Jobs loaded by ID are kept in a cache shared by all instances and
+ * registered with JMX as {@value #JOB_CACHE_MBEAN_NAME}. Writes through
+ * this service invalidate the affected entry; changes made elsewhere
+ * become visible once the entry expires.
+ * 
+ * Job searches cache the matching job IDs per filter combination
+ * ({@value #SEARCH_CACHE_MBEAN_NAME}) and build pages from cached job
+ * summaries, so repeating a search does not touch the database. Any job
+ * write through this service drops all cached search results, and results
+ * older than a minute are looked up again to pick up other clients' posts.
+ * The memory budget of the search cache defaults to 4 MB and can be changed
+ * with the {@value #SEARCH_CACHE_BUDGET_PROPERTY} system property or through JMX.
+ * 
+ * Keyword searches run against an in-memory {@link LiveJobIndex} of all
+ * active jobs, built on first use. Job writes through this service are
+ * applied to it directly.
+ * 
+ * {@link #startChangePolling()} additionally applies changes made by other
+ * clients as they are found in jobs.updated_at, so the caches and the index
+ * follow the database at the cost of the changed rows only. Without it,
+ * other clients' changes show up when cache entries expire and the index
+ * is rebuilt after the job cache TTL.
  */
 public class JobService {
     
+    /** Default number of jobs per page for paged searches. */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    
+    public static final String JOB_CACHE_MBEAN_NAME = "com.example.service:type=JobCache";
+    private static final int JOB_CACHE_SIZE = 1000;
+    private static final long JOB_CACHE_TTL_MILLIS = 5 * 60 * 1000L;
+    
+    public static final String SEARCH_CACHE_MBEAN_NAME = "com.example.service:type=SearchResultCache";
+    public static final String SEARCH_CACHE_BUDGET_PROPERTY = "jobportal.searchCache.budgetBytes";
+    private static final long DEFAULT_SEARCH_CACHE_BUDGET_BYTES = 4 * 1024 * 1024L;
+    private static final long SEARCH_CACHE_MAX_AGE_MILLIS = 60 * 1000L;
+    public static final String SUMMARY_CACHE_MBEAN_NAME = "com.example.service:type=JobSummaryCache";
+    private static final int SUMMARY_CACHE_SIZE = 5000;
+    
+    private static final TtlCache<Integer, Job> jobCache = createJobCache();
+    private static final TtlCache<Integer, JobSummary> summaryCache = createSummaryCache();
+    private static final SearchResultCache searchCache = createSearchCache();
+    
+    /** Number of locations returned by getJobFacets. */
+    public static final int TOP_LOCATION_FACETS = 5;
+    private static List<JobFacets.Bucket> facetBuckets;
+    private static long facetBucketsGeneration;
+    private static long facetBucketsLoadedAt;
+    
+    /** Maximum number of jobs returned by a keyword search. */
+    public static final int MAX_KEYWORD_RESULTS = 200;
+    /** Rebuild the keyword index once this many jobs changed since it was built. */
+    private static final int MAX_PENDING_INDEX_CHANGES = 500;
+    private static final Object KEYWORD_INDEX_BUILD_LOCK = new Object();
+    private static LiveJobIndex keywordIndex;
+    private static long keywordIndexBuiltAt;
+    /** Changes to apply to the index being built; null while no build runs. */
+    private static List<Job> keywordIndexChangesDuringBuild;
+    private static boolean keywordIndexDroppedDuringBuild;
+    
+    public static final String CHANGE_POLL_INTERVAL_PROPERTY = "jobportal.changePoll.intervalMillis";
+    private static final long DEFAULT_CHANGE_POLL_INTERVAL_MILLIS = 10 * 1000L;
+    private static final Object CHANGE_POLLER_LOCK = new Object();
+    private static volatile JobChangePoller changePoller;
+    
     private JobDAO jobDAO;
+    private int pageSize = DEFAULT_PAGE_SIZE;
+    private int batchSize = DBConnection.getBatchSize();
     
     public JobService() {
         this.jobDAO = new JobDAO();
@@ -23,26 +111,102 @@ public class JobService {
      * @return true if posting is successful
      */
     public boolean postJob(Job job) {
-        // Validate required fields
+        ServiceCallEvent event = ServiceCallEvent.begin("JobService.postJob");
+        try {
+            String problem = validateJob(job);
+            if (problem != null) {
+                System.err.println(problem);
+                return false;
+            }
+            
+            applySalaryBounds(job);
+            if (!jobDAO.createJob(job)) {
+                return false;
+            }
+            jobWritten(job.getJobId());
+            return true;
+        } finally {
+            event.finish();
+        }
+    }
+    
+    /**
+     * Post many jobs at once, with batched inserts in a single transaction.
+     * Jobs are validated like in {@link #postJob}; invalid jobs and jobs the
+     * database rejects are reported and the others are stored. On success
+     * the generated ID is set on every stored job.
+     * 
+     * @param jobs the jobs to post
+     * @return the outcome, with failures identified by their index in the list
+     */
+    public BatchResult postJobs(List<Job> jobs) {
+        ServiceCallEvent event = ServiceCallEvent.begin("JobService.postJobs");
+        try {
+            BatchResult result = new BatchResult();
+            List<Job> valid = new ArrayList<>();
+            List<Integer> validIndexes = new ArrayList<>();
+            for (int i = 0; i < jobs.size(); i++) {
+                Job job = jobs.get(i);
+                String problem = validateJob(job);
+                if (problem != null) {
+                    result.addFailure(i, problem);
+                    continue;
+                }
+                applySalaryBounds(job);
+                valid.add(job);
+                validIndexes.add(i);
+            }
+            if (valid.isEmpty()) {
+                return result;
+            }
+            
+            BatchResult inserted = jobDAO.createJobs(valid, batchSize);
+            result.addAll(inserted, validIndexes);
+            if (inserted.getInsertedCount() > 0) {
+                jobsInserted(valid);
+            }
+            return result;
+        } finally {
+            event.finish();
+        }
+    }
+    
+    /**
+     * Check the fields a job needs before it can be posted.
+     * 
+     * @param job the job to check
+     * @return the problem, or null if the job can be posted
+     */
+    public static String validateJob(Job job) {
         if (job.getTitle() == null || job.getTitle().isEmpty() ||
             job.getDescription() == null || job.getDescription().isEmpty() ||
             job.getLocation() == null || job.getLocation().isEmpty() ||
-            job.getDeadline() == null) {
-            System.err.println("Missing required job fields");
-            return false;
+            job.getJobType() == null || job.getDeadline() == null) {
+            return "Missing required job fields";
         }
-        
-        return jobDAO.createJob(job);
+        return null;
     }
     
     /**
-     * Get a job by ID.
+     * Get a job by ID. The returned job may be shared with other callers
+     * and must not be modified.
      * 
      * @param jobId the job ID
      * @return the Job object
      */
     public Job getJobById(int jobId) {
-        return jobDAO.getJobById(jobId);
+        ServiceCallEvent event = ServiceCallEvent.begin("JobService.getJobById");
+        try {
+            Job job = jobCache.get(jobId);
+            if (job == null) {
+                long generation = jobCache.getGeneration();
+                job = jobDAO.getJobById(jobId);
+                jobCache.put(jobId, job, generation);
+            }
+            return job;
+        } finally {
+            event.finish();
+        }
     }
     
     /**
@@ -52,7 +216,44 @@ public class JobService {
      * @return list of jobs posted by the company
      */
     public List<Job> getJobsByCompanyId(int companyId) {
-        return jobDAO.getJobsByCompanyId(companyId);
+        ServiceCallEvent event = ServiceCallEvent.begin("JobService.getJobsByCompanyId");
+        try {
+            return jobDAO.getJobsByCompanyId(companyId);
+        } finally {
+            event.finish();
+        }
+    }
+    
+    /**
+     * Get summaries of all jobs posted by a company.
+     * 
+     * @param companyId the company ID
+     * @return list of job summaries for the company
+     */
+    public List<JobSummary> getJobSummariesByCompanyId(int companyId) {
+        ServiceCallEvent event = ServiceCallEvent.begin("JobService.getJobSummariesByCompanyId");
+        try {
+            return jobDAO.getJobSummariesByCompanyId(companyId);
+        } finally {
+            event.finish();
+        }
+    }
+    
+    /**
+     * Get a company's job summaries one page at a time, newest first.
+     * 
+     * @param companyId the company ID
+     * @param cursor the cursor from the previous page, or null for the first page
+     * @return the page of job summaries
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public Page<JobSummary> getJobsPageByCompanyId(int companyId, String cursor) {
+        ServiceCallEvent event = ServiceCallEvent.begin("JobService.getJobsPageByCompanyId");
+        try {
+            return jobDAO.getJobSummaryPageByCompanyId(companyId, cursor, pageSize);
+        } finally {
+            event.finish();
+        }
     }
     
     /**
@@ -63,7 +264,370 @@ public class JobService {
      * @return list of matching jobs
      */
     public List<Job> searchJobs(String location, String jobType) {
-        return jobDAO.searchJobs(location, jobType, true);
+        ServiceCallEvent event = ServiceCallEvent.begin("JobService.searchJobs");
+        try {
+            return jobDAO.searchJobs(location, jobType, true);
+        } finally {
+            event.finish();
+        }
+    }
+    
+    /**
+     * Search jobs with optional filters, including an annual salary range
+     * in a given currency. Only jobs paid in that currency match a salary
+     * filter; jobs whose salary text could not be parsed never do.
+     * 
+     * @param location the location filter (optional)
+     * @param jobType the job type filter (optional)
+     * @param minSalary the lowest acceptable annual salary (optional)
+     * @param maxSalary the highest acceptable annual salary (optional)
+     * @param currency the ISO currency of the salary range, e.g. "USD"; required with a salary bound
+     * @return list of matching jobs
+     * @throws IllegalArgumentException if a salary bound is given without a currency
+     */
+    public List<Job> searchJobs(String location, String jobType, Integer minSalary, Integer maxSalary,
+                                String currency) {
+        String currencyFilter = trimToNull(currency);
+        if ((minSalary != null || maxSalary != null) && currencyFilter == null) {
+            throw new IllegalArgumentException("A salary range needs a currency");
+        }
+        ServiceCallEvent event = ServiceCallEvent.begin("JobService.searchJobs");
+        try {
+            return jobDAO.searchJobs(location, jobType, minSalary, maxSalary,
+                currencyFilter != null ? currencyFilter.toUpperCase(Locale.ROOT) : null, true);
+        } finally {
+            event.finish();
+        }
+    }
+    
+    /**
+     * Search job summaries with optional filters. Use getJobById to load
+     * the full description once a job is opened.
+     * 
+     * @param location the location filter (optional)
+     * @param jobType the job type filter (optional)
+     * @return list of matching job summaries
+     */
+    public List<JobSummary> searchJobSummaries(String location, String jobType) {
+        ServiceCallEvent event = ServiceCallEvent.begin("JobService.searchJobSummaries");
+        try {
+            int[] jobIds = searchJobIds(location, jobType);
+            return loadSummaries(jobIds, 0, jobIds.length);
+        } finally {
+            event.finish();
+        }
+    }
+    
+    /**
+     * Search active job summaries one page at a time, newest first. Pages
+     * come from the keyset query, so each costs the same however far the
+     * caller has scrolled, and are cached per filter and cursor.
+     * 
+     * @param location the location filter (optional)
+     * @param jobType the job type filter (optional)
+     * @param cursor the cursor from the previous page, or null for the first page
+     * @return the page of job summaries
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public Page<JobSummary> searchJobsPage(String location, String jobType, String cursor) {
+        ServiceCallEvent event = ServiceCallEvent.begin("JobService.searchJobsPage");
+        try {
+            if (cursor != null) {
+                // Reject malformed cursors before they become cache keys
+                JobCursor.decode(cursor);
+            }
+            String key = SearchResultCache.pageKey(location, jobType, cursor, pageSize);
+            int[] jobIds = searchCache.get(key);
+            List<JobSummary> jobs = jobIds != null ? loadSummaries(jobIds, 0, jobIds.length) : null;
+            if (jobs == null || jobs.size() < jobIds.length) {
+                // Not cached, or a job was deleted by another client since
+                long generation = searchCache.getGeneration();
+                // One row past the page, as the DAO's own lookahead, tells whether another page follows
+                jobs = jobDAO.searchJobSummaryPage(trimToNull(location), trimToNull(jobType), true, cursor,
+                    pageSize + 1).getItems();
+                jobIds = new int[jobs.size()];
+                long summaryGeneration = summaryCache.getGeneration();
+                for (int i = 0; i < jobIds.length; i++) {
+                    jobIds[i] = jobs.get(i).getJobId();
+                    summaryCache.put(jobIds[i], jobs.get(i), summaryGeneration);
+                }
+                searchCache.put(key, jobIds, generation);
+            }
+            
+            if (jobs.size() <= pageSize) {
+                return new Page<>(jobs, null);
+            }
+            jobs = jobs.subList(0, pageSize);
+            JobSummary last = jobs.get(pageSize - 1);
+            String nextCursor = new JobCursor(new Timestamp(last.getCreatedAt().getTime()), last.getJobId()).encode();
+            return new Page<>(new ArrayList<>(jobs), nextCursor);
+        } finally {
+            event.finish();
+        }
+    }
+    
+    /**
+     * Count the active jobs per job type and per location for a search.
+     * Type counts apply only the location filter and location counts only
+     * the job type filter, so they show what each other choice would return.
+     * The underlying per (type, location) counts come from one grouped query
+     * and are cached like search results.
+     * 
+     * @param location the location filter (optional)
+     * @param jobType the job type filter (optional)
+     * @return the facets, with the TOP_LOCATION_FACETS most common locations
+     * @throws IllegalArgumentException if the job type is not a Job.JobType name
+     */
+    public JobFacets getJobFacets(String location, String jobType) {
+        ServiceCallEvent event = ServiceCallEvent.begin("JobService.getJobFacets");
+        try {
+            String jobTypeFilter = trimToNull(jobType);
+            Job.JobType type = jobTypeFilter != null ? Job.JobType.valueOf(jobTypeFilter.toUpperCase(Locale.ROOT)) : null;
+            return JobFacets.aggregate(getFacetBuckets(), location, type, TOP_LOCATION_FACETS);
+        } finally {
+            event.finish();
+        }
+    }
+    
+    /**
+     * Get the active job counts per (job type, location), from the cache if still current.
+     */
+    private List<JobFacets.Bucket> getFacetBuckets() {
+        long generation = searchCache.getGeneration();
+        long now = System.currentTimeMillis();
+        synchronized (JobService.class) {
+            if (facetBuckets != null && facetBucketsGeneration == generation &&
+                now - facetBucketsLoadedAt < SEARCH_CACHE_MAX_AGE_MILLIS) {
+                return facetBuckets;
+            }
+        }
+        
+        List<JobFacets.Bucket> buckets = jobDAO.countActiveJobsByTypeAndLocation();
+        if (buckets == null) {
+            return Collections.emptyList();
+        }
+        synchronized (JobService.class) {
+            // Stored under the generation read before the query, so a concurrent write makes it stale
+            facetBuckets = buckets;
+            facetBucketsGeneration = generation;
+            facetBucketsLoadedAt = now;
+        }
+        return buckets;
+    }
+    
+    /**
+     * Search active jobs by keywords in their title, description, requirements
+     * and location, best matches first. All words must match unless they are
+     * separated by OR.
+     * 
+     * @param query the keywords
+     * @param location the location filter (optional)
+     * @param jobType the job type filter (optional)
+     * @return up to MAX_KEYWORD_RESULTS matching job summaries
+     */
+    public List<JobSummary> searchJobsByKeywords(String query, String location, String jobType) {
+        ServiceCallEvent event = ServiceCallEvent.begin("JobService.searchJobsByKeywords");
+        try {
+            String locationFilter = trimToNull(location);
+            String jobTypeFilter = trimToNull(jobType);
+            LiveJobIndex index = getKeywordIndex();
+            List<JobSummary> jobs = new ArrayList<>();
+            Set<Integer> checked = new HashSet<>();
+            // Filter before the cut: fetch more hits until enough pass the filters or the hits run out
+            for (int fetch = MAX_KEYWORD_RESULTS; ; fetch *= 4) {
+                List<SearchHit> hits = index.search(query, fetch);
+                int[] jobIds = new int[hits.size()];
+                int count = 0;
+                for (SearchHit hit : hits) {
+                    if (checked.add(hit.getJobId())) {
+                        jobIds[count++] = hit.getJobId();
+                    }
+                }
+                for (JobSummary job : loadSummaries(jobIds, 0, count)) {
+                    if ((locationFilter == null || containsIgnoreCase(job.getLocation(), locationFilter)) &&
+                        (jobTypeFilter == null || job.getJobType().name().equalsIgnoreCase(jobTypeFilter))) {
+                        jobs.add(job);
+                    }
+                }
+                if (jobs.size() >= MAX_KEYWORD_RESULTS || hits.size() < fetch ||
+                    (locationFilter == null && jobTypeFilter == null)) {
+                    break;
+                }
+            }
+            if (jobs.size() > MAX_KEYWORD_RESULTS) {
+                jobs = new ArrayList<>(jobs.subList(0, MAX_KEYWORD_RESULTS));
+            }
+            return jobs;
+        } finally {
+            event.finish();
+        }
+    }
+    
+    /**
+     * Get the keyword index, building it if it is missing, has collected
+     * too many changes, or may be stale because nobody polls for changes.
+     * One thread builds at a time, without holding the JobService lock, so
+     * writes, facets and change polling go on meanwhile; other searches
+     * keep using the old index until the new one is swapped in.
+     */
+    private LiveJobIndex getKeywordIndex() {
+        synchronized (JobService.class) {
+            if (isKeywordIndexFresh() || (keywordIndex != null && keywordIndexChangesDuringBuild != null)) {
+                return keywordIndex;
+            }
+        }
+        synchronized (KEYWORD_INDEX_BUILD_LOCK) {
+            synchronized (JobService.class) {
+                // Built by another thread while this one waited
+                if (isKeywordIndexFresh()) {
+                    return keywordIndex;
+                }
+                keywordIndexChangesDuringBuild = new ArrayList<>();
+                keywordIndexDroppedDuringBuild = false;
+            }
+            long builtAt = System.currentTimeMillis();
+            LiveJobIndex built = null;
+            try {
+                built = new LiveJobIndex(jobDAO.getAllActiveJobs());
+            } finally {
+                synchronized (JobService.class) {
+                    List<Job> changes = keywordIndexChangesDuringBuild;
+                    keywordIndexChangesDuringBuild = null;
+                    if (built != null) {
+                        // Changes applied to the old index while the table was read
+                        if (!changes.isEmpty()) {
+                            built.apply(changes);
+                        }
+                        if (!keywordIndexDroppedDuringBuild) {
+                            keywordIndex = built;
+                            keywordIndexBuiltAt = builtAt;
+                        }
+                    }
+                }
+            }
+            return built;
+        }
+    }
+    
+    /**
+     * Call while holding the JobService lock.
+     */
+    private static boolean isKeywordIndexFresh() {
+        return keywordIndex != null &&
+            keywordIndex.getPendingChangeCount() <= MAX_PENDING_INDEX_CHANGES &&
+            (changePoller != null || System.currentTimeMillis() - keywordIndexBuiltAt < JOB_CACHE_TTL_MILLIS);
+    }
+    
+    /**
+     * Drop the keyword index so the next search rebuilds it, including one
+     * that is being built from a table read that may predate the change.
+     */
+    private static void dropKeywordIndex() {
+        synchronized (JobService.class) {
+            keywordIndex = null;
+            keywordIndexDroppedDuringBuild = true;
+        }
+    }
+    
+    /**
+     * Get the IDs of the active jobs matching a search, from the search cache if possible.
+     */
+    private int[] searchJobIds(String location, String jobType) {
+        String key = SearchResultCache.key(location, jobType);
+        int[] jobIds = searchCache.get(key);
+        if (jobIds == null) {
+            long generation = searchCache.getGeneration();
+            jobIds = jobDAO.searchJobIds(trimToNull(location), trimToNull(jobType), true);
+            if (jobIds == null) {
+                return new int[0];
+            }
+            searchCache.put(key, jobIds, generation);
+        }
+        return jobIds;
+    }
+    
+    /**
+     * Get the summaries of jobIds[from, to) in order, loading the ones
+     * that are not cached with a single query.
+     */
+    private List<JobSummary> loadSummaries(int[] jobIds, int from, int to) {
+        Map<Integer, JobSummary> found = new HashMap<>();
+        List<Integer> missing = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            JobSummary summary = summaryCache.get(jobIds[i]);
+            if (summary != null) {
+                found.put(jobIds[i], summary);
+            } else {
+                missing.add(jobIds[i]);
+            }
+        }
+        long generation = summaryCache.getGeneration();
+        for (JobSummary summary : jobDAO.getJobSummariesByIds(missing)) {
+            summaryCache.put(summary.getJobId(), summary, generation);
+            found.put(summary.getJobId(), summary);
+        }
+        
+        List<JobSummary> jobs = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            JobSummary summary = found.get(jobIds[i]);
+            if (summary != null) {
+                jobs.add(summary);
+            }
+        }
+        return jobs;
+    }
+    
+    private static boolean containsIgnoreCase(String text, String part) {
+        return text != null && text.toLowerCase(Locale.ROOT).contains(part.toLowerCase(Locale.ROOT));
+    }
+    
+    private static String trimToNull(String filter) {
+        if (filter == null || filter.trim().isEmpty()) {
+            return null;
+        }
+        return filter.trim();
+    }
+    
+    /**
+     * Get the number of jobs returned per page.
+     * 
+     * @return the page size
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+    
+    /**
+     * Set the number of jobs returned per page.
+     * 
+     * @param pageSize the page size, at least 1
+     */
+    public void setPageSize(int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        this.pageSize = pageSize;
+    }
+    
+    /**
+     * Get the number of rows postJobs sends to the database per batch.
+     * 
+     * @return the batch size
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+    
+    /**
+     * Set the number of rows postJobs sends to the database per batch.
+     * 
+     * @param batchSize the batch size, at least 1
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.batchSize = batchSize;
     }
     
     /**
@@ -72,7 +636,26 @@ public class JobService {
      * @return list of all active jobs
      */
     public List<Job> getAllActiveJobs() {
-        return jobDAO.getAllActiveJobs();
+        ServiceCallEvent event = ServiceCallEvent.begin("JobService.getAllActiveJobs");
+        try {
+            return jobDAO.getAllActiveJobs();
+        } finally {
+            event.finish();
+        }
+    }
+    
+    /**
+     * Get summaries of all active jobs.
+     * 
+     * @return list of all active job summaries
+     */
+    public List<JobSummary> getAllActiveJobSummaries() {
+        ServiceCallEvent event = ServiceCallEvent.begin("JobService.getAllActiveJobSummaries");
+        try {
+            return searchJobSummaries(null, null);
+        } finally {
+            event.finish();
+        }
     }
     
     /**
@@ -82,7 +665,15 @@ public class JobService {
      * @return true if update is successful
      */
     public boolean updateJob(Job job) {
-        return jobDAO.updateJob(job);
+        ServiceCallEvent event = ServiceCallEvent.begin("JobService.updateJob");
+        try {
+            applySalaryBounds(job);
+            boolean updated = jobDAO.updateJob(job);
+            jobWritten(job.getJobId());
+            return updated;
+        } finally {
+            event.finish();
+        }
     }
     
     /**
@@ -92,6 +683,177 @@ public class JobService {
      * @return true if deactivation is successful
      */
     public boolean deactivateJob(int jobId) {
-        return jobDAO.deactivateJob(jobId);
+        ServiceCallEvent event = ServiceCallEvent.begin("JobService.deactivateJob");
+        try {
+            boolean deactivated = jobDAO.deactivateJob(jobId);
+            jobWritten(jobId);
+            return deactivated;
+        } finally {
+            event.finish();
+        }
+    }
+    
+    /**
+     * Parse the salary bounds of jobs stored before the salary columns
+     * existed. Jobs whose salary text has no amount are left without bounds.
+     * 
+     * @return the number of jobs updated
+     */
+    public int backfillSalaryBounds() {
+        ServiceCallEvent event = ServiceCallEvent.begin("JobService.backfillSalaryBounds");
+        try {
+            Map<Integer, SalaryRange> parsed = new HashMap<>();
+            for (Map.Entry<Integer, String> entry : jobDAO.getUnparsedSalaryRanges().entrySet()) {
+                SalaryRange salary = SalaryParser.parse(entry.getValue());
+                if (salary != null) {
+                    parsed.put(entry.getKey(), salary);
+                }
+            }
+            if (parsed.isEmpty() || !jobDAO.updateSalaryBounds(parsed)) {
+                return 0;
+            }
+            return parsed.size();
+        } finally {
+            event.finish();
+        }
+    }
+    
+    /**
+     * Set the numeric salary bounds of a job from its salary text.
+     */
+    private static void applySalaryBounds(Job job) {
+        SalaryRange salary = SalaryParser.parse(job.getSalaryRange());
+        job.setSalaryMin(salary != null ? salary.getMin() : null);
+        job.setSalaryMax(salary != null ? salary.getMax() : null);
+        job.setSalaryCurrency(salary != null ? salary.getCurrency() : null);
+    }
+    
+    /**
+     * Bring the caches and the keyword index up to date after this service wrote a job.
+     */
+    private void jobWritten(int jobId) {
+        Job job = jobId > 0 ? jobDAO.getJobById(jobId) : null;
+        if (job != null) {
+            applyJobChanges(Collections.singletonList(job));
+            return;
+        }
+        // The job could not be read back; drop what may be stale instead
+        jobCache.invalidate(jobId);
+        summaryCache.invalidate(jobId);
+        searchCache.invalidateAll();
+        dropKeywordIndex();
+    }
+    
+    /**
+     * Bring the caches and the keyword index up to date after this service
+     * inserted many jobs. The stored jobs are applied to the keyword index
+     * as they are, since they are already in memory with their generated IDs.
+     */
+    private static void jobsInserted(List<Job> jobs) {
+        List<Job> stored = new ArrayList<>();
+        for (Job job : jobs) {
+            if (job.getJobId() > 0) {
+                // Inserted rows take the column default, so they are active
+                job.setActive(true);
+                stored.add(job);
+            }
+        }
+        applyJobChanges(stored);
+    }
+    
+    /**
+     * Drop cached copies of the changed jobs and all search results, and
+     * apply the changes to the keyword index.
+     */
+    private static void applyJobChanges(List<Job> changedJobs) {
+        for (Job job : changedJobs) {
+            jobCache.invalidate(job.getJobId());
+            summaryCache.invalidate(job.getJobId());
+        }
+        searchCache.invalidateAll();
+        synchronized (JobService.class) {
+            if (keywordIndex != null) {
+                keywordIndex.apply(changedJobs);
+            }
+            if (keywordIndexChangesDuringBuild != null) {
+                keywordIndexChangesDuringBuild.addAll(changedJobs);
+            }
+        }
+    }
+    
+    /**
+     * Start applying job changes made by other clients. The interval
+     * defaults to 10 seconds and can be set with the
+     * {@value #CHANGE_POLL_INTERVAL_PROPERTY} system property.
+     */
+    public static void startChangePolling() {
+        synchronized (CHANGE_POLLER_LOCK) {
+            if (changePoller != null) {
+                return;
+            }
+            long interval = Long.getLong(CHANGE_POLL_INTERVAL_PROPERTY, DEFAULT_CHANGE_POLL_INTERVAL_MILLIS);
+            JobChangePoller poller = new JobChangePoller(interval);
+            poller.addListener(JobService::applyJobChanges);
+            poller.start();
+            changePoller = poller;
+        }
+    }
+    
+    /**
+     * Stop applying job changes made by other clients.
+     */
+    public static void stopChangePolling() {
+        synchronized (CHANGE_POLLER_LOCK) {
+            if (changePoller != null) {
+                changePoller.stop();
+                changePoller = null;
+            }
+        }
+    }
+    
+    /**
+     * Get the statistics of the shared job cache.
+     * 
+     * @return the job cache statistics
+     */
+    public static TtlCacheMXBean getJobCacheStats() {
+        return jobCache;
+    }
+    
+    /**
+     * Get the statistics of the shared job summary cache used by searches.
+     * 
+     * @return the job summary cache statistics
+     */
+    public static TtlCacheMXBean getSummaryCacheStats() {
+        return summaryCache;
+    }
+    
+    /**
+     * Get the shared search result cache.
+     * 
+     * @return the search result cache
+     */
+    public static SearchResultCacheMXBean getSearchCacheStats() {
+        return searchCache;
+    }
+    
+    private static TtlCache<Integer, Job> createJobCache() {
+        TtlCache<Integer, Job> cache = new TtlCache<>(JOB_CACHE_SIZE, JOB_CACHE_TTL_MILLIS);
+        JmxUtils.register(cache, JOB_CACHE_MBEAN_NAME);
+        return cache;
+    }
+    
+    private static TtlCache<Integer, JobSummary> createSummaryCache() {
+        TtlCache<Integer, JobSummary> cache = new TtlCache<>(SUMMARY_CACHE_SIZE, JOB_CACHE_TTL_MILLIS);
+        JmxUtils.register(cache, SUMMARY_CACHE_MBEAN_NAME);
+        return cache;
+    }
+    
+    private static SearchResultCache createSearchCache() {
+        long budget = Long.getLong(SEARCH_CACHE_BUDGET_PROPERTY, DEFAULT_SEARCH_CACHE_BUDGET_BYTES);
+        SearchResultCache cache = new SearchResultCache(budget, SEARCH_CACHE_MAX_AGE_MILLIS);
+        JmxUtils.register(cache, SEARCH_CACHE_MBEAN_NAME);
+        return cache;
     }
 }
@@ -0,0 +1,238 @@
+package com.example.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of job search results, keyed by the normalized search filters and,
+ * for paged searches, the page cursor. Each entry holds only the matching
+ * job IDs in result order, so a result of a thousand jobs costs about four
+ * kilobytes.
+ *
+ * Any job write invalidates every entry by bumping a generation counter:
+ * results computed under an older generation are never returned or stored,
+ * even if their query was already running when the write happened.
+ * Entries also expire after a maximum age, which bounds how long jobs
+ * posted by other clients of the same database stay invisible.
+ * The total estimated size of the entries is kept under a memory budget by
+ * evicting the least recently used ones. All methods are thread-safe.
+ */
+public class SearchResultCache implements SearchResultCacheMXBean {
+
+    /** Rough per-entry cost of the map entry, key string and array headers. */
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    private final LinkedHashMap<String, CachedResult> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final long maxAgeNanos;
+    private long memoryBudgetBytes;
+    private long memoryUsedBytes;
+    private long generation;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * @param memoryBudgetBytes the maximum estimated size of all cached results
+     * @param maxAgeMillis how long a result stays valid after it was cached
+     */
+    public SearchResultCache(long memoryBudgetBytes, long maxAgeMillis) {
+        this.maxAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxAgeMillis);
+        setMemoryBudgetBytes(memoryBudgetBytes);
+    }
+
+    /**
+     * Build the cache key for a search. Filters are trimmed and compared
+     * case-insensitively, matching the database collation.
+     *
+     * @param location the location filter, or null
+     * @param jobType the job type filter, or null
+     * @return the key
+     */
+    public static String key(String location, String jobType) {
+        return normalize(location) + '\u0000' + normalize(jobType);
+    }
+
+    /**
+     * Build the cache key for one page of a paged search.
+     *
+     * @param location the location filter, or null
+     * @param jobType the job type filter, or null
+     * @param cursor the cursor the page starts after, or null for the first page
+     * @param pageSize the page size
+     * @return the key
+     */
+    public static String pageKey(String location, String jobType, String cursor, int pageSize) {
+        return key(location, jobType) + '\u0000' + pageSize + '\u0000' + (cursor == null ? "" : cursor);
+    }
+
+    private static String normalize(String filter) {
+        return filter == null ? "" : filter.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Get the cached job IDs for a search.
+     *
+     * @param key the search key
+     * @return the job IDs, or null if the search is not cached; must not be modified
+     */
+    public synchronized int[] get(String key) {
+        CachedResult result = entries.get(key);
+        if (result != null && System.nanoTime() - result.cachedAt >= maxAgeNanos) {
+            entries.remove(key);
+            memoryUsedBytes -= result.bytes;
+            result = null;
+        }
+        if (result == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return result.jobIds;
+    }
+
+    /**
+     * Get the current generation. Read it before running a search and pass
+     * it to {@link #put} so that results made stale by a concurrent write
+     * are dropped.
+     *
+     * @return the generation
+     */
+    @Override
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Cache the job IDs of a search, unless a write happened since the
+     * given generation or the result alone exceeds the memory budget.
+     *
+     * @param key the search key
+     * @param jobIds the job IDs in result order
+     * @param searchGeneration the generation read before the search ran
+     */
+    public synchronized void put(String key, int[] jobIds, long searchGeneration) {
+        if (searchGeneration != generation) {
+            return;
+        }
+        CachedResult result = new CachedResult(jobIds, estimateBytes(key, jobIds), System.nanoTime());
+        if (result.bytes > memoryBudgetBytes) {
+            return;
+        }
+        CachedResult previous = entries.put(key, result);
+        if (previous != null) {
+            memoryUsedBytes -= previous.bytes;
+        }
+        memoryUsedBytes += result.bytes;
+        evictToBudget();
+    }
+
+    /**
+     * Drop all cached results. Called whenever a job is posted, updated or deactivated.
+     */
+    @Override
+    public synchronized void invalidateAll() {
+        generation++;
+        invalidations++;
+        entries.clear();
+        memoryUsedBytes = 0;
+    }
+
+    @Override
+    public long getMaxAgeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxAgeNanos);
+    }
+
+    @Override
+    public synchronized long getMemoryBudgetBytes() {
+        return memoryBudgetBytes;
+    }
+
+    @Override
+    public synchronized void setMemoryBudgetBytes(long budgetBytes) {
+        if (budgetBytes < 0) {
+            throw new IllegalArgumentException("Memory budget must not be negative");
+        }
+        this.memoryBudgetBytes = budgetBytes;
+        evictToBudget();
+    }
+
+    private void evictToBudget() {
+        Iterator<CachedResult> it = entries.values().iterator();
+        while (memoryUsedBytes > memoryBudgetBytes && it.hasNext()) {
+            memoryUsedBytes -= it.next().bytes;
+            it.remove();
+            evictions++;
+        }
+    }
+
+    private static long estimateBytes(String key, int[] jobIds) {
+        return ENTRY_OVERHEAD_BYTES + 2L * key.length() + 4L * jobIds.length;
+    }
+
+    @Override
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    @Override
+    public synchronized long getMemoryUsedBytes() {
+        return memoryUsedBytes;
+    }
+
+    @Override
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    @Override
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    @Override
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    @Override
+    public synchronized long getInvalidationCount() {
+        return invalidations;
+    }
+
+    @Override
+    public synchronized double getHitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    @Override
+    public synchronized void resetStatistics() {
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+        invalidations = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("entries=%d, memory=%d/%d bytes, hits=%d, misses=%d, hitRatio=%.1f%%, evictions=%d, invalidations=%d",
+            entries.size(), memoryUsedBytes, memoryBudgetBytes, hits, misses, getHitRatio() * 100,
+            evictions, invalidations);
+    }
+
+    private static final class CachedResult {
+        final int[] jobIds;
+        final long bytes;
+        final long cachedAt;
+
+        CachedResult(int[] jobIds, long bytes, long cachedAt) {
+            this.jobIds = jobIds;
+            this.bytes = bytes;
+            this.cachedAt = cachedAt;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.service;
+
+/**
+ * JMX view of the job search result cache, registered as
+ * {@code com.example.service:type=SearchResultCache}.
+ */
+public interface SearchResultCacheMXBean {
+
+    int getEntryCount();
+
+    long getMemoryUsedBytes();
+
+    long getMaxAgeMillis();
+
+    long getMemoryBudgetBytes();
+
+    void setMemoryBudgetBytes(long budgetBytes);
+
+    long getGeneration();
+
+    long getHitCount();
+
+    long getMissCount();
+
+    long getEvictionCount();
+
+    long getInvalidationCount();
+
+    double getHitRatio();
+
+    void invalidateAll();
+
+    void resetStatistics();
+}
@@ -1,6 +1,7 @@
 package com.example.service;
 
 import com.example.dao.UserDAO;
+import com.example.jfr.ServiceCallEvent;
 import com.example.model.User;
 import com.example.util.PasswordUtils;
 
@@ -23,24 +24,29 @@ public class UserService {
      * @return true if registration is successful
      */
     public boolean registerUser(User user) {
-        // Check if username already exists
-        if (userDAO.usernameExists(user.getUsername())) {
-            System.err.println("Username already exists: " + user.getUsername());
-            return false;
+        ServiceCallEvent event = ServiceCallEvent.begin("UserService.registerUser");
+        try {
+            // Check if username already exists
+            if (userDAO.usernameExists(user.getUsername())) {
+                System.err.println("Username already exists: " + user.getUsername());
+                return false;
+            }
+            
+            // Check if email already exists
+            if (userDAO.emailExists(user.getEmail())) {
+                System.err.println("Email already registered: " + user.getEmail());
+                return false;
+            }
+            
+            // Hash the password
+            String hashedPassword = PasswordUtils.hashPassword(user.getPasswordHash());
+            user.setPasswordHash(hashedPassword);
+            
+            // Save user to database
+            return userDAO.createUser(user);
+        } finally {
+            event.finish();
         }
-        
-        // Check if email already exists
-        if (userDAO.emailExists(user.getEmail())) {
-            System.err.println("Email already registered: " + user.getEmail());
-            return false;
-        }
-        
-        // Hash the password
-        String hashedPassword = PasswordUtils.hashPassword(user.getPasswordHash());
-        user.setPasswordHash(hashedPassword);
-        
-        // Save user to database
-        return userDAO.createUser(user);
     }
     
     /**
@@ -51,13 +57,18 @@ public class UserService {
      * @return the User object if authentication is successful, null otherwise
      */
     public User authenticateUser(String username, String password) {
-        User user = userDAO.getUserByUsername(username);
-        
-        if (user != null && PasswordUtils.verifyPassword(password, user.getPasswordHash())) {
-            return user;
+        ServiceCallEvent event = ServiceCallEvent.begin("UserService.authenticateUser");
+        try {
+            User user = userDAO.getUserByUsername(username);
+            
+            if (user != null && PasswordUtils.verifyPassword(password, user.getPasswordHash())) {
+                return user;
+            }
+            
+            return null;
+        } finally {
+            event.finish();
         }
-        
-        return null;
     }
     
     /**
@@ -67,7 +78,12 @@ public class UserService {
      * @return the User object
      */
     public User getUserById(int userId) {
-        return userDAO.getUserById(userId);
+        ServiceCallEvent event = ServiceCallEvent.begin("UserService.getUserById");
+        try {
+            return userDAO.getUserById(userId);
+        } finally {
+            event.finish();
+        }
     }
     
     /**
@@ -77,7 +93,12 @@ public class UserService {
      * @return the User object
      */
     public User getUserByUsername(String username) {
-        return userDAO.getUserByUsername(username);
+        ServiceCallEvent event = ServiceCallEvent.begin("UserService.getUserByUsername");
+        try {
+            return userDAO.getUserByUsername(username);
+        } finally {
+            event.finish();
+        }
     }
     
     /**
@@ -87,6 +108,11 @@ public class UserService {
      * @return true if update is successful
      */
     public boolean updateUser(User user) {
-        return userDAO.updateUser(user);
+        ServiceCallEvent event = ServiceCallEvent.begin("UserService.updateUser");
+        try {
+            return userDAO.updateUser(user);
+        } finally {
+            event.finish();
+        }
     }
 }
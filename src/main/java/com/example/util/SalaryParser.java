@@ -0,0 +1,144 @@
+package com.example.util;
+
+import com.example.model.SalaryRange;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Utility class for turning free-form salary text such as "$30,000 - $40,000",
+ * "45k-60k EUR" or "20/hour" into annual numeric bounds.
+ *
+ * Amounts may use "," or "." as thousands separator and a k or m suffix.
+ * A suffix on the second amount of a range also applies to a small first
+ * amount ("30-40k"). Hourly, daily, weekly and monthly amounts are
+ * annualized. A single or one-sided amount ("50k+", "up to 60k") gives
+ * equal bounds.
+ */
+public class SalaryParser {
+
+    private static final Pattern AMOUNT = Pattern.compile("(\\d[\\d,.]*)\\s*([km])?(?![a-z])");
+    private static final Pattern CURRENCY_CODE = Pattern.compile("\\b(usd|eur|gbp|inr|bdt|cad|aud|jpy)\\b");
+    private static final Pattern PERIOD = Pattern.compile("\\b(hour|hr|day|week|wk|month|mo)s?\\b");
+
+    private static final Map<String, String> CURRENCY_SYMBOLS = new LinkedHashMap<>();
+
+    static {
+        CURRENCY_SYMBOLS.put("$", "USD");
+        CURRENCY_SYMBOLS.put("\u20AC", "EUR");
+        CURRENCY_SYMBOLS.put("\u00A3", "GBP");
+        CURRENCY_SYMBOLS.put("\u20B9", "INR");
+        CURRENCY_SYMBOLS.put("\u09F3", "BDT");
+        CURRENCY_SYMBOLS.put("\u00A5", "JPY");
+    }
+
+    /**
+     * Parse salary text.
+     *
+     * @param text the salary text, may be null
+     * @return the annual salary range, or null if the text contains no amount
+     */
+    public static SalaryRange parse(String text) {
+        if (text == null) {
+            return null;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+
+        List<Double> values = new ArrayList<>();
+        List<Double> multipliers = new ArrayList<>();
+        Matcher matcher = AMOUNT.matcher(lower);
+        while (matcher.find() && values.size() < 2) {
+            Double value = parseNumber(matcher.group(1));
+            if (value == null) {
+                continue;
+            }
+            values.add(value);
+            String suffix = matcher.group(2);
+            multipliers.add(suffix == null ? 1.0 : suffix.equals("k") ? 1000.0 : 1000000.0);
+        }
+        if (values.isEmpty()) {
+            return null;
+        }
+
+        double low = values.get(0) * multipliers.get(0);
+        double high = low;
+        if (values.size() == 2) {
+            high = values.get(1) * multipliers.get(1);
+            if (multipliers.get(0) == 1.0 && multipliers.get(1) > 1.0 && values.get(0) < 1000) {
+                low = values.get(0) * multipliers.get(1);
+            }
+        }
+
+        double factor = annualFactor(lower);
+        long min = Math.round(Math.min(low, high) * factor);
+        long max = Math.round(Math.max(low, high) * factor);
+        if (max <= 0 || max > Integer.MAX_VALUE) {
+            return null;
+        }
+        return new SalaryRange((int) min, (int) max, parseCurrency(lower));
+    }
+
+    /**
+     * Parse one amount, telling thousands separators from decimal points.
+     */
+    private static Double parseNumber(String digits) {
+        String s = digits.replaceAll("[,.]+$", "");
+        int lastComma = s.lastIndexOf(',');
+        int lastDot = s.lastIndexOf('.');
+        if (lastComma >= 0 && lastDot >= 0) {
+            // Both present: the later one is the decimal point
+            char decimal = lastComma > lastDot ? ',' : '.';
+            char grouping = decimal == ',' ? '.' : ',';
+            s = s.replace(String.valueOf(grouping), "").replace(decimal, '.');
+        } else if (lastComma >= 0 || lastDot >= 0) {
+            char separator = lastComma >= 0 ? ',' : '.';
+            int last = Math.max(lastComma, lastDot);
+            boolean grouping = s.indexOf(separator) != last || s.length() - last - 1 == 3;
+            s = grouping ? s.replace(String.valueOf(separator), "") : s.replace(separator, '.');
+        }
+        try {
+            return Double.parseDouble(s);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static double annualFactor(String lower) {
+        Matcher matcher = PERIOD.matcher(lower);
+        if (!matcher.find()) {
+            return 1;
+        }
+        switch (matcher.group(1)) {
+            case "hour":
+            case "hr":
+                return 2080;
+            case "day":
+                return 260;
+            case "week":
+            case "wk":
+                return 52;
+            default:
+                return 12;
+        }
+    }
+
+    private static String parseCurrency(String lower) {
+        Matcher matcher = CURRENCY_CODE.matcher(lower);
+        if (matcher.find()) {
+            return matcher.group(1).toUpperCase(Locale.ROOT);
+        }
+        for (Map.Entry<String, String> entry : CURRENCY_SYMBOLS.entrySet()) {
+            if (lower.contains(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        if (lower.matches(".*\\b(tk|taka)\\b.*")) {
+            return "BDT";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded in-memory cache whose entries expire a fixed time after they were loaded.
+ * When the cache is full the least recently used entry is evicted.
+ *
+ * Null values are never cached, so a missing row is looked up again on the next call.
+ * Read-through callers should read {@link #getGeneration()} before loading a value and
+ * store it with {@link #put(Object, Object, long)}, so a value loaded before a
+ * concurrent invalidation is not cached after it.
+ * All methods are thread-safe.
+ */
+public class TtlCache<K, V> implements TtlCacheMXBean {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, CacheEntry<V>> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    private long generation;
+
+    /**
+     * @param maxSize the maximum number of entries
+     * @param ttlMillis how long an entry stays valid after it was loaded
+     */
+    public TtlCache(final int maxSize, long ttlMillis) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.entries = new LinkedHashMap<K, CacheEntry<V>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+                if (size() > maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get a cached value.
+     *
+     * @param key the key
+     * @return the value, or null if it is not cached or has expired
+     */
+    public synchronized V get(K key) {
+        CacheEntry<V> entry = entries.get(key);
+        if (entry != null && isExpired(entry, System.nanoTime())) {
+            entries.remove(key);
+            expirations++;
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    /**
+     * Cache a value. Null values are ignored.
+     *
+     * @param key the key
+     * @param value the value
+     */
+    public synchronized void put(K key, V value) {
+        if (value != null) {
+            entries.put(key, new CacheEntry<V>(value, System.nanoTime()));
+        }
+    }
+
+    /**
+     * Cache a value loaded after reading the given generation, unless an
+     * invalidation happened since. Null values are ignored.
+     *
+     * @param key the key
+     * @param value the value
+     * @param loadGeneration the generation read before the value was loaded
+     */
+    public synchronized void put(K key, V value, long loadGeneration) {
+        if (loadGeneration == generation) {
+            put(key, value);
+        }
+    }
+
+    /**
+     * Get the current generation, which changes with every invalidation.
+     *
+     * @return the generation
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Remove a value, e.g. after the underlying row was written.
+     *
+     * @param key the key
+     */
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+        generation++;
+    }
+
+    /**
+     * Remove all values.
+     */
+    @Override
+    public synchronized void invalidateAll() {
+        entries.clear();
+        generation++;
+    }
+
+    private boolean isExpired(CacheEntry<V> entry, long now) {
+        return now - entry.loadedAt >= ttlNanos;
+    }
+
+    @Override
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    @Override
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public long getTtlMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(ttlNanos);
+    }
+
+    @Override
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    @Override
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    @Override
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    @Override
+    public synchronized long getExpirationCount() {
+        return expirations;
+    }
+
+    @Override
+    public synchronized double getHitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    @Override
+    public synchronized void resetStatistics() {
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+        expirations = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("size=%d/%d, hits=%d, misses=%d, hitRatio=%.1f%%, evictions=%d, expirations=%d",
+            entries.size(), maxSize, hits, misses, getHitRatio() * 100, evictions, expirations);
+    }
+
+    private static final class CacheEntry<V> {
+        final V value;
+        final long loadedAt;
+
+        CacheEntry(V value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
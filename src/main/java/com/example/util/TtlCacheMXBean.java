@@ -0,0 +1,27 @@
+package com.example.util;
+
+/**
+ * JMX view of a {@link TtlCache}.
+ */
+public interface TtlCacheMXBean {
+
+    int getSize();
+
+    int getMaxSize();
+
+    long getTtlMillis();
+
+    long getHitCount();
+
+    long getMissCount();
+
+    long getEvictionCount();
+
+    long getExpirationCount();
+
+    double getHitRatio();
+
+    void invalidateAll();
+
+    void resetStatistics();
+}
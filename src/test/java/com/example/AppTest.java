@@ -1,13 +1,36 @@
 package com.example;
 
+import com.example.dao.JobCursor;
+import com.example.db.QueryStats;
+import com.example.feed.Csv;
+import com.example.feed.Json;
+import com.example.feed.RecordReader;
 import com.example.model.User;
 import com.example.model.Job;
+import com.example.model.JobFacets;
+import com.example.model.SalaryRange;
+import com.example.model.Page;
+import com.example.model.JobSummary;
 import com.example.model.Application;
+import com.example.search.JobIndex;
+import com.example.search.SearchHit;
 import com.example.service.UserService;
 import com.example.service.JobService;
+import com.example.service.SearchResultCache;
 import com.example.service.ApplicationService;
+import com.example.util.SalaryParser;
+import com.example.util.TtlCache;
 import org.junit.Test;
 import org.junit.Before;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import static org.junit.Assert.*;
 
 /**
@@ -137,4 +160,230 @@ public class AppTest {
         app.setStatus(Application.ApplicationStatus.ACCEPTED);
         assertEquals("Status should be ACCEPTED", Application.ApplicationStatus.ACCEPTED, app.getStatus());
     }
+    
+    @Test
+    public void testJobCursorRoundTrip() {
+        Timestamp createdAt = new Timestamp(1700000000000L);
+        String cursor = new JobCursor(createdAt, 42).encode();
+        
+        JobCursor decoded = JobCursor.decode(cursor);
+        assertEquals("Created at should survive encoding", createdAt, decoded.getCreatedAt());
+        assertEquals("Job ID should survive encoding", 42, decoded.getJobId());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidJobCursor() {
+        JobCursor.decode("not-a-cursor");
+    }
+    
+    @Test
+    public void testTtlCacheEvictsLeastRecentlyUsed() {
+        TtlCache<Integer, String> cache = new TtlCache<>(2, 60000);
+        cache.put(1, "one");
+        cache.put(2, "two");
+        cache.get(1);
+        cache.put(3, "three");
+        
+        assertNull("Least recently used entry should be evicted", cache.get(2));
+        assertEquals("Recently used entry should stay", "one", cache.get(1));
+        assertEquals("Eviction should be counted", 1, cache.getEvictionCount());
+        
+        cache.invalidate(1);
+        assertNull("Invalidated entry should be gone", cache.get(1));
+        assertEquals("Hits should be counted", 2, cache.getHitCount());
+        assertEquals("Misses should be counted", 2, cache.getMissCount());
+        
+        long generation = cache.getGeneration();
+        cache.invalidate(3);
+        cache.put(3, "stale three", generation);
+        assertNull("Values loaded before an invalidation should not be cached", cache.get(3));
+        cache.put(3, "three", cache.getGeneration());
+        assertEquals("Current values should be cached", "three", cache.get(3));
+    }
+    
+    @Test
+    public void testSearchResultCacheDropsStaleResults() {
+        SearchResultCache cache = new SearchResultCache(1024 * 1024, 60000);
+        String key = SearchResultCache.key(" Remote ", "FULL_TIME");
+        assertEquals("Keys should ignore case and whitespace", key, SearchResultCache.key("remote", "full_time"));
+        
+        long generation = cache.getGeneration();
+        cache.invalidateAll();
+        cache.put(key, new int[] {3, 2, 1}, generation);
+        assertNull("Results from before a write should not be cached", cache.get(key));
+        
+        cache.put(key, new int[] {3, 2, 1}, cache.getGeneration());
+        assertArrayEquals("Current results should be cached", new int[] {3, 2, 1}, cache.get(key));
+        
+        cache.setMemoryBudgetBytes(0);
+        assertNull("Results over the memory budget should be evicted", cache.get(key));
+    }
+    
+    @Test
+    public void testJobIndexSearch() {
+        Job java = new Job(1, "Java Developer", "Build backend services in Java", "Berlin", Job.JobType.FULL_TIME, null);
+        java.setJobId(1);
+        Job python = new Job(1, "Python Engineer", "Data pipelines", "Remote", Job.JobType.CONTRACT, null);
+        python.setJobId(2);
+        Job intern = new Job(1, "Intern", "Help the Java team with testing", "Berlin", Job.JobType.INTERNSHIP, null);
+        intern.setJobId(3);
+        JobIndex index = JobIndex.build(Arrays.asList(java, python, intern));
+        
+        List<SearchHit> hits = index.search("java", 10);
+        assertEquals("Both Java jobs should match", 2, hits.size());
+        assertEquals("Title match should rank first", 1, hits.get(0).getJobId());
+        
+        assertEquals("All words must match by default", 1, index.search("java intern", 10).size());
+        assertEquals("OR should match any word", 3, index.search("java OR python", 10).size());
+        assertTrue("Unknown words should match nothing", index.search("cobol", 10).isEmpty());
+    }
+    
+    @Test
+    public void testJobFacetsIgnoreOwnFilter() {
+        List<JobFacets.Bucket> buckets = Arrays.asList(
+            new JobFacets.Bucket(Job.JobType.FULL_TIME, "Berlin", 5),
+            new JobFacets.Bucket(Job.JobType.INTERNSHIP, "Berlin", 2),
+            new JobFacets.Bucket(Job.JobType.FULL_TIME, "Remote", 3),
+            new JobFacets.Bucket(Job.JobType.CONTRACT, "Paris", 1));
+        
+        JobFacets facets = JobFacets.aggregate(buckets, "berlin", Job.JobType.FULL_TIME, 2);
+        assertEquals("Type counts should apply only the location filter", 2,
+                     (int) facets.getTypeCounts().get(Job.JobType.INTERNSHIP));
+        assertEquals("Types without jobs should count zero", 0,
+                     (int) facets.getTypeCounts().get(Job.JobType.CONTRACT));
+        assertEquals("Location counts should apply only the type filter",
+                     Arrays.asList("Berlin", "Remote"), new ArrayList<>(facets.getLocationCounts().keySet()));
+        assertEquals("Total should apply both filters", 5, facets.getTotal());
+    }
+    
+    @Test
+    public void testSalaryParsing() {
+        SalaryRange range = SalaryParser.parse("$30,000 - $40,000");
+        assertEquals("Minimum should be parsed", 30000, range.getMin());
+        assertEquals("Maximum should be parsed", 40000, range.getMax());
+        assertEquals("Currency symbol should map to a code", "USD", range.getCurrency());
+        
+        range = SalaryParser.parse("30-40k EUR");
+        assertEquals("Suffix should apply to both amounts", 30000, range.getMin());
+        assertEquals("Currency code should be parsed", "EUR", range.getCurrency());
+        
+        assertEquals("Hourly pay should be annualized", 41600, SalaryParser.parse("20/hour").getMax());
+        assertNull("Text without amounts should not parse", SalaryParser.parse("Negotiable"));
+    }
+    
+    @Test
+    public void testSalaryFilterMatchesOnlyItsCurrency() {
+        String suffix = String.valueOf(System.currentTimeMillis());
+        User company = new User();
+        company.setUsername("salarycompany_" + suffix);
+        company.setPasswordHash("pass123");
+        company.setEmail("salary_" + suffix + "@example.com");
+        company.setRole(User.UserRole.COMPANY);
+        assertTrue("Company registration should succeed", userService.registerUser(company));
+        int companyId = userService.authenticateUser(company.getUsername(), "pass123").getUserId();
+        
+        String location = "Salaryville " + suffix;
+        Job usdJob = createJob(companyId, location, "$50,000 - $55,000");
+        Job eurJob = createJob(companyId, location, "50k-55k EUR");
+        assertTrue("USD job should be posted", jobService.postJob(usdJob));
+        assertTrue("EUR job should be posted", jobService.postJob(eurJob));
+        
+        List<Job> jobs = jobService.searchJobs(location, null, 40000, 60000, "EUR");
+        assertEquals("Only the job paid in the range's currency should match", 1, jobs.size());
+        assertEquals(eurJob.getJobId(), jobs.get(0).getJobId());
+        
+        jobs = jobService.searchJobs(location, null, 40000, 60000, "usd");
+        assertEquals("Currency should be case-insensitive", 1, jobs.size());
+        assertEquals(usdJob.getJobId(), jobs.get(0).getJobId());
+        
+        assertTrue("A range in a currency no job uses should match nothing",
+                   jobService.searchJobs(location, null, 40000, 60000, "GBP").isEmpty());
+    }
+    
+    @Test
+    public void testSearchJobsPageFollowsCursor() {
+        String suffix = String.valueOf(System.currentTimeMillis());
+        User company = new User();
+        company.setUsername("pagecompany_" + suffix);
+        company.setPasswordHash("pass123");
+        company.setEmail("page_" + suffix + "@example.com");
+        company.setRole(User.UserRole.COMPANY);
+        assertTrue("Company registration should succeed", userService.registerUser(company));
+        int companyId = userService.authenticateUser(company.getUsername(), "pass123").getUserId();
+        
+        String location = "Pageville " + suffix;
+        for (int i = 0; i < 3; i++) {
+            assertTrue("Job should be posted", jobService.postJob(createJob(companyId, location, null)));
+        }
+        jobService.setPageSize(2);
+        
+        Page<JobSummary> first = jobService.searchJobsPage(location, null, null);
+        assertEquals("First page should be full", 2, first.getItems().size());
+        assertTrue("Another page should follow", first.hasMore());
+        assertEquals("A cached page should be the same", first.getItems(),
+                     jobService.searchJobsPage(location, null, null).getItems());
+        
+        Page<JobSummary> second = jobService.searchJobsPage(location, null, first.getNextCursor());
+        assertEquals("Second page should hold the rest", 1, second.getItems().size());
+        assertFalse("The last page should have no cursor", second.hasMore());
+        int lastId = second.getItems().get(0).getJobId();
+        for (JobSummary job : first.getItems()) {
+            assertTrue("Pages should not overlap", job.getJobId() != lastId);
+        }
+    }
+    
+    private static Job createJob(int companyId, String location, String salary) {
+        Job job = new Job();
+        job.setCompanyId(companyId);
+        job.setTitle("Salary Test Job");
+        job.setDescription("Checks salary filtering");
+        job.setLocation(location);
+        job.setJobType(Job.JobType.FULL_TIME);
+        job.setSalaryRange(salary);
+        job.setDeadline(java.sql.Date.valueOf("2099-12-31"));
+        return job;
+    }
+    
+    @Test
+    public void testQueryParametersAreRedacted() {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        parameters.put(1, "alice@example.com");
+        parameters.put(2, 42);
+        parameters.put(3, null);
+        parameters.put(4, Timestamp.valueOf("2024-01-15 10:30:00"));
+        String redacted = QueryStats.redactParameters(parameters);
+        assertFalse("String values should not be logged", redacted.contains("alice"));
+        assertEquals("[1=<string>, 2=<int>, 3=NULL, 4=<timestamp>]", redacted);
+    }
+    
+    @Test
+    public void testFeedRecordParsing() {
+        assertEquals(Arrays.asList("Java, Senior", "Say \"hi\"\nthere", ""),
+            Csv.parseRecord("\"Java, Senior\",\"Say \"\"hi\"\"\nthere\","));
+        
+        Map<String, String> values = Json.parseObject("{\"title\": \"Dev\\u00e9\", \"salary\": 5.5, \"deadline\": null}");
+        assertEquals("Dev\u00e9", values.get("title"));
+        assertEquals("5.5", values.get("salary"));
+        assertNull(values.get("deadline"));
+    }
+    
+    @Test
+    public void testRecordReaderResumesAtOffset() throws Exception {
+        Path file = Files.createTempFile("feed", ".csv");
+        try {
+            Files.write(file, "a,b\n\"x\ny\",1\r\n\nz,2\n".getBytes(StandardCharsets.UTF_8));
+            long offset;
+            try (RecordReader reader = new RecordReader(file, 0, true)) {
+                assertEquals("a,b", reader.next());
+                assertEquals("Quoted line breaks belong to the record", "\"x\ny\",1", reader.next());
+                offset = reader.getPosition();
+            }
+            try (RecordReader reader = new RecordReader(file, offset, true)) {
+                assertEquals("Blank lines should be skipped", "z,2", reader.next());
+                assertNull(reader.next());
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
 }